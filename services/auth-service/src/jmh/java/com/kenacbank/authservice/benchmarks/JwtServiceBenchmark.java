@@ -0,0 +1,73 @@
+package com.kenacbank.authservice.benchmarks;
+
+import com.kenacbank.authservice.config.services.JwtService;
+import com.kenacbank.authservice.config.services.SigningKeys;
+import com.kenacbank.authservice.config.services.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JWT work done by the auth filter on every authenticated request. The
+ * per-call baseline rebuilds the parser for each of the three parses the filter used to
+ * make; the verified path parses once with the cached parser and its key locator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private SigningKeys signingKeys;
+    private JwtService jwtService;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        signingKeys = SigningKeys.ephemeral();
+        jwtService = new JwtService(signingKeys, 86400000, 604800000);
+        user = User.withUsername("USR-000001").password("unused").authorities("CLIENT").build();
+        token = jwtService.generateToken(user, Map.of("role", "CLIENT", "email", "user@kenacbank.com"));
+    }
+
+    @Benchmark
+    public boolean filterPerCallParsing() {
+        String username = parsePerCall(token).getSubject();
+        return username.equals(user.getUsername())
+                && parsePerCall(token).getSubject().equals(user.getUsername())
+                && !parsePerCall(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean filterVerifiedOnce() {
+        VerifiedToken verified = jwtService.verify(token);
+        return verified.subject().equals(user.getUsername()) && jwtService.isTokenValid(verified, user);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user, Map.of("role", "CLIENT"));
+    }
+
+    private Claims parsePerCall(String token) {
+        return Jwts.parser()
+                .verifyWith(signingKeys.publicKey(signingKeys.activeKeyId()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
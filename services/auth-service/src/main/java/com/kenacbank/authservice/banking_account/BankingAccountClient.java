@@ -0,0 +1,20 @@
+package com.kenacbank.authservice.banking_account;
+
+import com.kenacbank.authservice.models.requests.OpenAccountsRequest;
+import com.kenacbank.authservice.models.response.GenericResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Optional;
+
+@FeignClient(name = "banking-service", url = "${application.config.banking-url:}", path = "/banking")
+public interface BankingAccountClient {
+    @PostMapping("/open-accounts")
+    Optional<GenericResponse> openClientAccounts(@RequestBody OpenAccountsRequest request);
+
+    @PutMapping("/close-accounts/{clientId}")
+    Optional<GenericResponse> closeClientAccounts(@PathVariable Long clientId);
+}
@@ -3,6 +3,7 @@ package com.kenacbank.authservice.client_user;
 import com.kenacbank.authservice.models.requests.ClientRegisterRequest;
 import com.kenacbank.authservice.models.response.GenericResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -10,11 +11,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.Optional;
 
-@FeignClient(name = "client-service", url = "${application.config.client-url}")
+@FeignClient(name = "client-service", url = "${application.config.client-url:}", path = "/client")
 public interface ClientUserClient {
     @PostMapping("/register")
     Optional<GenericResponse> createClient(@RequestBody ClientRegisterRequest request);
 
+    @DeleteMapping("/{userId}")
+    Optional<GenericResponse> deleteClient(@PathVariable Long userId);
+
     @GetMapping("/is-blacklisted/{userId}")
     Optional<GenericResponse> isClientBlacklisted(@PathVariable Long userId);
+
+    @GetMapping("/blacklisted-users")
+    Optional<GenericResponse> getBlacklistedUserIds();
 }
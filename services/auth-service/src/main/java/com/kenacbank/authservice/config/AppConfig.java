@@ -1,22 +1,35 @@
 package com.kenacbank.authservice.config;
 
 import com.kenacbank.authservice.config.audit.AppAuditAware;
+import com.kenacbank.authservice.config.services.BoundedPasswordEncoder;
+import com.kenacbank.authservice.config.services.SigningKeys;
 import com.kenacbank.authservice.repositories.KenacUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
+@EnableConfigurationProperties(SigningKeyProperties.class)
 @RequiredArgsConstructor
 public class AppConfig {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppConfig.class);
+
     private final KenacUserRepository userRepository;
 
 
@@ -25,9 +38,70 @@ public class AppConfig {
         return new AppAuditAware();
     }
 
+    /**
+     * Password encoder that hashes on {@code passwordHashingExecutor}, so a burst of logins
+     * or registrations queues behind a fixed number of hashing threads instead of taking
+     * the CPU from every other endpoint.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${application.password-hashing.strength:12}") int strength,
+            @Value("${application.password-hashing.max-wait-ms:2000}") long maxWaitMs,
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor passwordHashingExecutor,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength, passwordHashingExecutor, maxWaitMs, meterRegistry);
+    }
+
+    /**
+     * Executor that runs password hashes, one thread per core by default. The queue is
+     * bounded and overflow is rejected rather than run on the caller, so a saturated pool
+     * sheds requests with a 503 instead of hashing on request threads.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${application.password-hashing.pool-size:0}") int poolSize,
+            @Value("${application.password-hashing.queue-capacity:32}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that runs registration sagas. Sagas that do not fit in the queue stay in the
+     * database and are picked up by the saga poller.
+     */
+    @Bean(name = "registrationSagaExecutor")
+    public ThreadPoolTaskExecutor registrationSagaExecutor(
+            @Value("${application.registration-saga.pool-size:4}") int poolSize,
+            @Value("${application.registration-saga.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("registration-saga-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Keys that sign and verify tokens. Startup fails when the active key's material is not
+     * configured, rather than signing with a key nothing else trusts.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public SigningKeys signingKeys(SigningKeyProperties properties) {
+        if (properties.getKeys().isEmpty()) {
+            throw new IllegalStateException("No signing keys configured under application.security.jwt.signing");
+        }
+        SigningKeys signingKeys = SigningKeys.from(properties);
+        LOGGER.info("Signing tokens with key {}, publishing keys {}", signingKeys.activeKeyId(), signingKeys.keyIds());
+        return signingKeys;
     }
 
     @Bean
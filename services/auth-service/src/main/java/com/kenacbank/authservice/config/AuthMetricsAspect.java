@@ -0,0 +1,37 @@
+package com.kenacbank.authservice.config;
+
+import com.kenacbank.common.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times auth-service's service calls. Password hashing and JWT operations are timed
+ * separately, as they dominate the cost of registration, login and request filtering.
+ */
+@Aspect
+@Component
+public class AuthMetricsAspect extends ServiceMetricsAspect {
+
+    public AuthMetricsAspect(MeterRegistry meterRegistry) {
+        super(meterRegistry, "com.kenacbank.authservice.services.interfaces");
+    }
+
+    @Override
+    @Pointcut("execution(public * com.kenacbank.authservice.services.interfaces.*.*(..))")
+    public void serviceCall() {
+    }
+
+    @Around("execution(public * org.springframework.security.crypto.password.PasswordEncoder.*(..))")
+    public Object timePasswordEncoder(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeOperation("kenac.auth.password", "Password hashing and verification", joinPoint);
+    }
+
+    @Around("execution(public * com.kenacbank.authservice.config.services.JwtService.*(..))")
+    public Object timeJwtOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeOperation("kenac.auth.jwt", "JWT generation, parsing and validation", joinPoint);
+    }
+}
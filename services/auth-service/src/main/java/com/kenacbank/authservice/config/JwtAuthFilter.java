@@ -2,7 +2,10 @@ package com.kenacbank.authservice.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kenacbank.authservice.config.services.JwtService;
+import com.kenacbank.authservice.config.services.VerifiedToken;
 import com.kenacbank.authservice.repositories.UserTokenRepository;
+import com.kenacbank.authservice.services.interfaces.TokenRevocationService;
+import com.kenacbank.authservice.utils.TokenHasher;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -35,8 +38,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private final UserDetailsService userDetailsService;
     private final ObjectMapper mapper;
     private final UserTokenRepository userTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthFilter.class);
+    private static final String REFRESH_TOKEN_PATH = "/auth/refresh-token";
 
     @Override
     protected void doFilterInternal(
@@ -53,13 +58,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         try {
             jwt = authHeader.substring(7);
-            userCode = jwtService.extractUsername(jwt);
+            // Parsed and verified once; the checks below read from this view
+            VerifiedToken token = jwtService.verify(jwt);
+            userCode = token.subject();
 
 
             if (userCode != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userCode);
-                boolean isTokenValid = checkTokenValidity(jwt);
-                if (jwtService.isTokenValid(jwt, userDetails) && isTokenValid) {
+                boolean isTokenValid = checkTokenValidity(token);
+                if (jwtService.isTokenValid(token, userDetails) && isTokenValid) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -89,11 +96,27 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean checkTokenValidity(String jwt) {
-        boolean isTokenValid = false;
-        isTokenValid = userTokenRepository.findByToken(jwt)
+    /**
+     * The refresh endpoint carries a refresh token, which the refresh itself verifies, so
+     * the filter does not parse it as well.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return REFRESH_TOKEN_PATH.equals(request.getServletPath());
+    }
+
+    /**
+     * Checks the token has not been revoked, from memory when the token carries an ID and
+     * the revocation set is loaded. Tokens issued without an ID, and every token while the
+     * set is unavailable, are checked against the stored tokens instead. Refresh tokens are
+     * never stored, so they are rejected on both paths.
+     */
+    private boolean checkTokenValidity(VerifiedToken token) {
+        if (token.jti() != null && tokenRevocationService.isReady()) {
+            return token.isAccessToken() && !tokenRevocationService.isRevoked(token.jti());
+        }
+        return userTokenRepository.findByTokenHash(TokenHasher.hash(token.token()))
                 .map(t -> !t.isExpired() && !t.isRevoked()).orElse(false);
-        return isTokenValid;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.kenacbank.authservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Configures Hibernate's second-level and query caches on a local Caffeine JCache
+ * provider.
+ *
+ * <p>Each region listed under {@code application.cache.regions} is created up front with
+ * its own maximum size and time-to-live. Entity regions use read-write concurrency, so
+ * an update through Hibernate replaces the cached entry when its transaction commits,
+ * and cached query results are discarded whenever a table they read from changes. The
+ * update timestamps region is created without eviction or expiry, as Hibernate requires.
+ * Hits, misses, puts and the hit ratio of every configured region are published as
+ * {@code kenac.cache.*} metrics.</p>
+ *
+ * <p>Changes made by other replicas reach this one's cache through the
+ * {@code SecondLevelCacheInvalidator} from {@code common}, so the time-to-live only bounds
+ * how stale an entry can get while the replicas cannot hear each other.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(CacheRegionProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(CacheRegionProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = byReference();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, byReference());
+        return cacheManager;
+    }
+
+    /**
+     * JCache copies values by serialization unless told otherwise. Hibernate already
+     * caches immutable disassembled state, so entries are stored by reference.
+     */
+    private static CaffeineConfiguration<Object, Object> byReference() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheRegionMetrics(EntityManagerFactory entityManagerFactory, CacheRegionProperties properties) {
+        return registry -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            Statistics statistics = sessionFactory.getStatistics();
+
+            for (String region : properties.getRegions().keySet()) {
+                Region cacheRegion = sessionFactory.getCache().getRegion(region);
+                if (cacheRegion == null) {
+                    // Configured but not used by any entity or query
+                    continue;
+                }
+                Function<Statistics, CacheRegionStatistics> regionStatistics = cacheRegion instanceof QueryResultsRegion
+                        ? s -> s.getQueryRegionStatistics(region)
+                        : s -> s.getCacheRegionStatistics(region);
+
+                counter(registry, "kenac.cache.hits", "Second-level cache hits", region, statistics,
+                        s -> regionStatistics.apply(s).getHitCount());
+                counter(registry, "kenac.cache.misses", "Second-level cache misses", region, statistics,
+                        s -> regionStatistics.apply(s).getMissCount());
+                counter(registry, "kenac.cache.puts", "Second-level cache puts", region, statistics,
+                        s -> regionStatistics.apply(s).getPutCount());
+                Gauge.builder("kenac.cache.hit.ratio", statistics, s -> hitRatio(regionStatistics.apply(s)))
+                        .description("Share of second-level cache lookups served from the cache")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, String region,
+                                Statistics statistics, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .description(description)
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics regionStatistics) {
+        long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return lookups == 0 ? 0 : (double) regionStatistics.getHitCount() / lookups;
+    }
+}
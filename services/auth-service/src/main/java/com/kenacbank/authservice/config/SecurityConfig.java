@@ -32,7 +32,10 @@ public class SecurityConfig {
             "/swagger-ui/**",
             "/docs/**",
             "/auth/**",
-            "/password/**"
+            "/password/**",
+            // Other actuator endpoints, such as metrics and query statistics, need a token
+            "/actuator/health",
+            "/actuator/health/**"
     };
 
     private final JwtAuthFilter jwtAuthFilter;
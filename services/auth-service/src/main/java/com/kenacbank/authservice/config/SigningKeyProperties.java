@@ -0,0 +1,32 @@
+package com.kenacbank.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ed25519 key pairs used to sign tokens, bound from {@code application.security.jwt.signing}.
+ * Keys are base64 DER: PKCS#8 for the private key and X.509 for the public key.
+ *
+ * <p>Every listed key is published in the JWKS, but only {@code active-key-id} signs. A key
+ * without a private key is published for verification only, which is how an outgoing key
+ * stays verifiable until the last token it signed has expired.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "application.security.jwt.signing")
+public class SigningKeyProperties {
+
+    private String activeKeyId;
+    private List<Key> keys = new ArrayList<>();
+    private Duration jwksMaxAge = Duration.ofMinutes(5);
+
+    @Data
+    public static class Key {
+        private String id;
+        private String privateKey;
+        private String publicKey;
+    }
+}
@@ -0,0 +1,153 @@
+package com.kenacbank.authservice.config.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt encoder that runs every hash on a small, bounded executor instead of the request
+ * thread that asked for it.
+ *
+ * <p>The executor has one thread per core and a short queue, so hashing never takes more
+ * CPU than the pool allows and at most pool size plus queue capacity request threads are
+ * ever waiting on it. When the queue is full the call fails at once with a
+ * {@link RejectedExecutionException}, as does a call whose hash has not completed within
+ * {@code max-wait-ms}; the caller answers with a 503, leaving the remaining request
+ * threads free for the rest of the service.</p>
+ *
+ * <p>{@link #upgradeEncoding} reports any hash whose cost differs from the configured
+ * strength, in either direction, so stored hashes follow the configured cost as users
+ * log in.</p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String ENCODE = "encode";
+    private static final String MATCHES = "matches";
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolTaskExecutor executor;
+    private final long maxWaitMs;
+    private final Map<String, Timer> waitTimers;
+    private final Map<String, Timer> hashTimers;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public BoundedPasswordEncoder(int strength, ThreadPoolTaskExecutor executor, long maxWaitMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.executor = executor;
+        this.maxWaitMs = maxWaitMs;
+        this.waitTimers = Map.of(
+                ENCODE, waitTimer(ENCODE, meterRegistry),
+                MATCHES, waitTimer(MATCHES, meterRegistry));
+        this.hashTimers = Map.of(
+                ENCODE, hashTimer(ENCODE, meterRegistry),
+                MATCHES, hashTimer(MATCHES, meterRegistry));
+        this.rejectedQueueFull = rejectedCounter("QUEUE_FULL", meterRegistry);
+        this.rejectedTimeout = rejectedCounter("TIMEOUT", meterRegistry);
+
+        Gauge.builder("kenac.auth.password.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("kenac.auth.password.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(MATCHES, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // BCrypt hashes look like $2a$12$..., with the cost in the two digits after the version
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T submit(String operation, Callable<T> hash) {
+        Timer waitTimer = waitTimers.get(operation);
+        Timer hashTimer = hashTimers.get(operation);
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw e;
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A hash that has not started yet is dropped from the queue; one already running finishes
+            future.cancel(false);
+            rejectedTimeout.increment();
+            throw new RejectedExecutionException("Password hashing did not complete within " + maxWaitMs + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new RejectedExecutionException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer waitTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("kenac.auth.password.queue.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("kenac.auth.password.hash")
+                .description("Time spent hashing on a hashing thread")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("kenac.auth.password.rejected")
+                .description("Password hashes shed because the hashing executor was saturated")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
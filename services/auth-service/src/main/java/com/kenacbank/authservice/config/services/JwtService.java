@@ -2,19 +2,23 @@ package com.kenacbank.authservice.config.services;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PublicKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -22,21 +26,62 @@ import java.util.function.Function;
  * and claim extraction. Utilizes application-specific configurations for secret
  * keys and expiration times. Provides methods to generate access and refresh tokens,
  * validate tokens, and extract claims from tokens.
+ *
+ * <p>Tokens are signed with Ed25519 and carry the ID of the signing key in their
+ * {@code kid} header. Verification only needs the public keys, which are published at
+ * {@code /auth/.well-known/jwks.json}, so other services can check tokens without calling
+ * back into this one. A token is accepted when its key ID names a known public key.</p>
+ *
+ * <p>The keys and the parser are built once, as both are immutable and safe to
+ * share between threads. Request filtering should call {@link #verify(String)} once and
+ * read everything it needs from the returned {@link VerifiedToken}.</p>
  */
 @Service
 public class JwtService {
-    @Value("${application.security.jwt.secret-key}")
-    public String secretKey;
+    public static final String TOKEN_TYPE_CLAIM = "tokenType";
+    public static final String ACCESS_TOKEN = "ACCESS";
+    public static final String REFRESH_TOKEN = "REFRESH";
+    public static final String FAMILY_CLAIM = "fid";
+    public static final String GENERATION_CLAIM = "gen";
 
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
-
-    @Value("${application.security.jwt.refresh-token.expiration}")
-    private long refreshExpiration;
+    private final SigningKeys signingKeys;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    private final long refreshExpiration;
 
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtService.class);
 
+    public JwtService(SigningKeys signingKeys,
+                      @Value("${application.security.jwt.expiration}") long jwtExpiration,
+                      @Value("${application.security.jwt.refresh-token.expiration}") long refreshExpiration) {
+        this.signingKeys = signingKeys;
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                PublicKey publicKey = signingKeys.publicKey(header.getKeyId());
+                if (publicKey == null) {
+                    throw new JwtException("Unknown signing key: " + header.getKeyId());
+                }
+                return publicKey;
+            }
+        }).build();
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /**
+     * Parses the token and checks its signature and expiry.
+     *
+     * @param token the compact JWT
+     * @return the verified token and its claims
+     * @throws ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature is invalid
+     */
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.of(token, parser.parseSignedClaims(token).getPayload());
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -49,28 +94,42 @@ public class JwtService {
 
     public String generateToken(
             UserDetails userDetails, Map<String, Object> extraClaims) {
-        return buildToken(userDetails, jwtExpiration, extraClaims);
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN);
+        return buildToken(userDetails, jwtExpiration, claims);
     }
 
+    /**
+     * Generates a refresh token belonging to a token family. Each refresh replaces the
+     * token with the next generation of the same family.
+     */
     public String generateRefreshToken(
-            UserDetails userDetails) {
-        return buildToken( userDetails, refreshExpiration, new HashMap<>());
+            UserDetails userDetails, String familyId, int generation) {
+        return buildToken(userDetails, refreshExpiration, Map.of(
+                TOKEN_TYPE_CLAIM, REFRESH_TOKEN,
+                FAMILY_CLAIM, familyId,
+                GENERATION_CLAIM, generation));
     }
 
     private String buildToken(UserDetails userDetails, long expiration, Map<String, Object> extraClaims) {
         return Jwts.builder()
+                .header().keyId(signingKeys.activeKeyId()).and()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .claims(extraClaims)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signingKeys.activePrivateKey(), Jwts.SIG.EdDSA)
                 .compact();
     }
 
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
+    }
+
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null && token.subject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
     public boolean isExpiredTokenValid(String token, UserDetails userDetails) {
@@ -78,14 +137,6 @@ public class JwtService {
         return (username.equals(userDetails.getUsername()));
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -97,29 +148,14 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     private Claims extractAllExpiredClaims(String token) {
         try {
-            return Jwts
-                    .parser()
-                    .verifyWith(getSignInKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
     }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
@@ -0,0 +1,122 @@
+package com.kenacbank.authservice.config.services;
+
+import com.kenacbank.authservice.config.SigningKeyProperties;
+import io.jsonwebtoken.security.Jwks;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The key that signs new tokens and every public key a token may still be verified with,
+ * looked up by key ID.
+ *
+ * <p>The set is immutable. The JWKS document is rendered once here so serving it costs
+ * nothing per request.</p>
+ */
+public class SigningKeys {
+
+    private static final String ALGORITHM = "Ed25519";
+
+    private final String activeKeyId;
+    private final PrivateKey activePrivateKey;
+    private final Map<String, PublicKey> publicKeys;
+    private final String jwksJson;
+
+    public SigningKeys(String activeKeyId, PrivateKey activePrivateKey, Map<String, PublicKey> publicKeys) {
+        if (!publicKeys.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("The active signing key " + activeKeyId + " has no public key");
+        }
+        this.activeKeyId = activeKeyId;
+        this.activePrivateKey = activePrivateKey;
+        this.publicKeys = Map.copyOf(publicKeys);
+        this.jwksJson = publicKeys.entrySet().stream()
+                .map(entry -> Jwks.json(Jwks.builder()
+                        .key(entry.getValue())
+                        .id(entry.getKey())
+                        .publicKeyUse("sig")
+                        .build()))
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    /**
+     * Builds the key set from configuration. The active key must have a private key;
+     * any other key is published for verification only.
+     */
+    public static SigningKeys from(SigningKeyProperties properties) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+            Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+            PrivateKey activePrivateKey = null;
+            for (SigningKeyProperties.Key key : properties.getKeys()) {
+                if (isBlank(key.getPublicKey())) {
+                    throw new IllegalArgumentException("The signing key " + key.getId() + " has no public key");
+                }
+                publicKeys.put(key.getId(), keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey()))));
+                if (key.getId().equals(properties.getActiveKeyId())) {
+                    if (isBlank(key.getPrivateKey())) {
+                        throw new IllegalArgumentException("The active signing key " + key.getId() + " has no private key");
+                    }
+                    activePrivateKey = keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key.getPrivateKey())));
+                }
+            }
+            return new SigningKeys(properties.getActiveKeyId(), activePrivateKey, publicKeys);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid signing key configuration", e);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Generates a single key pair that lives as long as this process, for benchmarks. Tokens
+     * it signs do not survive a restart and are not accepted by other replicas.
+     */
+    public static SigningKeys ephemeral() {
+        try {
+            KeyPair keyPair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+            String keyId = "ephemeral-" + UUID.randomUUID();
+            return new SigningKeys(keyId, keyPair.getPrivate(), Map.of(keyId, keyPair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate a signing key pair", e);
+        }
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public PrivateKey activePrivateKey() {
+        return activePrivateKey;
+    }
+
+    /**
+     * @return the public key with the given ID, or {@code null} when there is none
+     */
+    public PublicKey publicKey(String keyId) {
+        return keyId == null ? null : publicKeys.get(keyId);
+    }
+
+    public List<String> keyIds() {
+        return List.copyOf(publicKeys.keySet());
+    }
+
+    public String jwksJson() {
+        return jwksJson;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kenacbank.authservice.config.services;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have been checked. A request's token
+ * is verified once into this view, and its claims are then read from here instead of
+ * parsing the token again.
+ */
+public record VerifiedToken(
+        String token,
+        String jti,
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt,
+        Map<String, Object> claims
+) {
+
+    static VerifiedToken of(String token, Claims claims) {
+        return new VerifiedToken(
+                token,
+                claims.getId(),
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                Map.copyOf(claims));
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    public boolean isAccessToken() {
+        return JwtService.ACCESS_TOKEN.equals(claims.get(JwtService.TOKEN_TYPE_CLAIM));
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.REFRESH_TOKEN.equals(claims.get(JwtService.TOKEN_TYPE_CLAIM));
+    }
+
+    public <T> T claim(String name, Class<T> type) {
+        return type.cast(claims.get(name));
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
@@ -7,10 +7,16 @@ import com.kenacbank.authservice.models.requests.RegisterRequest;
 import com.kenacbank.authservice.models.response.AuthResponse;
 import com.kenacbank.authservice.models.response.GenericResponse;
 import com.kenacbank.authservice.models.response.LoginResponse;
+import com.kenacbank.authservice.models.response.RevocationFeedResponse;
 import com.kenacbank.authservice.services.interfaces.AuthService;
+import com.kenacbank.authservice.services.interfaces.ClientBlacklistService;
+import com.kenacbank.authservice.services.interfaces.JwksService;
+import com.kenacbank.authservice.services.interfaces.RegistrationSagaService;
+import com.kenacbank.authservice.services.interfaces.TokenRevocationService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,6 +26,10 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final ClientBlacklistService clientBlacklistService;
+    private final RegistrationSagaService registrationSagaService;
+    private final JwksService jwksService;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/register")
     public ResponseEntity<GenericResponse> register(@RequestBody RegisterRequest request) {
@@ -27,6 +37,12 @@ public class AuthController {
     }
 
 
+    @GetMapping("/register/{registrationId}")
+    public ResponseEntity<GenericResponse> getRegistrationStatus(@PathVariable String registrationId) {
+        return registrationSagaService.getRegistrationStatus(registrationId);
+    }
+
+
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
         return authService.login(loginRequest);
@@ -52,6 +68,24 @@ public class AuthController {
         return authService.resetPassword(passwordResetRequest);
     }
 
+    @PostMapping("/blacklist/refresh")
+    public ResponseEntity<GenericResponse> refreshBlacklist() {
+        return clientBlacklistService.requestRefresh();
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<String> getJwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return jwksService.getJwks(ifNoneMatch);
+    }
+
+    @GetMapping("/revocations")
+    public ResponseEntity<RevocationFeedResponse> getRevocations(
+            @RequestParam(required = false) Long since,
+            @RequestParam(name = "after-id", defaultValue = "0") long afterId) {
+        return ResponseEntity.ok(tokenRevocationService.getRevocations(since, afterId));
+    }
+
     @GetMapping("/logged-in")
     public ResponseEntity<GenericResponse> getLoggedInUser(){
         return authService.getLoggedInUser();
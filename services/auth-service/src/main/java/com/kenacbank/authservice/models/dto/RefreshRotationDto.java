@@ -0,0 +1,8 @@
+package com.kenacbank.authservice.models.dto;
+
+public record RefreshRotationDto(
+        String userCode,
+        String familyId,
+        int generation
+) {
+}
@@ -0,0 +1,12 @@
+package com.kenacbank.authservice.models.dto;
+
+import java.time.LocalDateTime;
+
+public record RegistrationStatusDto(
+        String sagaCode,
+        String status,
+        String step,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
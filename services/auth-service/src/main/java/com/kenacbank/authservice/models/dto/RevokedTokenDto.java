@@ -0,0 +1,10 @@
+package com.kenacbank.authservice.models.dto;
+
+import java.time.LocalDateTime;
+
+public record RevokedTokenDto(
+        Long id,
+        String jti,
+        LocalDateTime expiresAt
+) {
+}
@@ -3,6 +3,8 @@ package com.kenacbank.authservice.models.entities;
 import com.kenacbank.authservice.utils.UserType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,6 +18,8 @@ import java.util.List;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "kenac_users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "kenac-users")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -34,6 +38,9 @@ public class KenacUser implements UserDetails {
     private String password;
     @Enumerated(EnumType.STRING)
     private UserType userType;
+    // False until registration has completed; null for users that predate the registration saga
+    @Getter(AccessLevel.NONE)
+    private Boolean enabled;
     @CreatedDate
     @Column(
             nullable = false,
@@ -59,4 +66,9 @@ public class KenacUser implements UserDetails {
         return userCode;
     }
 
+    @Override
+    public boolean isEnabled() {
+        return !Boolean.FALSE.equals(enabled);
+    }
+
 }
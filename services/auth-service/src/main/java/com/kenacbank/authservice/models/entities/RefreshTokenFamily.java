@@ -0,0 +1,35 @@
+package com.kenacbank.authservice.models.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chain of rotating refresh tokens started by one login. Only the token of the current
+ * generation may be exchanged; presenting an earlier one revokes the family.
+ */
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+        @Index(name = "idx_refresh_token_families_user", columnList = "userId"),
+        @Index(name = "idx_refresh_token_families_expires", columnList = "expiresAt")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RefreshTokenFamily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, unique = true)
+    private String familyId;
+    @Column(nullable = false)
+    private Long userId;
+    private int generation;
+    private boolean revoked;
+    // Expiry of the current generation's token
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+}
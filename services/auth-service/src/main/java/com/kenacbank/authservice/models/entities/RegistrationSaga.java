@@ -0,0 +1,41 @@
+package com.kenacbank.authservice.models.entities;
+
+import com.kenacbank.authservice.utils.RegistrationSagaStep;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "registration_sagas", indexes = {
+        @Index(name = "idx_registration_sagas_next_attempt", columnList = "nextAttemptAt")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RegistrationSaga {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, unique = true)
+    private String sagaCode;
+    // Not a foreign key, as the user is deleted when the saga is compensated
+    @Column(nullable = false)
+    private Long userId;
+    private Long clientId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RegistrationSagaStep step;
+    private int attempts;
+    // Null once the saga has finished; while a step runs, the end of its lease
+    private LocalDateTime nextAttemptAt;
+    @Column(length = 500)
+    private String lastError;
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @Version
+    private Long version;
+}
@@ -4,8 +4,16 @@ import com.kenacbank.authservice.utils.TokenType;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "user_tokens")
+@Table(name = "user_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_tokens_jti", columnNames = "jti")
+}, indexes = {
+        @Index(name = "idx_user_tokens_expires", columnList = "expiresAt"),
+        @Index(name = "idx_user_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_user_tokens_revoked_at", columnList = "revokedAt")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -16,13 +24,20 @@ public class UserToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    @Column(unique = true)
-    private String token;
+    // SHA-256 of the JWT; the token itself is never stored
+    @Column(unique = true, length = 32)
+    private byte[] tokenHash;
+    private String jti;
     @Enumerated(EnumType.STRING)
     private TokenType tokenType;
     private boolean expired;
     private boolean revoked;
-    @ManyToOne(fetch = FetchType.EAGER)
+    private LocalDateTime expiresAt;
+    // Set when the token is revoked, so the revocation feed can be read incrementally
+    private LocalDateTime revokedAt;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private KenacUser user;
 }
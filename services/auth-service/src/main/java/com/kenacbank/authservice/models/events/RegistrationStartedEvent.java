@@ -0,0 +1,6 @@
+package com.kenacbank.authservice.models.events;
+
+public record RegistrationStartedEvent(
+        Long sagaId
+) {
+}
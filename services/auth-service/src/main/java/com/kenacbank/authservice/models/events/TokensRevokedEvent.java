@@ -0,0 +1,10 @@
+package com.kenacbank.authservice.models.events;
+
+import com.kenacbank.authservice.models.dto.RevokedTokenDto;
+
+import java.util.List;
+
+public record TokensRevokedEvent(
+        List<RevokedTokenDto> tokens
+) {
+}
@@ -0,0 +1,9 @@
+package com.kenacbank.authservice.models.requests;
+
+public record OpenAccountRequest(
+        Long clientId,
+        String accountType,
+        String currency,
+        Double initialDeposit
+) {
+}
@@ -0,0 +1,10 @@
+package com.kenacbank.authservice.models.requests;
+
+import java.util.List;
+
+public record OpenAccountsRequest(
+        Long clientId,
+        List<OpenAccountRequest> accounts,
+        boolean skipExisting
+) {
+}
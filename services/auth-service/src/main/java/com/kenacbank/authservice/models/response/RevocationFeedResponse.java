@@ -0,0 +1,20 @@
+package com.kenacbank.authservice.models.response;
+
+import java.util.List;
+
+/**
+ * One page of the revocation feed.
+ *
+ * @param until       when the page was read, in epoch milliseconds; the next poll asks for
+ *                    revocations since shortly before this
+ * @param tokens      revoked tokens that have not expired yet
+ * @param nextAfterId the {@code after-id} of the next page, or null on the last page
+ */
+public record RevocationFeedResponse(long until, List<Token> tokens, Long nextAfterId) {
+
+    /**
+     * A revoked token's ID and when it expires, in epoch milliseconds.
+     */
+    public record Token(String jti, long expiresAt) {
+    }
+}
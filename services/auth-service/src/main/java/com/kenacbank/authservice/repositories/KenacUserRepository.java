@@ -1,12 +1,36 @@
 package com.kenacbank.authservice.repositories;
 
 import com.kenacbank.authservice.models.entities.KenacUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface KenacUserRepository extends JpaRepository<KenacUser, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<KenacUser> findByUserCode(String userCode);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<KenacUser> findByEmail(String email);
+
+    /**
+     * Replaces a user's password hash, provided it is still the hash that was verified,
+     * so a rehash never overwrites a password changed in the meantime. Bulk updates are not
+     * sent to other replicas' caches, which keep the previous hash of the same password until
+     * their cached user expires.
+     *
+     * @return the number of users updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE KenacUser u SET u.password = :newHash WHERE u.id = :id AND u.password = :currentHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("currentHash") String currentHash,
+                           @Param("newHash") String newHash);
 }
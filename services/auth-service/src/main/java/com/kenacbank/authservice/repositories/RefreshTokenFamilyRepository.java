@@ -0,0 +1,50 @@
+package com.kenacbank.authservice.repositories;
+
+import com.kenacbank.authservice.models.entities.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, Long> {
+    Optional<RefreshTokenFamily> findByFamilyId(String familyId);
+
+    /**
+     * Moves a family to its next generation, provided it is still at {@code generation},
+     * not revoked and not expired. Replicas race on this update, so of two refreshes with
+     * the same token exactly one succeeds.
+     *
+     * @return 1 if the family was rotated, otherwise 0
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE RefreshTokenFamily f
+            SET f.generation = f.generation + 1, f.expiresAt = :expiresAt
+            WHERE f.familyId = :familyId AND f.generation = :generation
+              AND f.revoked = false AND f.expiresAt > :now
+            """)
+    int rotate(@Param("familyId") String familyId,
+               @Param("generation") int generation,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshTokenFamily f SET f.revoked = true WHERE f.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshTokenFamily f SET f.revoked = true WHERE f.userId = :userId AND f.revoked = false")
+    int revokeUserFamilies(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
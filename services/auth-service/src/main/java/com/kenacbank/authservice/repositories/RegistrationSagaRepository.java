@@ -0,0 +1,33 @@
+package com.kenacbank.authservice.repositories;
+
+import com.kenacbank.authservice.models.entities.RegistrationSaga;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RegistrationSagaRepository extends JpaRepository<RegistrationSaga, Long> {
+    Optional<RegistrationSaga> findBySagaCode(String sagaCode);
+
+    /**
+     * Locks up to {@code limit} unfinished sagas whose next attempt is due. Rows locked by
+     * another replica are skipped, so replicas never claim the same saga. Must run in the
+     * same transaction as {@link #extendLease}.
+     */
+    @Query(value = """
+            SELECT id FROM registration_sagas
+            WHERE next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE RegistrationSaga s SET s.nextAttemptAt = :leaseUntil WHERE s.id IN :ids")
+    int extendLease(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -1,14 +1,88 @@
 package com.kenacbank.authservice.repositories;
 
+import com.kenacbank.authservice.models.dto.RevokedTokenDto;
 import com.kenacbank.authservice.models.entities.UserToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
 
-    Optional<UserToken> findByToken(String token);
+    Optional<UserToken> findByTokenHash(byte[] tokenHash);
 
     List<UserToken> findByUserIdAndExpiredFalseAndRevokedFalse(Long id);
+
+    /**
+     * Loads one page of revoked tokens that have not expired yet, in ID order. Pass the
+     * last ID of the previous page as {@code afterId} to continue.
+     */
+    @Query("""
+            SELECT new com.kenacbank.authservice.models.dto.RevokedTokenDto(t.id, t.jti, t.expiresAt)
+            FROM UserToken t
+            WHERE t.revoked = true AND t.jti IS NOT NULL AND t.expiresAt > :now
+              AND t.id > :afterId
+            ORDER BY t.id
+            """)
+    List<RevokedTokenDto> findRevokedTokens(@Param("now") LocalDateTime now,
+                                            @Param("afterId") Long afterId,
+                                            Limit limit);
+
+    /**
+     * Loads one page of tokens revoked at or after {@code since} that have not expired yet,
+     * in ID order. Pass the last ID of the previous page as {@code afterId} to continue.
+     */
+    @Query("""
+            SELECT new com.kenacbank.authservice.models.dto.RevokedTokenDto(t.id, t.jti, t.expiresAt)
+            FROM UserToken t
+            WHERE t.revokedAt >= :since AND t.jti IS NOT NULL AND t.expiresAt > :now
+              AND t.id > :afterId
+            ORDER BY t.id
+            """)
+    List<RevokedTokenDto> findRevokedTokensSince(@Param("since") LocalDateTime since,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("afterId") Long afterId,
+                                                 Limit limit);
+
+    /**
+     * Sends a Postgres notification on the channel. Notifications are delivered to
+     * listeners only when the surrounding transaction commits.
+     */
+    @Query(value = "SELECT 1 FROM pg_notify(:channel, :payload)", nativeQuery = true)
+    Integer notify(@Param("channel") String channel, @Param("payload") String payload);
+
+    /**
+     * Deletes up to {@code batchSize} tokens that expired before {@code before}. Rows
+     * locked by another transaction are skipped, so concurrent purges on several replicas
+     * neither wait on each other nor delete the same rows.
+     *
+     * @return the number of tokens deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM user_tokens
+            WHERE id IN (
+                SELECT id FROM user_tokens
+                WHERE expires_at < :before
+                ORDER BY expires_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+
+    @Query(value = "SELECT pg_relation_size('user_tokens')", nativeQuery = true)
+    long tableSize();
+
+    @Query(value = "SELECT pg_indexes_size('user_tokens')", nativeQuery = true)
+    long indexesSize();
+
+    @Query(value = "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE relname = 'user_tokens'", nativeQuery = true)
+    long estimatedRowCount();
 }
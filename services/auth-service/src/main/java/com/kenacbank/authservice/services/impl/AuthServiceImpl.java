@@ -1,10 +1,11 @@
 package com.kenacbank.authservice.services.impl;
 
-import com.kenacbank.authservice.client_user.ClientUserClient;
 import com.kenacbank.authservice.config.services.JwtService;
+import com.kenacbank.authservice.config.services.VerifiedToken;
+import com.kenacbank.authservice.models.dto.RefreshRotationDto;
 import com.kenacbank.authservice.models.entities.KenacUser;
+import com.kenacbank.authservice.models.entities.RegistrationSaga;
 import com.kenacbank.authservice.models.entities.UserToken;
-import com.kenacbank.authservice.models.requests.ClientRegisterRequest;
 import com.kenacbank.authservice.models.requests.LoginRequest;
 import com.kenacbank.authservice.models.requests.PasswordResetRequest;
 import com.kenacbank.authservice.models.requests.RegisterRequest;
@@ -14,6 +15,11 @@ import com.kenacbank.authservice.models.response.LoginResponse;
 import com.kenacbank.authservice.repositories.KenacUserRepository;
 import com.kenacbank.authservice.repositories.UserTokenRepository;
 import com.kenacbank.authservice.services.interfaces.AuthService;
+import com.kenacbank.authservice.services.interfaces.ClientBlacklistService;
+import com.kenacbank.authservice.services.interfaces.RefreshTokenService;
+import com.kenacbank.authservice.services.interfaces.RegistrationSagaService;
+import com.kenacbank.authservice.services.interfaces.TokenRevocationService;
+import com.kenacbank.authservice.utils.TokenHasher;
 import com.kenacbank.authservice.utils.TokenType;
 import com.kenacbank.authservice.utils.UserType;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,14 +27,21 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.springframework.security.core.context.SecurityContextHolder.getContext;
 
@@ -37,13 +50,23 @@ import static org.springframework.security.core.context.SecurityContextHolder.ge
 public class AuthServiceImpl implements AuthService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthServiceImpl.class);
+    private static final int RETRY_AFTER_SECONDS = 1;
 
     private final KenacUserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ClientUserClient userClient;
     private final UserTokenRepository userTokenRepository;
     private final JwtService jwtService;
-
+    private final TokenRevocationService tokenRevocationService;
+    private final ClientBlacklistService clientBlacklistService;
+    private final RegistrationSagaService registrationSagaService;
+    private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Saves the user, disabled, together with a registration saga, and returns 202 with the
+     * URL to poll for the outcome. Creating the client and opening its accounts happen in
+     * the background; the user can log in once the saga has completed.
+     */
     @Override
     public ResponseEntity<GenericResponse> register(RegisterRequest request) {
         try {
@@ -61,26 +84,21 @@ public class AuthServiceImpl implements AuthService {
                     .email(request.email())
                     .password(passwordEncoder.encode(request.password()))
                     .userType(UserType.CLIENT)
+                    .enabled(false)
                     .build();
 
-            KenacUser savedUser = userRepository.save(newUser);
-
-            ClientRegisterRequest clientRegisterRequest = new ClientRegisterRequest(
-                    savedUser.getId(),
-                    savedUser.getName(),
-                    savedUser.getSurname(),
-                    savedUser.getEmail()
-            );
-
-            //ONCE SAVED I need to call the client service to complete the registration process
-            var response = this.userClient.createClient(clientRegisterRequest).orElseThrow(
-                    () -> new RuntimeException("Failed to create client in client service")
-            );
-
+            // Hashed above, so the transaction only covers the two inserts
+            RegistrationSaga saga = transactionTemplate.execute(status ->
+                    registrationSagaService.startRegistration(userRepository.save(newUser)));
 
-            LOGGER.info("User registered successfully: {}", savedUser.getEmail());
-            return ResponseEntity.ok(new GenericResponse("User registered successfully."));
+            URI statusUrl = URI.create("/auth/register/" + saga.getSagaCode());
+            LOGGER.info("Registration accepted for user: {}", newUser.getEmail());
+            return ResponseEntity.accepted().location(statusUrl).body(new GenericResponse("Registration accepted.",
+                    Map.of("registrationId", saga.getSagaCode(), "statusUrl", statusUrl.toString())));
 
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Registration shed, password hashing is saturated: {}", e.getMessage());
+            return serviceUnavailable(new GenericResponse("Registration is busy, please try again shortly."));
         } catch (Exception e) {
             LOGGER.error("Error registering user: {}", e.getMessage());
             return ResponseEntity.internalServerError().body(new GenericResponse("Failed to register user."));
@@ -102,33 +120,82 @@ public class AuthServiceImpl implements AuthService {
                 return ResponseEntity.badRequest().body(new LoginResponse("Invalid email or password."));
             }
 
+            if (!user.isEnabled()) {
+                return ResponseEntity.badRequest().body(new LoginResponse("Registration is still being completed."));
+            }
+            rehashIfNeeded(user, loginRequest.password());
+
             if(user.getUserType() == UserType.CLIENT) {
-                GenericResponse response = userClient.isClientBlacklisted(user.getId())
-                        .orElseThrow(() -> new RuntimeException("Failed to check client blacklist status"));
+                if (!clientBlacklistService.isFresh()) {
+                    LOGGER.warn("Login refused for {}, the client blacklist is out of date", user.getEmail());
+                    return serviceUnavailable(new LoginResponse("Login is temporarily unavailable, please try again shortly."));
+                }
 
-                if(response.isSuccess()){
+                if(clientBlacklistService.isBlacklisted(user.getId())){
                     return ResponseEntity.badRequest().body(new LoginResponse("User is blacklisted and cannot login."));
                 }
             }
 
-            Map<String, Object> extraClaims = new HashMap<>();
-            extraClaims.put("userType", user.getUserType().name());
-            String jwtToken = jwtService.generateToken(user, extraClaims);
-            String refreshToken = jwtService.generateRefreshToken(user);
-            revokeUserTokens(user);
+            String jwtToken = jwtService.generateToken(user, accessTokenClaims(user));
+            tokenRevocationService.revokeUserTokens(user.getId());
+            refreshTokenService.revokeUserFamilies(user.getId());
+            String refreshToken = jwtService.generateRefreshToken(user, refreshTokenService.startFamily(user), 0);
             saveUserToken(jwtToken, user);
 
             LOGGER.info("User logged in successfully: {}", user.getEmail());
             return ResponseEntity.ok(new LoginResponse("Login successful", true, jwtToken, refreshToken));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Login shed, password hashing is saturated: {}", e.getMessage());
+            return serviceUnavailable(new LoginResponse("Login is busy, please try again shortly."));
         } catch (Exception e) {
             LOGGER.error("Error logging in user: {}", e.getMessage());
             return ResponseEntity.internalServerError().body(new LoginResponse("Failed to login user."));
         }
     }
 
+    /**
+     * Exchanges the refresh token in the Authorization header for a new access token and
+     * the next refresh token of its family. No password is checked, so a refresh costs a
+     * signature check, in-memory lookups and the writes recording the new tokens.
+     */
     @Override
     public ResponseEntity<AuthResponse> refreshToken(HttpServletRequest request, HttpServletResponse response) {
-        return null;
+        try {
+            final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            Optional<RefreshRotationDto> rotation = refreshTokenService.rotate(authHeader.substring(7));
+            if (rotation.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            KenacUser user = userRepository.findByUserCode(rotation.get().userCode())
+                    .filter(KenacUser::isEnabled)
+                    .orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            if (user.getUserType() == UserType.CLIENT) {
+                if (!clientBlacklistService.isFresh()) {
+                    return serviceUnavailable(null);
+                }
+                if (clientBlacklistService.isBlacklisted(user.getId())) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                }
+            }
+
+            String accessToken = jwtService.generateToken(user, accessTokenClaims(user));
+            String refreshToken = jwtService.generateRefreshToken(user, rotation.get().familyId(), rotation.get().generation());
+            saveUserToken(accessToken, user);
+
+            return ResponseEntity.ok(new AuthResponse(accessToken, refreshToken));
+        } catch (Exception e) {
+            LOGGER.error("Error refreshing token: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
     }
 
     @Override
@@ -157,37 +224,52 @@ public class AuthServiceImpl implements AuthService {
     }
 
 
-    private void revokeUserTokens(KenacUser user) {
-        var validUserTokens = userTokenRepository.findByUserIdAndExpiredFalseAndRevokedFalse(user.getId());
-        if (validUserTokens.isEmpty()) {
+    /**
+     * Rehashes a verified password when its stored hash was made with a different cost
+     * than the one configured. The rehash goes through the same bounded executor; when
+     * that is saturated it is skipped and tried again on a later login.
+     */
+    private void rehashIfNeeded(KenacUser user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
             return;
         }
-        validUserTokens.forEach(t -> {
-            t.setRevoked(true);
-            t.setExpired(true);
-        });
-        userTokenRepository.saveAll(validUserTokens);
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePasswordHash(user.getId(), currentHash, newHash) > 0) {
+                user.setPassword(newHash);
+                LOGGER.info("Password rehashed with the configured cost for user: {}", user.getUserCode());
+            }
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Password rehash skipped, hashing is saturated: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> accessTokenClaims(KenacUser user) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("userType", user.getUserType().name());
+        return extraClaims;
+    }
+
+    private static <T> ResponseEntity<T> serviceUnavailable(T body) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                .body(body);
     }
 
     private void saveUserToken(String jwtToken, KenacUser user) {
-        Optional<UserToken> existingToken = userTokenRepository.findByToken(jwtToken);
-
-        if (existingToken.isPresent()) {
-            // Update existing token, assuming token is still associated with the same user
-            existingToken.get().setExpired(false);
-            existingToken.get().setRevoked(false);
-            userTokenRepository.save(existingToken.get());
-        } else {
-            // Token doesn't exist, create a new one
-            var userToken = UserToken
-                    .builder()
-                    .token(jwtToken)
-                    .user(user)
-                    .tokenType(TokenType.BEARER)
-                    .expired(false)
-                    .revoked(false)
-                    .build();
-            userTokenRepository.save(userToken);
-        }
+        // Every token carries a random ID, so a new token is never already stored
+        VerifiedToken verified = jwtService.verify(jwtToken);
+        var userToken = UserToken
+                .builder()
+                .tokenHash(TokenHasher.hash(jwtToken))
+                .jti(verified.jti())
+                .expiresAt(LocalDateTime.ofInstant(verified.expiresAt(), ZoneId.systemDefault()))
+                .user(user)
+                .tokenType(TokenType.BEARER)
+                .expired(false)
+                .revoked(false)
+                .build();
+        userTokenRepository.save(userToken);
     }
 }
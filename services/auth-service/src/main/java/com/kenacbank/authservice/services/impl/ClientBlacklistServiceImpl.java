@@ -0,0 +1,178 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.client_user.ClientUserClient;
+import com.kenacbank.authservice.models.response.GenericResponse;
+import com.kenacbank.authservice.services.interfaces.ClientBlacklistService;
+import com.kenacbank.common.notify.PostgresNotificationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Answers whether a client is blacklisted from an in-memory copy of client-service's
+ * blacklist, so a login does not need a call to client-service.
+ *
+ * <p>The snapshot is the full set of blacklisted user IDs, fetched in one call and
+ * swapped in whole. It is reloaded every {@code refresh-interval-ms}, and within about a
+ * second of client-service reporting a change through {@link #requestRefresh()}. The
+ * report is only a hint that triggers a reload, so nothing it carries is trusted, and
+ * bursts of reports collapse into a single reload.</p>
+ *
+ * <p>client-service reports a change to one replica, which passes it on to the others with
+ * a Postgres notification on auth's database. Each replica listens on a connection of its
+ * own, outside the pool, and reloads whenever it starts listening, since it may have
+ * missed notifications while it was not.</p>
+ *
+ * <p>If no reload has succeeded within {@code max-staleness-ms}, including before the
+ * first one, {@link #isFresh()} is false and client logins are refused rather than
+ * checked against a blacklist that may be out of date.</p>
+ */
+@Service
+public class ClientBlacklistServiceImpl implements ClientBlacklistService, SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientBlacklistServiceImpl.class);
+    private static final String CHANNEL = "client_blacklist_refresh";
+
+    private final ClientUserClient userClient;
+    private final DataSource dataSource;
+    private final PostgresNotificationListener listener;
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+    private final Counter refreshFailures;
+
+    @Value("${application.client-blacklist.refresh-interval-ms:30000}")
+    private long refreshIntervalMs;
+
+    @Value("${application.client-blacklist.max-staleness-ms:120000}")
+    private long maxStalenessMs;
+
+    private volatile Set<Long> blacklisted = Set.of();
+    private volatile long refreshedAt;
+
+    public ClientBlacklistServiceImpl(ClientUserClient userClient, DataSource dataSource,
+                                      DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry,
+                                      @Value("${application.client-blacklist.listener-poll-timeout:5s}") Duration pollTimeout,
+                                      @Value("${application.client-blacklist.listener-reconnect-delay:2s}") Duration reconnectDelay) {
+        this.userClient = userClient;
+        this.dataSource = dataSource;
+        this.listener = new PostgresNotificationListener(listenerDataSource(dataSourceProperties), CHANNEL,
+                payload -> refreshRequested.set(true), () -> refreshRequested.set(true), pollTimeout, reconnectDelay);
+        this.refreshFailures = Counter.builder("kenac.auth.blacklist.refresh.failures")
+                .description("Failed reloads of the client blacklist snapshot")
+                .register(meterRegistry);
+        Gauge.builder("kenac.auth.blacklist.size", this, service -> service.blacklisted.size())
+                .description("Blacklisted clients held in memory")
+                .register(meterRegistry);
+        Gauge.builder("kenac.auth.blacklist.age", this,
+                        service -> service.refreshedAt == 0 ? Double.NaN : (System.currentTimeMillis() - service.refreshedAt) / 1000.0)
+                .description("Time since the client blacklist snapshot was last reloaded")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isFresh() {
+        return refreshedAt != 0 && System.currentTimeMillis() - refreshedAt <= maxStalenessMs;
+    }
+
+    @Override
+    public boolean isBlacklisted(Long userId) {
+        return blacklisted.contains(userId);
+    }
+
+    /**
+     * Marks the snapshot for reloading on the next check, on this replica and, through a
+     * notification, on every other, without waiting for it. If the notification cannot be
+     * sent, the other replicas catch up on their next scheduled reload.
+     *
+     * @return a 202 response acknowledging the request
+     */
+    @Override
+    public ResponseEntity<GenericResponse> requestRefresh() {
+        refreshRequested.set(true);
+        try (Connection connection = dataSource.getConnection()) {
+            PostgresNotificationListener.notify(connection, CHANNEL, "");
+        } catch (SQLException e) {
+            LOGGER.warn("Could not pass the blacklist refresh on to other replicas: {}", e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new GenericResponse("Blacklist refresh scheduled."));
+    }
+
+    /**
+     * Reloads the snapshot when a refresh was requested or the refresh interval has passed.
+     * A failed reload keeps the previous snapshot and is retried on the next check.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${application.client-blacklist.check-interval-ms:1000}")
+    public void refreshIfDue() {
+        boolean requested = refreshRequested.getAndSet(false);
+        if (!requested && System.currentTimeMillis() - refreshedAt < refreshIntervalMs) {
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        try {
+            GenericResponse response = userClient.getBlacklistedUserIds()
+                    .filter(GenericResponse::isSuccess)
+                    .orElseThrow(() -> new IllegalStateException("Client service returned no blacklist"));
+
+            Set<Long> userIds = ((List<?>) response.getData()).stream()
+                    .map(id -> ((Number) id).longValue())
+                    .collect(Collectors.toUnmodifiableSet());
+            blacklisted = userIds;
+            // Measured from the start of the call, the latest point the snapshot is known to cover
+            refreshedAt = startedAt;
+            LOGGER.debug("Client blacklist reloaded with {} users", userIds.size());
+        } catch (Exception e) {
+            if (requested) {
+                refreshRequested.set(true);
+            }
+            refreshFailures.increment();
+            LOGGER.error("Error reloading client blacklist: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        listener.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener.isRunning();
+    }
+
+    private static SimpleDriverDataSource listenerDataSource(DataSourceProperties properties) {
+        return DataSourceBuilder.create(properties.getClassLoader())
+                .type(SimpleDriverDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(properties.determineUrl())
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.config.SigningKeyProperties;
+import com.kenacbank.authservice.config.services.SigningKeys;
+import com.kenacbank.authservice.services.interfaces.JwksService;
+import com.kenacbank.authservice.utils.TokenHasher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+
+/**
+ * Serves the public signing keys as a JSON Web Key Set, for services that verify tokens
+ * themselves.
+ *
+ * <p>The document only changes when the key configuration does, so it is sent with a
+ * public {@code Cache-Control} max-age and an ETag, and a matching {@code If-None-Match}
+ * gets a 304. A new key must be published for at least {@code jwks-max-age} before it
+ * becomes the active key, so every cached copy knows it by the time tokens carry it.</p>
+ */
+@Service
+public class JwksServiceImpl implements JwksService {
+
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final String jwksJson;
+    private final String etag;
+    private final CacheControl cacheControl;
+
+    public JwksServiceImpl(SigningKeys signingKeys, SigningKeyProperties properties) {
+        this.jwksJson = signingKeys.jwksJson();
+        this.etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(TokenHasher.hash(jwksJson)) + "\"";
+        this.cacheControl = CacheControl.maxAge(properties.getJwksMaxAge()).cachePublic();
+    }
+
+    @Override
+    public ResponseEntity<String> getJwks(String ifNoneMatch) {
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(JWK_SET)
+                .body(jwksJson);
+    }
+}
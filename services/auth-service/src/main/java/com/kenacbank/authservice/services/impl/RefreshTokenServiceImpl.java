@@ -0,0 +1,224 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.config.services.JwtService;
+import com.kenacbank.authservice.config.services.VerifiedToken;
+import com.kenacbank.authservice.models.dto.RefreshRotationDto;
+import com.kenacbank.authservice.models.entities.KenacUser;
+import com.kenacbank.authservice.models.entities.RefreshTokenFamily;
+import com.kenacbank.authservice.repositories.RefreshTokenFamilyRepository;
+import com.kenacbank.authservice.services.interfaces.RefreshTokenService;
+import com.kenacbank.authservice.services.interfaces.TokenRevocationService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rotates refresh tokens, so an access token can be renewed without the password.
+ *
+ * <p>Every login starts a token family, and every refresh exchanges the family's current
+ * token for the next generation. A refresh is checked with one signature verification and
+ * a lookup of the family in memory, which rejects revoked families and earlier
+ * generations without touching the database. The rotation itself is a single conditional
+ * update, which decides between replicas, or between two requests racing with the same
+ * token, which one wins.</p>
+ *
+ * <p>Presenting a token of an earlier generation means the token was copied, so the
+ * family is revoked together with the user's access tokens, and both the thief and the
+ * user have to log in again. The in-memory families may lag behind rotations and
+ * revocations made on other replicas; such a family fails its conditional update, and is
+ * then reloaded and judged from the database.</p>
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, FamilyState> families = new ConcurrentHashMap<>();
+    private final long refreshExpiration;
+
+    @Value("${application.refresh-tokens.max-cached-families:500000}")
+    private int maxCachedFamilies;
+
+    public RefreshTokenServiceImpl(RefreshTokenFamilyRepository familyRepository,
+                                   JwtService jwtService,
+                                   TokenRevocationService tokenRevocationService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${application.security.jwt.refresh-token.expiration}") long refreshExpiration) {
+        this.familyRepository = familyRepository;
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.meterRegistry = meterRegistry;
+        this.refreshExpiration = refreshExpiration;
+
+        Gauge.builder("kenac.auth.refresh.families", families, Map::size)
+                .description("Refresh token families held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a token family for a login.
+     *
+     * @param user the user logging in
+     * @return the family ID, to be issued as generation 0
+     */
+    @Override
+    public String startFamily(KenacUser user) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshTokenFamily family = familyRepository.save(RefreshTokenFamily
+                .builder()
+                .familyId(UUID.randomUUID().toString())
+                .userId(user.getId())
+                .generation(0)
+                .revoked(false)
+                .expiresAt(now.plus(refreshExpiration, ChronoUnit.MILLIS))
+                .createdAt(now)
+                .build());
+        cache(family.getFamilyId(), FamilyState.of(family));
+        return family.getFamilyId();
+    }
+
+    /**
+     * Checks a refresh token and moves its family to the next generation.
+     *
+     * @param refreshToken the refresh token presented by the client
+     * @return the user and the generation to issue next, or empty if the token is rejected
+     */
+    @Override
+    public Optional<RefreshRotationDto> rotate(String refreshToken) {
+        VerifiedToken token;
+        try {
+            token = jwtService.verify(refreshToken);
+        } catch (ExpiredJwtException e) {
+            return rejected("EXPIRED");
+        } catch (JwtException | IllegalArgumentException e) {
+            return rejected("INVALID");
+        }
+
+        String familyId = token.claim(JwtService.FAMILY_CLAIM, String.class);
+        Number generationClaim = token.claim(JwtService.GENERATION_CLAIM, Number.class);
+        if (!token.isRefreshToken() || familyId == null || generationClaim == null) {
+            return rejected("INVALID");
+        }
+        int generation = generationClaim.intValue();
+
+        FamilyState known = families.get(familyId);
+        if (known != null) {
+            if (known.revoked()) {
+                return rejected("REVOKED");
+            }
+            if (generation < known.generation()) {
+                return reuseDetected(familyId, known.userId(), generation);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(refreshExpiration, ChronoUnit.MILLIS);
+        if (familyRepository.rotate(familyId, generation, expiresAt, now) == 1) {
+            Long userId = known != null ? known.userId()
+                    : familyRepository.findByFamilyId(familyId).map(RefreshTokenFamily::getUserId).orElse(null);
+            if (userId != null) {
+                cache(familyId, new FamilyState(userId, generation + 1, false, toEpochMillis(expiresAt)));
+            }
+            meterRegistry.counter("kenac.auth.refreshes", "outcome", "ROTATED").increment();
+            return Optional.of(new RefreshRotationDto(token.subject(), familyId, generation + 1));
+        }
+
+        // The family is not where this token expects it; the stored family says why
+        Optional<RefreshTokenFamily> stored = familyRepository.findByFamilyId(familyId);
+        if (stored.isEmpty()) {
+            families.remove(familyId);
+            return rejected("INVALID");
+        }
+        RefreshTokenFamily family = stored.get();
+        cache(familyId, FamilyState.of(family));
+        if (family.isRevoked()) {
+            return rejected("REVOKED");
+        }
+        if (generation < family.getGeneration()) {
+            return reuseDetected(familyId, family.getUserId(), generation);
+        }
+        return rejected("EXPIRED");
+    }
+
+    /**
+     * Revokes every token family of a user, as a new login ends the user's other sessions.
+     * Families held in memory on any replica are corrected by their next failed rotation.
+     */
+    @Override
+    public void revokeUserFamilies(Long userId) {
+        familyRepository.revokeUserFamilies(userId);
+    }
+
+    /**
+     * Drops expired families from memory and from the database. Revoked families are kept
+     * until they expire, so a stolen token is still recognised as reused.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${application.refresh-tokens.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            families.values().removeIf(family -> family.expiresAt() <= now);
+            int deleted = familyRepository.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                LOGGER.info("Deleted {} expired refresh token families", deleted);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error pruning refresh token families: {}", e.getMessage());
+        }
+    }
+
+    private Optional<RefreshRotationDto> reuseDetected(String familyId, Long userId, int generation) {
+        LOGGER.warn("Refresh token reuse detected for family {} (generation {}), revoking the family", familyId, generation);
+        familyRepository.revokeFamily(familyId);
+        families.computeIfPresent(familyId, (id, family) -> family.revoke());
+        tokenRevocationService.revokeUserTokens(userId);
+        return rejected("REUSED");
+    }
+
+    private Optional<RefreshRotationDto> rejected(String outcome) {
+        meterRegistry.counter("kenac.auth.refreshes", "outcome", outcome).increment();
+        return Optional.empty();
+    }
+
+    private void cache(String familyId, FamilyState state) {
+        // Past the cap, families are only checked against the database
+        if (families.size() < maxCachedFamilies || families.containsKey(familyId)) {
+            families.put(familyId, state);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record FamilyState(Long userId, int generation, boolean revoked, long expiresAt) {
+
+        static FamilyState of(RefreshTokenFamily family) {
+            return new FamilyState(family.getUserId(), family.getGeneration(), family.isRevoked(),
+                    family.getExpiresAt() != null ? toEpochMillis(family.getExpiresAt()) : 0L);
+        }
+
+        FamilyState revoke() {
+            return new FamilyState(userId, generation, true, expiresAt);
+        }
+    }
+}
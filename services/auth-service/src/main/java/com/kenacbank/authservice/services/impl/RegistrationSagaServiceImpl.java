@@ -0,0 +1,329 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.banking_account.BankingAccountClient;
+import com.kenacbank.authservice.client_user.ClientUserClient;
+import com.kenacbank.authservice.models.dto.RegistrationStatusDto;
+import com.kenacbank.authservice.models.entities.KenacUser;
+import com.kenacbank.authservice.models.entities.RegistrationSaga;
+import com.kenacbank.authservice.models.events.RegistrationStartedEvent;
+import com.kenacbank.authservice.models.requests.ClientRegisterRequest;
+import com.kenacbank.authservice.models.requests.OpenAccountRequest;
+import com.kenacbank.authservice.models.requests.OpenAccountsRequest;
+import com.kenacbank.authservice.models.response.GenericResponse;
+import com.kenacbank.authservice.repositories.KenacUserRepository;
+import com.kenacbank.authservice.repositories.RegistrationSagaRepository;
+import com.kenacbank.authservice.services.interfaces.RegistrationSagaService;
+import com.kenacbank.authservice.utils.RegistrationSagaStep;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Completes registrations in the background as a saga of durable steps, so registering
+ * does not hold a thread in auth-service, client-service and banking-service at once.
+ *
+ * <p>The user and the saga record are saved together. After that transaction commits, the
+ * saga is run on {@code registrationSagaExecutor}: the client is created in client-service
+ * and its accounts are opened in banking-service, and the user is then enabled. Each step
+ * is saved before the next one runs, and both remote calls are safe to repeat, so a saga
+ * interrupted at any point is resumed from its last saved step.</p>
+ *
+ * <p>A failed step is retried with exponential backoff. Once a forward step has failed
+ * {@code max-attempts} times, the saga is compensated: the client's accounts are closed,
+ * then the client is deleted, then the user, and the registration ends as failed. Accounts
+ * are closed whenever the saga got as far as opening them, because a failed attempt may
+ * still have opened them in banking-service, for instance when its response was lost or
+ * enabling the user failed afterwards. Compensation steps are retried until they succeed.</p>
+ *
+ * <p>Due sagas are claimed with {@code FOR UPDATE SKIP LOCKED} and leased for
+ * {@code lease-ms} by moving their next attempt forward, so a saga is run by one replica
+ * at a time and is picked up again by the poller if the replica running it stops. The
+ * lease must outlast a step's remote call, which is checked against the Feign timeouts
+ * on startup.</p>
+ */
+@Service
+public class RegistrationSagaServiceImpl implements RegistrationSagaService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrationSagaServiceImpl.class);
+    private static final List<String> ACCOUNT_CURRENCIES = List.of("USD", "ZWG");
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final RegistrationSagaRepository sagaRepository;
+    private final KenacUserRepository userRepository;
+    private final ClientUserClient userClient;
+    private final BankingAccountClient bankingClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor sagaExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.registration-saga.batch-size:50}")
+    private int batchSize;
+
+    @Value("${application.registration-saga.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${application.registration-saga.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${application.registration-saga.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${application.registration-saga.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${spring.cloud.openfeign.client.config.default.connect-timeout:10000}")
+    private long feignConnectTimeoutMs;
+
+    @Value("${spring.cloud.openfeign.client.config.default.read-timeout:60000}")
+    private long feignReadTimeoutMs;
+
+    public RegistrationSagaServiceImpl(RegistrationSagaRepository sagaRepository,
+                                       KenacUserRepository userRepository,
+                                       ClientUserClient userClient,
+                                       BankingAccountClient bankingClient,
+                                       ApplicationEventPublisher eventPublisher,
+                                       TransactionTemplate transactionTemplate,
+                                       @Qualifier("registrationSagaExecutor") ThreadPoolTaskExecutor sagaExecutor,
+                                       MeterRegistry meterRegistry) {
+        this.sagaRepository = sagaRepository;
+        this.userRepository = userRepository;
+        this.userClient = userClient;
+        this.bankingClient = bankingClient;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.sagaExecutor = sagaExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Refuses to start with a lease a step's remote call can outlast, as the poller would then
+     * hand a saga whose step is still running to another replica.
+     */
+    @PostConstruct
+    void checkLease() {
+        if (leaseMs <= feignConnectTimeoutMs + feignReadTimeoutMs) {
+            throw new IllegalStateException("application.registration-saga.lease-ms (" + leaseMs
+                    + ") must be longer than the Feign connect and read timeouts together ("
+                    + (feignConnectTimeoutMs + feignReadTimeoutMs) + "ms)");
+        }
+    }
+
+    /**
+     * Saves the saga for a newly saved user. Must be called in the transaction that saves
+     * the user; the saga starts running once that transaction commits.
+     *
+     * @param user the user being registered, not yet enabled
+     * @return the saved saga
+     */
+    @Override
+    public RegistrationSaga startRegistration(KenacUser user) {
+        LocalDateTime now = LocalDateTime.now();
+        RegistrationSaga saga = sagaRepository.save(RegistrationSaga
+                .builder()
+                .sagaCode(UUID.randomUUID().toString())
+                .userId(user.getId())
+                .step(RegistrationSagaStep.CREATE_CLIENT)
+                // Leased to the run started after commit; the poller takes over if that never happens
+                .nextAttemptAt(now.plus(leaseMs, ChronoUnit.MILLIS))
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        eventPublisher.publishEvent(new RegistrationStartedEvent(saga.getId()));
+        return saga;
+    }
+
+    @Override
+    public ResponseEntity<GenericResponse> getRegistrationStatus(String sagaCode) {
+        try {
+            return sagaRepository.findBySagaCode(sagaCode)
+                    .map(saga -> ResponseEntity.ok(new GenericResponse("Registration status retrieved successfully.", new RegistrationStatusDto(
+                            saga.getSagaCode(),
+                            status(saga.getStep()),
+                            saga.getStep().name(),
+                            saga.getCreatedAt(),
+                            saga.getUpdatedAt()))))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(new GenericResponse("Registration not found.")));
+        } catch (Exception e) {
+            LOGGER.error("Error retrieving registration status: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to retrieve registration status."));
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationStarted(RegistrationStartedEvent event) {
+        try {
+            sagaExecutor.execute(() -> advance(event.sagaId()));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Registration saga {} queued for the poller, the saga executor is full", event.sagaId());
+        }
+    }
+
+    /**
+     * Claims sagas whose next attempt is due, including those whose lease has run out,
+     * and runs them on the saga executor.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${application.registration-saga.poll-interval-ms:5000}")
+    public void processDueSagas() {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> due = sagaRepository.lockDueIds(now, batchSize);
+                if (!due.isEmpty()) {
+                    sagaRepository.extendLease(due, now.plus(leaseMs, ChronoUnit.MILLIS));
+                }
+                return due;
+            });
+
+            for (Long id : ids) {
+                // Sagas that do not fit are picked up again once their lease runs out
+                sagaExecutor.execute(() -> advance(id));
+            }
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Saga executor is full, remaining registration sagas wait for their lease to expire");
+        } catch (Exception e) {
+            LOGGER.error("Error claiming registration sagas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a saga's steps until it finishes or a step fails. Every step is saved before the
+     * next one runs; a save that loses to another replica stops this run.
+     */
+    private void advance(Long sagaId) {
+        try {
+            RegistrationSaga saga = sagaRepository.findById(sagaId).orElse(null);
+            while (saga != null && !saga.getStep().isFinished()) {
+                RegistrationSagaStep step = saga.getStep();
+                try {
+                    runStep(saga);
+                } catch (Exception e) {
+                    sagaRepository.save(failed(saga, step, e));
+                    return;
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                saga.setAttempts(0);
+                saga.setLastError(null);
+                saga.setUpdatedAt(now);
+                saga.setNextAttemptAt(saga.getStep().isFinished() ? null : now.plus(leaseMs, ChronoUnit.MILLIS));
+                saga = sagaRepository.save(saga);
+
+                if (saga.getStep().isFinished()) {
+                    meterRegistry.counter("kenac.auth.registrations", "outcome", saga.getStep().name()).increment();
+                    LOGGER.info("Registration saga {} finished as {}", saga.getSagaCode(), saga.getStep());
+                }
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            LOGGER.debug("Registration saga {} was advanced elsewhere", sagaId);
+        } catch (Exception e) {
+            LOGGER.error("Error advancing registration saga {}: {}", sagaId, e.getMessage());
+        }
+    }
+
+    private void runStep(RegistrationSaga saga) {
+        switch (saga.getStep()) {
+            case CREATE_CLIENT -> {
+                KenacUser user = userRepository.findById(saga.getUserId())
+                        .orElseThrow(() -> new IllegalStateException("User " + saga.getUserId() + " no longer exists"));
+                GenericResponse response = userClient.createClient(new ClientRegisterRequest(
+                                user.getId(), user.getName(), user.getSurname(), user.getEmail()))
+                        .filter(GenericResponse::isSuccess)
+                        .orElseThrow(() -> new IllegalStateException("Client service did not create the client"));
+                saga.setClientId(((Number) ((Map<?, ?>) response.getData()).get("id")).longValue());
+                saga.setStep(RegistrationSagaStep.OPEN_ACCOUNTS);
+            }
+            case OPEN_ACCOUNTS -> {
+                List<OpenAccountRequest> accounts = ACCOUNT_CURRENCIES.stream()
+                        .map(currency -> new OpenAccountRequest(saga.getClientId(), "CURRENT", currency, 0.00))
+                        .toList();
+                bankingClient.openClientAccounts(new OpenAccountsRequest(saga.getClientId(), accounts, true))
+                        .filter(GenericResponse::isSuccess)
+                        .orElseThrow(() -> new IllegalStateException("Banking service did not open the accounts"));
+
+                KenacUser user = userRepository.findById(saga.getUserId())
+                        .orElseThrow(() -> new IllegalStateException("User " + saga.getUserId() + " no longer exists"));
+                user.setEnabled(true);
+                userRepository.save(user);
+                saga.setStep(RegistrationSagaStep.COMPLETED);
+            }
+            case CLOSE_ACCOUNTS -> {
+                bankingClient.closeClientAccounts(saga.getClientId())
+                        .filter(GenericResponse::isSuccess)
+                        .orElseThrow(() -> new IllegalStateException("Banking service did not close the accounts"));
+                saga.setStep(RegistrationSagaStep.DELETE_CLIENT);
+            }
+            case DELETE_CLIENT -> {
+                userClient.deleteClient(saga.getUserId())
+                        .filter(GenericResponse::isSuccess)
+                        .orElseThrow(() -> new IllegalStateException("Client service did not delete the client"));
+                saga.setStep(RegistrationSagaStep.DELETE_USER);
+            }
+            case DELETE_USER -> {
+                userRepository.deleteById(saga.getUserId());
+                saga.setStep(RegistrationSagaStep.FAILED);
+            }
+            default -> throw new IllegalStateException("Registration saga " + saga.getSagaCode() + " has already finished");
+        }
+    }
+
+    /**
+     * Records a failed attempt at a step and schedules the retry. A forward step that has
+     * used up its attempts switches the saga to compensation instead.
+     */
+    private RegistrationSaga failed(RegistrationSaga saga, RegistrationSagaStep step, Exception error) {
+        LocalDateTime now = LocalDateTime.now();
+        int attempts = saga.getAttempts() + 1;
+        String message = String.valueOf(error.getMessage());
+        meterRegistry.counter("kenac.auth.registration.step.failures", "step", step.name()).increment();
+
+        saga.setStep(step);
+        saga.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        saga.setUpdatedAt(now);
+        if (!step.isCompensating() && attempts >= maxAttempts) {
+            LOGGER.warn("Registration saga {} failed at {} after {} attempts, compensating: {}",
+                    saga.getSagaCode(), step, attempts, message);
+            // The client ID is known once the client was created, and accounts are only opened after that
+            saga.setStep(saga.getClientId() != null ? RegistrationSagaStep.CLOSE_ACCOUNTS : RegistrationSagaStep.DELETE_CLIENT);
+            saga.setAttempts(0);
+            saga.setNextAttemptAt(now);
+            return saga;
+        }
+
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        LOGGER.warn("Registration saga {} failed at {} (attempt {}), retrying in {}ms: {}",
+                saga.getSagaCode(), step, attempts, backoffMs, message);
+        saga.setAttempts(attempts);
+        saga.setNextAttemptAt(now.plus(backoffMs, ChronoUnit.MILLIS));
+        return saga;
+    }
+
+    private static String status(RegistrationSagaStep step) {
+        return switch (step) {
+            case COMPLETED -> "COMPLETED";
+            case FAILED -> "FAILED";
+            default -> "PENDING";
+        };
+    }
+}
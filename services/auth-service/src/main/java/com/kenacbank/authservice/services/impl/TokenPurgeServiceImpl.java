@@ -0,0 +1,100 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.repositories.UserTokenRepository;
+import com.kenacbank.authservice.services.interfaces.TokenPurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes stored tokens once they have expired, so user_tokens and its indexes only hold
+ * tokens that can still be presented.
+ *
+ * <p>Rows are deleted in small batches, each in its own short transaction with a pause in
+ * between, so the purge never holds many row locks or blocks logins for long. Revoked
+ * tokens are kept until they expire, as the in-memory revocation set is rebuilt from them.
+ * After each run the table size, index size and estimated row count are published as
+ * gauges.</p>
+ */
+@Service
+public class TokenPurgeServiceImpl implements TokenPurgeService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenPurgeServiceImpl.class);
+
+    private final UserTokenRepository userTokenRepository;
+    private final Counter purged;
+    private final AtomicLong tableSize = new AtomicLong();
+    private final AtomicLong indexesSize = new AtomicLong();
+    private final AtomicLong rowCount = new AtomicLong();
+
+    @Value("${application.token-purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${application.token-purge.max-batches:500}")
+    private int maxBatches;
+
+    @Value("${application.token-purge.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    public TokenPurgeServiceImpl(UserTokenRepository userTokenRepository, MeterRegistry meterRegistry) {
+        this.userTokenRepository = userTokenRepository;
+        this.purged = Counter.builder("kenac.auth.tokens.purged")
+                .description("Expired tokens deleted from user_tokens")
+                .register(meterRegistry);
+        Gauge.builder("kenac.auth.tokens.table.size", tableSize, AtomicLong::get)
+                .description("Size of the user_tokens table")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("kenac.auth.tokens.index.size", indexesSize, AtomicLong::get)
+                .description("Total size of the user_tokens indexes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("kenac.auth.tokens.rows", rowCount, AtomicLong::get)
+                .description("Estimated number of rows in user_tokens")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deletes tokens that have expired, up to {@code max-batches} batches per run.
+     *
+     * @return the number of tokens deleted
+     */
+    @Override
+    @Scheduled(initialDelayString = "${application.token-purge.initial-delay-ms:60000}",
+            fixedDelayString = "${application.token-purge.interval-ms:300000}")
+    public int purgeExpiredTokens() {
+        int total = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int deleted = userTokenRepository.deleteExpiredBatch(now, batchSize);
+                total += deleted;
+                purged.increment(deleted);
+                if (deleted < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPauseMs);
+            }
+            if (total > 0) {
+                LOGGER.info("Purged {} expired tokens", total);
+            }
+
+            tableSize.set(userTokenRepository.tableSize());
+            indexesSize.set(userTokenRepository.indexesSize());
+            rowCount.set(userTokenRepository.estimatedRowCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.error("Error purging expired tokens: {}", e.getMessage());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,263 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.models.dto.RevokedTokenDto;
+import com.kenacbank.authservice.models.entities.UserToken;
+import com.kenacbank.authservice.models.events.TokensRevokedEvent;
+import com.kenacbank.authservice.models.response.RevocationFeedResponse;
+import com.kenacbank.authservice.repositories.UserTokenRepository;
+import com.kenacbank.authservice.services.interfaces.TokenRevocationService;
+import com.kenacbank.authservice.utils.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.kenacbank.common.notify.PostgresNotificationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers whether a token has been revoked from memory, so request filtering does not
+ * need a database round trip.
+ *
+ * <p>Revoked token IDs that have not expired yet are held in an exact set, fronted by a
+ * bloom filter that rejects the common case of a token that was never revoked without
+ * touching the set. Both are loaded from the database at startup. Revocations are sent to
+ * every replica, including this one, as Postgres notifications that are delivered when the
+ * revoking transaction commits.</p>
+ *
+ * <p>The listener holds a connection of its own, outside the pool. While it is not
+ * listening, for example before the first load or after losing its connection,
+ * {@link #isReady()} is false and callers fall back to the database. Every reconnect
+ * reloads the set, so notifications missed in between are recovered.</p>
+ *
+ * <p>Services that verify tokens themselves, such as the gateway, read the same
+ * revocations through {@link #getRevocations(Long, long)}: everything at first, then only
+ * what was revoked since their last poll.</p>
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService, SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+    private static final String CHANNEL = "token_revocations";
+
+    private final UserTokenRepository userTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostgresNotificationListener listener;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    @Value("${application.token-revocation.page-size:5000}")
+    private int pageSize;
+
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationServiceImpl(UserTokenRepository userTokenRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      DataSourceProperties dataSourceProperties,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${application.token-revocation.expected-revocations:1000000}") int expectedRevocations,
+                                      @Value("${application.token-revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                      @Value("${application.token-revocation.listener-poll-timeout:5s}") Duration pollTimeout,
+                                      @Value("${application.token-revocation.listener-reconnect-delay:2s}") Duration reconnectDelay) {
+        this.userTokenRepository = userTokenRepository;
+        this.eventPublisher = eventPublisher;
+        // Listening before loading, so nothing revoked in between is missed
+        this.listener = new PostgresNotificationListener(listenerDataSource(dataSourceProperties), CHANNEL,
+                this::apply, this::reload, pollTimeout, reconnectDelay);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+
+        Gauge.builder("kenac.auth.revocations", revoked, Map::size)
+                .description("Revoked tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isReady() {
+        return listener.isListening();
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        return bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes all active tokens of a user and notifies every replica once the transaction
+     * commits.
+     *
+     * @param userId the user whose tokens are revoked
+     */
+    @Override
+    @Transactional
+    public void revokeUserTokens(Long userId) {
+        List<UserToken> tokens = userTokenRepository.findByUserIdAndExpiredFalseAndRevokedFalse(userId);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        tokens.forEach(t -> {
+            t.setRevoked(true);
+            t.setExpired(true);
+            t.setRevokedAt(now);
+        });
+        userTokenRepository.saveAll(tokens);
+
+        List<RevokedTokenDto> revokedTokens = tokens.stream()
+                .filter(t -> t.getJti() != null && t.getExpiresAt() != null)
+                .map(t -> new RevokedTokenDto(t.getId(), t.getJti(), t.getExpiresAt()))
+                .toList();
+        if (revokedTokens.isEmpty()) {
+            return;
+        }
+
+        StringBuilder payload = new StringBuilder();
+        for (RevokedTokenDto token : revokedTokens) {
+            String entry = token.jti() + ":" + toEpochMillis(token.expiresAt());
+            if (payload.length() + entry.length() + 1 > PostgresNotificationListener.MAX_PAYLOAD_LENGTH) {
+                userTokenRepository.notify(CHANNEL, payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append(',');
+            }
+            payload.append(entry);
+        }
+        userTokenRepository.notify(CHANNEL, payload.toString());
+        eventPublisher.publishEvent(new TokensRevokedEvent(revokedTokens));
+    }
+
+    /**
+     * Reads one page of the revocation feed.
+     *
+     * @param since   epoch milliseconds; only tokens revoked at or after this are returned,
+     *                or every revoked token that has not expired when null
+     * @param afterId the {@code nextAfterId} of the previous page, or 0 for the first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RevocationFeedResponse getRevocations(Long since, long afterId) {
+        long until = System.currentTimeMillis();
+        LocalDateTime now = toLocalDateTime(until);
+        List<RevokedTokenDto> page = since == null
+                ? userTokenRepository.findRevokedTokens(now, afterId, Limit.of(pageSize))
+                : userTokenRepository.findRevokedTokensSince(toLocalDateTime(since), now, afterId, Limit.of(pageSize));
+        List<RevocationFeedResponse.Token> tokens = page.stream()
+                .map(t -> new RevocationFeedResponse.Token(t.jti(), toEpochMillis(t.expiresAt())))
+                .toList();
+        Long nextAfterId = page.size() < pageSize ? null : page.get(page.size() - 1).id();
+        return new RevocationFeedResponse(until, tokens, nextAfterId);
+    }
+
+    /**
+     * Applies this replica's own revocations as soon as they commit, without waiting for
+     * its notification to come back.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(TokensRevokedEvent event) {
+        event.tokens().forEach(t -> add(t.jti(), toEpochMillis(t.expiresAt())));
+    }
+
+    /**
+     * Drops tokens that have expired since they were revoked, and rebuilds the bloom
+     * filter without them.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${application.token-revocation.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+        LOGGER.debug("Pruned revoked tokens, {} remaining", revoked.size());
+    }
+
+    @Override
+    public void start() {
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        listener.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener.isRunning();
+    }
+
+    private void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        int loaded = 0;
+        while (true) {
+            List<RevokedTokenDto> page = userTokenRepository.findRevokedTokens(now, afterId, Limit.of(pageSize));
+            page.forEach(t -> add(t.jti(), toEpochMillis(t.expiresAt())));
+            loaded += page.size();
+            if (page.size() < pageSize) {
+                LOGGER.info("Loaded {} revoked tokens", loaded);
+                return;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+    }
+
+    private void apply(String payload) {
+        for (String entry : payload.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator > 0) {
+                add(entry.substring(0, separator), Long.parseLong(entry.substring(separator + 1)));
+            }
+        }
+    }
+
+    private void add(String jti, long expiresAt) {
+        synchronized (lock) {
+            revoked.put(jti, expiresAt);
+            bloomFilter.put(jti);
+        }
+    }
+
+    private static SimpleDriverDataSource listenerDataSource(DataSourceProperties properties) {
+        return DataSourceBuilder.create(properties.getClassLoader())
+                .type(SimpleDriverDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(properties.determineUrl())
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,14 @@
+package com.kenacbank.authservice.services.interfaces;
+
+import com.kenacbank.authservice.models.response.GenericResponse;
+import org.springframework.http.ResponseEntity;
+
+public interface ClientBlacklistService {
+    boolean isFresh();
+
+    boolean isBlacklisted(Long userId);
+
+    ResponseEntity<GenericResponse> requestRefresh();
+
+    void refreshIfDue();
+}
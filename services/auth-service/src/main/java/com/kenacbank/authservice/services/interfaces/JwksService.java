@@ -0,0 +1,7 @@
+package com.kenacbank.authservice.services.interfaces;
+
+import org.springframework.http.ResponseEntity;
+
+public interface JwksService {
+    ResponseEntity<String> getJwks(String ifNoneMatch);
+}
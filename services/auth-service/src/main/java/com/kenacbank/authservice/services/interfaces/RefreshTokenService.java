@@ -0,0 +1,16 @@
+package com.kenacbank.authservice.services.interfaces;
+
+import com.kenacbank.authservice.models.dto.RefreshRotationDto;
+import com.kenacbank.authservice.models.entities.KenacUser;
+
+import java.util.Optional;
+
+public interface RefreshTokenService {
+    String startFamily(KenacUser user);
+
+    Optional<RefreshRotationDto> rotate(String refreshToken);
+
+    void revokeUserFamilies(Long userId);
+
+    void pruneExpired();
+}
@@ -0,0 +1,17 @@
+package com.kenacbank.authservice.services.interfaces;
+
+import com.kenacbank.authservice.models.entities.KenacUser;
+import com.kenacbank.authservice.models.entities.RegistrationSaga;
+import com.kenacbank.authservice.models.events.RegistrationStartedEvent;
+import com.kenacbank.authservice.models.response.GenericResponse;
+import org.springframework.http.ResponseEntity;
+
+public interface RegistrationSagaService {
+    RegistrationSaga startRegistration(KenacUser user);
+
+    ResponseEntity<GenericResponse> getRegistrationStatus(String sagaCode);
+
+    void onRegistrationStarted(RegistrationStartedEvent event);
+
+    void processDueSagas();
+}
@@ -0,0 +1,5 @@
+package com.kenacbank.authservice.services.interfaces;
+
+public interface TokenPurgeService {
+    int purgeExpiredTokens();
+}
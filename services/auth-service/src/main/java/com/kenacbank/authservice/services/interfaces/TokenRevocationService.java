@@ -0,0 +1,18 @@
+package com.kenacbank.authservice.services.interfaces;
+
+import com.kenacbank.authservice.models.events.TokensRevokedEvent;
+import com.kenacbank.authservice.models.response.RevocationFeedResponse;
+
+public interface TokenRevocationService {
+    boolean isReady();
+
+    boolean isRevoked(String jti);
+
+    void revokeUserTokens(Long userId);
+
+    RevocationFeedResponse getRevocations(Long since, long afterId);
+
+    void onTokensRevoked(TokensRevokedEvent event);
+
+    void pruneExpired();
+}
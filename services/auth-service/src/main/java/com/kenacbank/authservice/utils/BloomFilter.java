@@ -0,0 +1,79 @@
+package com.kenacbank.authservice.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size bloom filter over strings. {@link #mightContain(String)} never returns false
+ * for a value that was added, and returns true for a value that was not added with roughly
+ * the configured false positive rate, as long as no more than the expected number of
+ * values are added.
+ *
+ * <p>Adds and lookups are thread-safe and lock-free. Values cannot be removed; build a new
+ * filter to drop them.</p>
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and the false positive rate between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) ((Math.max(64, bits) + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = words.get(index);
+            } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with a mixing step so that similar
+     * values such as UUIDs spread over the whole range.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (value ^ (value >>> 33)) | 1L;
+    }
+}
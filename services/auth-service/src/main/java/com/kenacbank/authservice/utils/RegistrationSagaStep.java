@@ -0,0 +1,25 @@
+package com.kenacbank.authservice.utils;
+
+/**
+ * Steps of the registration saga. A registration moves forward through
+ * {@code CREATE_CLIENT} and {@code OPEN_ACCOUNTS} to {@code COMPLETED}; if a forward
+ * step keeps failing it is undone through {@code CLOSE_ACCOUNTS}, {@code DELETE_CLIENT}
+ * and {@code DELETE_USER} and ends as {@code FAILED}.
+ */
+public enum RegistrationSagaStep {
+    CREATE_CLIENT,
+    OPEN_ACCOUNTS,
+    COMPLETED,
+    CLOSE_ACCOUNTS,
+    DELETE_CLIENT,
+    DELETE_USER,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+
+    public boolean isCompensating() {
+        return this == CLOSE_ACCOUNTS || this == DELETE_CLIENT || this == DELETE_USER;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kenacbank.authservice.utils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+
+/**
+ * Generates an Ed25519 signing key pair and prints it as {@code AUTH_SIGNING_PRIVATE_KEY}
+ * and {@code AUTH_SIGNING_PUBLIC_KEY} lines, in the base64 DER form the signing key
+ * configuration expects. The output can be sourced as environment variables or loaded as
+ * a properties file.
+ *
+ * <p>Run from the built jar with
+ * {@code java -cp auth-service-0.0.1-SNAPSHOT.jar com.kenacbank.authservice.utils.SigningKeyGenerator}.</p>
+ */
+public final class SigningKeyGenerator {
+
+    private SigningKeyGenerator() {
+    }
+
+    public static void main(String[] args) throws GeneralSecurityException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        Base64.Encoder encoder = Base64.getEncoder();
+        System.out.println("AUTH_SIGNING_PRIVATE_KEY=" + encoder.encodeToString(keyPair.getPrivate().getEncoded()));
+        System.out.println("AUTH_SIGNING_PUBLIC_KEY=" + encoder.encodeToString(keyPair.getPublic().getEncoded()));
+    }
+}
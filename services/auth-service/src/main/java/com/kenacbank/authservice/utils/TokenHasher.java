@@ -0,0 +1,23 @@
+package com.kenacbank.authservice.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes tokens for storage. Tokens are stored and looked up by their SHA-256 digest, a
+ * fixed 32 bytes, rather than by the full JWT.
+ */
+public final class TokenHasher {
+
+    private TokenHasher() {
+    }
+
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Hibernate created the saga step column with a check listing the steps at the time, and does not
+-- update it. Drop it so sagas can be saved at CLOSE_ACCOUNTS; the enum mapping bounds the values.
+ALTER TABLE registration_sagas DROP CONSTRAINT IF EXISTS registration_sagas_step_check;
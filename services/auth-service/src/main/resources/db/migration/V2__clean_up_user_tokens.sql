@@ -0,0 +1,41 @@
+-- One-off clean-up of user_tokens, which used to hold every token issued in full.
+
+-- A JWT's expiry, or null when it cannot be read.
+CREATE FUNCTION pg_temp.jwt_expiry(token text) RETURNS timestamp LANGUAGE plpgsql AS $$
+DECLARE
+    payload text := translate(split_part(token, '.', 2), '-_', '+/');
+BEGIN
+    payload := rpad(payload, (length(payload) + 3) / 4 * 4, '=');
+    RETURN to_timestamp((convert_from(decode(payload, 'base64'), 'UTF8')::json ->> 'exp')::bigint);
+EXCEPTION WHEN others THEN
+    RETURN null;
+END $$;
+
+-- Tokens stored in full keep working by their hash. They expire with the token itself, or
+-- after the longest token lifetime when that cannot be read.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns WHERE table_name = 'user_tokens' AND column_name = 'token') THEN
+        UPDATE user_tokens SET token_hash = sha256(convert_to(token, 'UTF8')) WHERE token_hash IS NULL AND token IS NOT NULL;
+        UPDATE user_tokens SET expires_at = coalesce(pg_temp.jwt_expiry(token), now() + interval '7 days')
+        WHERE expires_at IS NULL;
+        ALTER TABLE user_tokens DROP COLUMN token;
+    END IF;
+END $$;
+
+-- An expired token is rejected whether or not it was revoked, so its row is of no further use.
+-- Revoked tokens that have not expired stay, as the revocation feed lists them until they do.
+DELETE FROM user_tokens WHERE expires_at < now();
+
+-- Token IDs are unique again. Of any duplicates, a revoked copy wins, then the newest.
+DELETE FROM user_tokens t
+USING user_tokens other
+WHERE other.jti = t.jti
+  AND (other.revoked, other.id) > (t.revoked, t.id);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_user_tokens_jti') THEN
+        ALTER TABLE user_tokens ADD CONSTRAINT uk_user_tokens_jti UNIQUE (jti);
+    END IF;
+END $$;
@@ -0,0 +1,150 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.config.services.JwtService;
+import com.kenacbank.authservice.config.services.VerifiedToken;
+import com.kenacbank.authservice.models.dto.RefreshRotationDto;
+import com.kenacbank.authservice.models.entities.KenacUser;
+import com.kenacbank.authservice.models.entities.RefreshTokenFamily;
+import com.kenacbank.authservice.repositories.RefreshTokenFamilyRepository;
+import com.kenacbank.authservice.services.interfaces.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTests {
+
+    private static final long USER_ID = 7L;
+    private static final String FAMILY_ID = "family-1";
+
+    private final RefreshTokenFamilyRepository familyRepository = mock(RefreshTokenFamilyRepository.class);
+    private final JwtService jwtService = mock(JwtService.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RefreshTokenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenServiceImpl(familyRepository, jwtService, tokenRevocationService, meterRegistry,
+                7 * 24 * 3600 * 1000L);
+        ReflectionTestUtils.setField(service, "maxCachedFamilies", 100);
+        when(familyRepository.save(any(RefreshTokenFamily.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void rotatesTheCurrentGeneration() {
+        String familyId = service.startFamily(KenacUser.builder().id(USER_ID).build());
+        presenting("current", familyId, 0);
+        when(familyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(1);
+
+        Optional<RefreshRotationDto> rotation = service.rotate("current");
+
+        assertThat(rotation).contains(new RefreshRotationDto("alice", familyId, 1));
+        assertThat(outcome("ROTATED")).isEqualTo(1);
+    }
+
+    @Test
+    void revokesTheFamilyAndAccessTokensWhenAnEarlierGenerationIsReplayed() {
+        String familyId = service.startFamily(KenacUser.builder().id(USER_ID).build());
+        presenting("first", familyId, 0);
+        when(familyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(1);
+        service.rotate("first");
+
+        Optional<RefreshRotationDto> replay = service.rotate("first");
+
+        assertThat(replay).isEmpty();
+        assertThat(outcome("REUSED")).isEqualTo(1);
+        verify(familyRepository).revokeFamily(familyId);
+        verify(tokenRevocationService).revokeUserTokens(USER_ID);
+        // Judged from memory, without another conditional update
+        verify(familyRepository, times(1)).rotate(anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void rejectsTheLatestGenerationOnceTheFamilyIsRevokedForReuse() {
+        String familyId = service.startFamily(KenacUser.builder().id(USER_ID).build());
+        presenting("first", familyId, 0);
+        presenting("second", familyId, 1);
+        when(familyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(1);
+        service.rotate("first");
+        service.rotate("first");
+
+        assertThat(service.rotate("second")).isEmpty();
+        assertThat(outcome("REVOKED")).isEqualTo(1);
+        verify(familyRepository, never()).rotate(eq(familyId), eq(1), any(), any());
+    }
+
+    @Test
+    void detectsReuseFromTheDatabaseWhenTheFamilyIsNotHeldInMemory() {
+        presenting("stale", FAMILY_ID, 1);
+        when(familyRepository.rotate(eq(FAMILY_ID), eq(1), any(), any())).thenReturn(0);
+        when(familyRepository.findByFamilyId(FAMILY_ID)).thenReturn(Optional.of(family(3, false)));
+
+        assertThat(service.rotate("stale")).isEmpty();
+
+        assertThat(outcome("REUSED")).isEqualTo(1);
+        verify(familyRepository).revokeFamily(FAMILY_ID);
+        verify(tokenRevocationService).revokeUserTokens(USER_ID);
+    }
+
+    @Test
+    void rejectsARevokedFamilyWithoutRevokingAgain() {
+        presenting("current", FAMILY_ID, 2);
+        when(familyRepository.rotate(eq(FAMILY_ID), eq(2), any(), any())).thenReturn(0);
+        when(familyRepository.findByFamilyId(FAMILY_ID)).thenReturn(Optional.of(family(2, true)));
+
+        assertThat(service.rotate("current")).isEmpty();
+
+        assertThat(outcome("REVOKED")).isEqualTo(1);
+        verify(familyRepository, never()).revokeFamily(anyString());
+        verify(tokenRevocationService, never()).revokeUserTokens(any());
+    }
+
+    @Test
+    void rejectsAccessTokensPresentedForRefresh() {
+        when(jwtService.verify("access")).thenReturn(new VerifiedToken("access", "jti", "alice", null, null,
+                Map.of(JwtService.TOKEN_TYPE_CLAIM, JwtService.ACCESS_TOKEN)));
+
+        assertThat(service.rotate("access")).isEmpty();
+
+        assertThat(outcome("INVALID")).isEqualTo(1);
+        verify(familyRepository, never()).rotate(anyString(), anyInt(), any(), any());
+    }
+
+    private void presenting(String token, String familyId, int generation) {
+        when(jwtService.verify(token)).thenReturn(new VerifiedToken(token, token + "-jti", "alice", null, null, Map.of(
+                JwtService.TOKEN_TYPE_CLAIM, JwtService.REFRESH_TOKEN,
+                JwtService.FAMILY_CLAIM, familyId,
+                JwtService.GENERATION_CLAIM, generation)));
+    }
+
+    private static RefreshTokenFamily family(int generation, boolean revoked) {
+        return RefreshTokenFamily.builder()
+                .familyId(FAMILY_ID)
+                .userId(USER_ID)
+                .generation(generation)
+                .revoked(revoked)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("kenac.auth.refreshes").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,159 @@
+package com.kenacbank.authservice.services.impl;
+
+import com.kenacbank.authservice.banking_account.BankingAccountClient;
+import com.kenacbank.authservice.client_user.ClientUserClient;
+import com.kenacbank.authservice.models.entities.KenacUser;
+import com.kenacbank.authservice.models.entities.RegistrationSaga;
+import com.kenacbank.authservice.models.events.RegistrationStartedEvent;
+import com.kenacbank.authservice.models.response.GenericResponse;
+import com.kenacbank.authservice.repositories.KenacUserRepository;
+import com.kenacbank.authservice.repositories.RegistrationSagaRepository;
+import com.kenacbank.authservice.utils.RegistrationSagaStep;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationSagaServiceImplTests {
+
+    private static final long SAGA_ID = 1L;
+    private static final long USER_ID = 10L;
+    private static final long CLIENT_ID = 20L;
+
+    private final RegistrationSagaRepository sagaRepository = mock(RegistrationSagaRepository.class);
+    private final KenacUserRepository userRepository = mock(KenacUserRepository.class);
+    private final ClientUserClient userClient = mock(ClientUserClient.class);
+    private final BankingAccountClient bankingClient = mock(BankingAccountClient.class);
+    private final KenacUser user = KenacUser.builder().id(USER_ID).name("Ada").surname("Lovelace").email("ada@example.com").enabled(false).build();
+    private RegistrationSagaServiceImpl service;
+    private RegistrationSaga saga;
+
+    @BeforeEach
+    void setUp() {
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        service = new RegistrationSagaServiceImpl(sagaRepository, userRepository, userClient, bankingClient,
+                mock(ApplicationEventPublisher.class), mock(TransactionTemplate.class), executor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "leaseMs", 120_000L);
+        ReflectionTestUtils.setField(service, "maxAttempts", 2);
+        ReflectionTestUtils.setField(service, "initialBackoffMs", 1_000L);
+        ReflectionTestUtils.setField(service, "maxBackoffMs", 300_000L);
+
+        saga = RegistrationSaga.builder()
+                .id(SAGA_ID)
+                .sagaCode("saga-1")
+                .userId(USER_ID)
+                .step(RegistrationSagaStep.CREATE_CLIENT)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(sagaRepository.findById(SAGA_ID)).thenAnswer(invocation -> Optional.of(saga));
+        when(sagaRepository.save(any(RegistrationSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userClient.createClient(any())).thenReturn(success(Map.of("id", CLIENT_ID)));
+        when(bankingClient.openClientAccounts(any())).thenReturn(success(null));
+        when(bankingClient.closeClientAccounts(anyLong())).thenReturn(success(null));
+        when(userClient.deleteClient(anyLong())).thenReturn(success(null));
+    }
+
+    @Test
+    void completesTheRegistrationAndEnablesTheUser() {
+        run();
+
+        assertThat(saga.getStep()).isEqualTo(RegistrationSagaStep.COMPLETED);
+        assertThat(saga.getClientId()).isEqualTo(CLIENT_ID);
+        assertThat(saga.getNextAttemptAt()).isNull();
+        assertThat(user.isEnabled()).isTrue();
+    }
+
+    @Test
+    void retriesAFailedStepWithBackoffBeforeGivingUp() {
+        when(bankingClient.openClientAccounts(any())).thenReturn(Optional.empty());
+
+        LocalDateTime before = LocalDateTime.now();
+        run();
+
+        assertThat(saga.getStep()).isEqualTo(RegistrationSagaStep.OPEN_ACCOUNTS);
+        assertThat(saga.getAttempts()).isEqualTo(1);
+        assertThat(saga.getLastError()).isEqualTo("Banking service did not open the accounts");
+        assertThat(saga.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+    }
+
+    @Test
+    void undoesEveryStepInReverseWhenOpeningAccountsKeepsFailing() {
+        when(bankingClient.openClientAccounts(any())).thenReturn(Optional.empty());
+        run();
+
+        run();
+        assertThat(saga.getStep()).isEqualTo(RegistrationSagaStep.CLOSE_ACCOUNTS);
+        assertThat(saga.getAttempts()).isZero();
+
+        run();
+        assertThat(saga.getStep()).isEqualTo(RegistrationSagaStep.FAILED);
+        InOrder compensation = inOrder(bankingClient, userClient, userRepository);
+        compensation.verify(bankingClient).closeClientAccounts(CLIENT_ID);
+        compensation.verify(userClient).deleteClient(USER_ID);
+        compensation.verify(userRepository).deleteById(USER_ID);
+        assertThat(user.isEnabled()).isFalse();
+    }
+
+    @Test
+    void skipsClosingAccountsWhenTheClientWasNeverCreated() {
+        when(userClient.createClient(any())).thenReturn(Optional.empty());
+        run();
+        run();
+
+        assertThat(saga.getStep()).isEqualTo(RegistrationSagaStep.DELETE_CLIENT);
+
+        run();
+        assertThat(saga.getStep()).isEqualTo(RegistrationSagaStep.FAILED);
+        verify(bankingClient, never()).closeClientAccounts(anyLong());
+        verify(userRepository).deleteById(USER_ID);
+    }
+
+    @Test
+    void keepsRetryingCompensationPastTheAttemptLimit() {
+        when(bankingClient.openClientAccounts(any())).thenReturn(Optional.empty());
+        when(bankingClient.closeClientAccounts(anyLong())).thenReturn(Optional.empty());
+        run();
+        run();
+
+        for (int i = 0; i < 5; i++) {
+            run();
+        }
+
+        assertThat(saga.getStep()).isEqualTo(RegistrationSagaStep.CLOSE_ACCOUNTS);
+        assertThat(saga.getAttempts()).isEqualTo(5);
+        verify(userClient, never()).deleteClient(anyLong());
+        verify(userRepository, never()).deleteById(anyLong());
+    }
+
+    private void run() {
+        service.onRegistrationStarted(new RegistrationStartedEvent(SAGA_ID));
+    }
+
+    private static Optional<GenericResponse> success(Object data) {
+        return Optional.of(new GenericResponse("OK", data));
+    }
+}
@@ -0,0 +1,76 @@
+package com.kenacbank.authservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTests {
+
+    @Test
+    void neverMissesAnAddedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> values = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        values.forEach(filter::put);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("jti-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void sizesTheBitArrayFromTheExpectedInsertionsAndRate() {
+        // 9,586 bits for 1,000 values at 1%, rounded up to whole 64-bit words
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertThat(filter.bitCount()).isEqualTo(9_600);
+        assertThat(new BloomFilter(1, 0.5).bitCount()).isEqualTo(64);
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsEveryValueAddedConcurrently() throws Exception {
+        BloomFilter filter = new BloomFilter(80_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread * 10_000;
+                writers.add(executor.submit(() -> IntStream.range(offset, offset + 10_000)
+                        .forEach(i -> filter.put("value-" + i))));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(IntStream.range(0, 80_000)).allMatch(i -> filter.mightContain("value-" + i));
+    }
+}
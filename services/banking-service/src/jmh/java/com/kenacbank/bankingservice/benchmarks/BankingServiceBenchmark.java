@@ -0,0 +1,93 @@
+package com.kenacbank.bankingservice.benchmarks;
+
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.ClientBalance;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.models.requests.OpenAccountRequest;
+import com.kenacbank.bankingservice.models.requests.OpenAccountsRequest;
+import com.kenacbank.bankingservice.repositories.BankAccountRepository;
+import com.kenacbank.bankingservice.repositories.ClientBalanceRepository;
+import com.kenacbank.bankingservice.services.impl.BankingServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Measures balance formatting in {@code getClientAccountBalances} and account number
+ * generation when opening a batch of accounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankingServiceBenchmark {
+
+    @Param({"2", "10", "50"})
+    private int accountCount;
+
+    private BankingServiceImpl bankingService;
+    private OpenAccountsRequest openAccountsRequest;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<ClientBalance> balances = BenchmarkFixtures.balances(accountCount);
+        AtomicLong sequence = new AtomicLong(1_000_000L);
+
+        ClientBalanceRepository clientBalanceRepository = BenchmarkFixtures.stub(ClientBalanceRepository.class, Map.of(
+                "findByClientId", args -> balances));
+        BankAccountRepository bankAccountRepository = BenchmarkFixtures.stub(BankAccountRepository.class, Map.of(
+                "nextAccountNumberValues", args -> {
+                    int count = (Integer) args[0];
+                    List<Long> values = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        values.add(sequence.incrementAndGet());
+                    }
+                    return values;
+                },
+                "saveAll", (Function<Object[], Object>) args -> {
+                    List<BankAccount> accounts = new ArrayList<>((List<BankAccount>) args[0]);
+                    for (BankAccount account : accounts) {
+                        account.setId(sequence.get());
+                    }
+                    return accounts;
+                }));
+
+        // Runs the callback directly, as there is no database to begin a transaction on
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(new SimpleTransactionStatus());
+            }
+        };
+        bankingService = new BankingServiceImpl(bankAccountRepository, clientBalanceRepository, event -> { },
+                transactionTemplate);
+
+        List<OpenAccountRequest> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(new OpenAccountRequest(1L, "CURRENT", i % 2 == 0 ? "USD" : "ZWG", 0.0));
+        }
+        openAccountsRequest = new OpenAccountsRequest(1L, accounts, false);
+    }
+
+    @Benchmark
+    public ResponseEntity<GenericResponse> formatClientAccountBalances() {
+        return bankingService.getClientAccountBalances(1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<GenericResponse> openAccountsWithGeneratedNumbers() {
+        return bankingService.openClientAccounts(openAccountsRequest);
+    }
+}
@@ -0,0 +1,93 @@
+package com.kenacbank.bankingservice.benchmarks;
+
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.models.entities.ClientBalance;
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+import com.kenacbank.bankingservice.utils.BankAccountType;
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.TransactionStatus;
+import com.kenacbank.bankingservice.utils.TransactionType;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Test data and repository stand-ins shared by the benchmarks. Repositories are replaced
+ * with proxies answering only the methods a benchmarked path calls, so the measurements
+ * cover the service code rather than a database or a mocking framework.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException("Not stubbed: " + method.getName());
+            }
+            return answer.apply(args);
+        }));
+    }
+
+    static BankAccount account(long id, Currency currency) {
+        return BankAccount
+                .builder()
+                .id(id)
+                .accountNumber(String.format("KENAC_%012d", id))
+                .clientId(id / 2 + 1)
+                .accountType(BankAccountType.CURRENT)
+                .balance(25_000.00)
+                .currency(currency)
+                .status(BankAccountStatus.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    static List<BankTransaction> transactions(int count) {
+        List<BankTransaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BankAccount account = account(i % 500 + 1L, i % 2 == 0 ? Currency.USD : Currency.ZWG);
+            transactions.add(BankTransaction
+                    .builder()
+                    .id((long) i + 1)
+                    .transactionCode(UUID.randomUUID().toString())
+                    .reference("REF" + i)
+                    .transactionType(i % 3 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT)
+                    .currency(account.getCurrency())
+                    .bankAccount(account)
+                    .status(TransactionStatus.COMPLETED)
+                    .createdAt(LocalDateTime.now().minusMinutes(i))
+                    .amount(10.0 + (i % 1000) * 1.25)
+                    .description("POS purchase at merchant " + (i % 250) + " ref " + i)
+                    .build());
+        }
+        return transactions;
+    }
+
+    static List<ClientBalance> balances(int count) {
+        List<ClientBalance> balances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BankAccount account = account(i + 1L, i % 2 == 0 ? Currency.USD : Currency.ZWG);
+            balances.add(ClientBalance
+                    .builder()
+                    .accountId(account.getId())
+                    .clientId(1L)
+                    .accountNumber(account.getAccountNumber())
+                    .accountType(account.getAccountType())
+                    .currency(account.getCurrency())
+                    .status(account.getStatus())
+                    .balance(1_234.56 * (i + 1))
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        return balances;
+    }
+}
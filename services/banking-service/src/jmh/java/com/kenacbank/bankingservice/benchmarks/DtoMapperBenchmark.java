@@ -0,0 +1,39 @@
+package com.kenacbank.bankingservice.benchmarks;
+
+import com.kenacbank.bankingservice.models.dto.TransactionDto;
+import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping a page of transactions to DTOs, as done by the transaction listing,
+ * search and change feed endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int transactionCount;
+
+    private DtoMapper dtoMapper;
+    private List<BankTransaction> transactions;
+
+    @Setup
+    public void setUp() {
+        dtoMapper = new DtoMapper();
+        transactions = BenchmarkFixtures.transactions(transactionCount);
+    }
+
+    @Benchmark
+    public List<TransactionDto> mapToTransactionDtos() {
+        return transactions.stream().map(dtoMapper::mapToTransactionDto).toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.kenacbank.bankingservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kenacbank.bankingservice.models.dto.TransactionDto;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of a {@link GenericResponse} carrying a list of transactions,
+ * using an ObjectMapper configured the way Spring Boot configures the MVC one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericResponseSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int transactionCount;
+
+    private ObjectMapper objectMapper;
+    private GenericResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        DtoMapper dtoMapper = new DtoMapper();
+        List<TransactionDto> transactions = BenchmarkFixtures.transactions(transactionCount)
+                .stream().map(dtoMapper::mapToTransactionDto).toList();
+        response = new GenericResponse("Transactions retrieved successfully", transactions);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,72 @@
+package com.kenacbank.bankingservice.benchmarks;
+
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.models.requests.NewTransactionRequest;
+import com.kenacbank.bankingservice.repositories.BankAccountRepository;
+import com.kenacbank.bankingservice.repositories.BankTransactionRepository;
+import com.kenacbank.bankingservice.services.impl.TransactionServiceImpl;
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures {@code createTransaction} request validation, transaction building and event
+ * publication, with the account lookup and save answered from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    private TransactionServiceImpl transactionService;
+    private NewTransactionRequest deposit;
+    private NewTransactionRequest withdrawal;
+    private NewTransactionRequest invalid;
+
+    @Setup
+    public void setUp() {
+        BankAccount account = BenchmarkFixtures.account(1L, Currency.USD);
+
+        BankAccountRepository accountRepository = BenchmarkFixtures.stub(BankAccountRepository.class, Map.of(
+                "findByAccountNumber", args -> Optional.of(account)));
+        BankTransactionRepository transactionRepository = BenchmarkFixtures.stub(BankTransactionRepository.class, Map.of(
+                "save", (Function<Object[], Object>) args -> {
+                    BankTransaction transaction = (BankTransaction) args[0];
+                    transaction.setId(1L);
+                    return transaction;
+                }));
+
+        transactionService = new TransactionServiceImpl(transactionRepository, accountRepository, new DtoMapper(),
+                event -> { }, null);
+
+        deposit = new NewTransactionRequest(account.getAccountNumber(), "deposit", 150.75, "Salary credit", "USD");
+        withdrawal = new NewTransactionRequest(account.getAccountNumber(), "WITHDRAWAL", 42.10, "ATM withdrawal", "USD");
+        invalid = new NewTransactionRequest(account.getAccountNumber(), "DEPOSIT", -1.0, "Invalid amount", "USD");
+    }
+
+    @Benchmark
+    public ResponseEntity<GenericResponse> createDeposit() {
+        return transactionService.createTransaction(deposit);
+    }
+
+    @Benchmark
+    public ResponseEntity<GenericResponse> createWithdrawal() {
+        return transactionService.createTransaction(withdrawal);
+    }
+
+    @Benchmark
+    public ResponseEntity<GenericResponse> rejectInvalidRequest() {
+        return transactionService.createTransaction(invalid);
+    }
+}
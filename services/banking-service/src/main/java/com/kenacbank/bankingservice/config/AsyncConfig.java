@@ -0,0 +1,79 @@
+package com.kenacbank.bankingservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Executor that applies account and posting events to the balance read model.
+     * The queue is bounded and overflow runs on the publishing thread, so a backlog
+     * slows the posting path down instead of letting projection lag grow without limit.
+     */
+    @Bean(name = "projectionExecutor")
+    public ThreadPoolTaskExecutor projectionExecutor(
+            @Value("${application.projection.pool-size:4}") int poolSize,
+            @Value("${application.projection.queue-capacity:10000}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("balance-projection-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+
+        Gauge.builder("banking.balances.projection.backlog", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Events waiting to be applied to the balance read model")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Executor that writes balance events and heartbeats to open SSE connections, so a slow
+     * client never holds up the projection thread that published the change. Overflow is
+     * rejected rather than run on the publishing thread, and the stream service closes the
+     * connection that could not be scheduled so its client reconnects and catches up.
+     */
+    @Bean(name = "streamExecutor")
+    public ThreadPoolTaskExecutor streamExecutor(
+            @Value("${application.balance-stream.pool-size:4}") int poolSize,
+            @Value("${application.balance-stream.queue-capacity:50000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("balance-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that re-checks parked change feed consumers after a posting commits. A single
+     * pending check covers every posting that commits before it runs, so further requests are
+     * dropped rather than queued, and never run on the posting thread.
+     */
+    @Bean(name = "changeFeedExecutor")
+    public ThreadPoolTaskExecutor changeFeedExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("change-feed-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kenacbank.bankingservice.config;
+
+import com.kenacbank.common.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times banking-service's service calls.
+ */
+@Aspect
+@Component
+public class BankingMetricsAspect extends ServiceMetricsAspect {
+
+    public BankingMetricsAspect(MeterRegistry meterRegistry) {
+        super(meterRegistry, "com.kenacbank.bankingservice.services.interfaces");
+    }
+
+    @Override
+    @Pointcut("execution(public * com.kenacbank.bankingservice.services.interfaces.*.*(..))")
+    public void serviceCall() {
+    }
+}
@@ -3,11 +3,23 @@ package com.kenacbank.bankingservice.controllers;
 import com.kenacbank.bankingservice.models.reponses.GenericResponse;
 import com.kenacbank.bankingservice.models.requests.NewTransactionRequest;
 import com.kenacbank.bankingservice.models.requests.OpenAccountRequest;
+import com.kenacbank.bankingservice.models.requests.OpenAccountsRequest;
+import com.kenacbank.bankingservice.models.requests.StandingOrderRequest;
+import com.kenacbank.bankingservice.services.interfaces.AnalyticsService;
+import com.kenacbank.bankingservice.services.interfaces.BalanceStreamService;
 import com.kenacbank.bankingservice.services.interfaces.BankingService;
+import com.kenacbank.bankingservice.services.interfaces.ChangeFeedService;
+import com.kenacbank.bankingservice.services.interfaces.StandingOrderService;
 import com.kenacbank.bankingservice.services.interfaces.TransactionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/banking")
@@ -16,6 +28,10 @@ public class BankingController {
 
     private final BankingService bankingService;
     private final TransactionService transactionService;
+    private final AnalyticsService analyticsService;
+    private final ChangeFeedService changeFeedService;
+    private final BalanceStreamService balanceStreamService;
+    private final StandingOrderService standingOrderService;
 
 
     @PostMapping("/open-account")
@@ -23,6 +39,16 @@ public class BankingController {
         return bankingService.openClientAccount(request);
     }
 
+    @PostMapping("/open-accounts")
+    public ResponseEntity<GenericResponse> openClientAccounts(@RequestBody OpenAccountsRequest request) {
+        return bankingService.openClientAccounts(request);
+    }
+
+    @PutMapping("/close-accounts/{clientId}")
+    public ResponseEntity<GenericResponse> closeClientAccounts(@PathVariable Long clientId) {
+        return bankingService.closeClientAccounts(clientId);
+    }
+
     @PutMapping("/approve-account/{accountNumber}")
     public ResponseEntity<GenericResponse> approveAccount(@PathVariable String accountNumber) {
         return bankingService.approveAccount(accountNumber);
@@ -33,6 +59,12 @@ public class BankingController {
         return bankingService.getClientAccountBalances(clientId);
     }
 
+    @GetMapping(value = "/accounts/{clientId}/balances/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClientBalances(@PathVariable Long clientId,
+                                           @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return balanceStreamService.streamClientBalances(clientId, lastEventId);
+    }
+
     @PostMapping("/transactions")
     public ResponseEntity<GenericResponse> createTransaction(@RequestBody NewTransactionRequest request) {
         return transactionService.createTransaction(request);
@@ -43,4 +75,51 @@ public class BankingController {
     public ResponseEntity<GenericResponse> getAllTransactions() {
         return transactionService.getAllTransactions();
     }
+
+    @GetMapping("/transactions/search")
+    public ResponseEntity<GenericResponse> searchTransactions(
+            @RequestParam String q,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        return transactionService.searchTransactions(q, accountNumber, from, to, minAmount, maxAmount, before, limit);
+    }
+
+    @GetMapping("/transactions/changes")
+    public DeferredResult<ResponseEntity<GenericResponse>> getTransactionChanges(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String wait,
+            @RequestParam(required = false) Integer limit) {
+        return changeFeedService.getTransactionChanges(after, wait, limit);
+    }
+
+    @GetMapping("/analytics/rollups")
+    public ResponseEntity<GenericResponse> getTransactionRollups(
+            @RequestParam String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String transactionType,
+            @RequestParam(required = false) String status) {
+        return analyticsService.getTransactionRollups(granularity, from, to, currency, transactionType, status);
+    }
+
+    @PostMapping("/standing-orders")
+    public ResponseEntity<GenericResponse> createStandingOrder(@RequestBody StandingOrderRequest request) {
+        return standingOrderService.createStandingOrder(request);
+    }
+
+    @GetMapping("/standing-orders")
+    public ResponseEntity<GenericResponse> getStandingOrders(@RequestParam String accountNumber) {
+        return standingOrderService.getStandingOrders(accountNumber);
+    }
+
+    @PutMapping("/standing-orders/{orderCode}/cancel")
+    public ResponseEntity<GenericResponse> cancelStandingOrder(@PathVariable String orderCode) {
+        return standingOrderService.cancelStandingOrder(orderCode);
+    }
 }
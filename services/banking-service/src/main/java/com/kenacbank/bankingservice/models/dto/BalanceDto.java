@@ -0,0 +1,20 @@
+package com.kenacbank.bankingservice.models.dto;
+
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+import com.kenacbank.bankingservice.utils.Currency;
+
+import java.time.LocalDateTime;
+
+/**
+ * An account's balance as held by the read model. The version grows with every change to
+ * the account, so of two copies the one with the higher version is the newer.
+ */
+public record BalanceDto(
+        String accountNumber,
+        Currency currency,
+        Double balance,
+        BankAccountStatus status,
+        LocalDateTime updatedAt,
+        Long version
+) {
+}
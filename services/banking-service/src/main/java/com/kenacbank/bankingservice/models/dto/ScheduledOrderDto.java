@@ -0,0 +1,9 @@
+package com.kenacbank.bankingservice.models.dto;
+
+import java.time.LocalDateTime;
+
+public record ScheduledOrderDto(
+        Long id,
+        LocalDateTime nextRunAt
+) {
+}
@@ -0,0 +1,21 @@
+package com.kenacbank.bankingservice.models.dto;
+
+import java.time.LocalDateTime;
+
+public record StandingOrderDto(
+        String orderCode,
+        String accountNumber,
+        String beneficiaryAccountNumber,
+        Double amount,
+        String currencyCode,
+        String description,
+        String frequency,
+        String status,
+        LocalDateTime nextRunAt,
+        LocalDateTime endAt,
+        LocalDateTime lastRunAt,
+        Integer failureCount,
+        String lastError,
+        LocalDateTime retryAt
+) {
+}
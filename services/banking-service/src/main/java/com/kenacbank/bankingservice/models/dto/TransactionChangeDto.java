@@ -0,0 +1,21 @@
+package com.kenacbank.bankingservice.models.dto;
+
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.TransactionStatus;
+import com.kenacbank.bankingservice.utils.TransactionType;
+
+import java.time.LocalDateTime;
+
+public record TransactionChangeDto(
+        String cursor,
+        String transactionCode,
+        String accountNumber,
+        TransactionType transactionType,
+        TransactionStatus status,
+        Double amount,
+        Currency currencyCode,
+        String description,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,9 @@
+package com.kenacbank.bankingservice.models.dto;
+
+import java.util.List;
+
+public record TransactionChangesResult(
+        List<TransactionChangeDto> changes,
+        String nextCursor
+) {
+}
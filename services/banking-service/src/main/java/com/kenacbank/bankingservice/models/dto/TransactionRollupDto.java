@@ -0,0 +1,19 @@
+package com.kenacbank.bankingservice.models.dto;
+
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.RollupGranularity;
+import com.kenacbank.bankingservice.utils.TransactionStatus;
+import com.kenacbank.bankingservice.utils.TransactionType;
+
+import java.time.LocalDateTime;
+
+public record TransactionRollupDto(
+        RollupGranularity granularity,
+        LocalDateTime bucketStart,
+        Currency currency,
+        TransactionType transactionType,
+        TransactionStatus status,
+        Long transactionCount,
+        Double totalAmount
+) {
+}
@@ -0,0 +1,10 @@
+package com.kenacbank.bankingservice.models.dto;
+
+import java.util.List;
+
+public record TransactionSearchResult(
+        List<TransactionDto> transactions,
+        Long nextCursor,
+        boolean partial
+) {
+}
@@ -6,6 +6,7 @@ import com.kenacbank.bankingservice.utils.BankAccountType;
 import com.kenacbank.bankingservice.utils.Currency;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -17,6 +18,13 @@ import java.time.LocalDateTime;
  *
  * <p>Includes metadata such as creation and update timestamps, and the ID of the
  * approver. Utilizes JPA annotations for ORM mapping</p>
+ *
+ * <p>The balance is the source of truth for the funds available in the account. Every
+ * posting moves it in the same database transaction that records the posting, and a
+ * withdrawal is taken when it is made, while still pending. The version is bumped by every
+ * change to the row, so the balances read model can tell which copy of it is newer. As
+ * the balance changes with every posting, accounts are not kept in the second-level
+ * cache.</p>
  */
 @Entity
 @Table(name = "bank_accounts")
@@ -45,5 +53,9 @@ public class BankAccount {
     private LocalDateTime updatedAt;
     private LocalDateTime closedAt;
     private Long approvedBy;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
 }
@@ -17,6 +17,9 @@ import java.time.LocalDateTime;
  * includes details such as transaction code, reference, type, currency, associated
  * bank account, status, timestamps, and amount.</p>
  *
+ * <p>The change transaction ID and sequence are stamped by a database trigger on every
+ * insert and update, and together form the change feed cursor.</p>
+ *
  * <p>Annotations are used to define the entity's properties, including ID generation,
  * column constraints, and relationships with other entities.</p>
  */
@@ -48,5 +51,9 @@ public class BankTransaction {
     private LocalDateTime updatedAt;
     private Double amount;
     private String description;
+    @Column(insertable = false, updatable = false)
+    private Long changeTxid;
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
 
 }
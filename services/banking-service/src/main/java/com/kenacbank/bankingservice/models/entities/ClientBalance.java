@@ -0,0 +1,51 @@
+package com.kenacbank.bankingservice.models.entities;
+
+
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+import com.kenacbank.bankingservice.utils.BankAccountType;
+import com.kenacbank.bankingservice.utils.Currency;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Denormalized read model of a client's account balances. This entity is mapped to the
+ * "client_balances" table and holds one row per bank account, keyed by the account ID.
+ *
+ * <p>Rows are written only by the balance projector from account and posting events, so
+ * balance reads never touch the "bank_accounts" rows that the posting path is updating.
+ * Each row is a copy of its account's row at the recorded account version.</p>
+ */
+@Entity
+@Table(name = "client_balances", indexes = {
+        @Index(name = "idx_client_balances_client_id", columnList = "clientId")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class ClientBalance {
+    @Id
+    private Long accountId;
+    @Column(nullable = false)
+    private Long clientId;
+    @Column(nullable = false, unique = true)
+    private String accountNumber;
+    @Enumerated(EnumType.STRING)
+    private BankAccountType accountType;
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+    @Enumerated(EnumType.STRING)
+    private BankAccountStatus status;
+    @Column(nullable = false)
+    private Double balance;
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long accountVersion;
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,65 @@
+package com.kenacbank.bankingservice.models.entities;
+
+
+import com.kenacbank.bankingservice.utils.StandingOrderFrequency;
+import com.kenacbank.bankingservice.utils.StandingOrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Represents a recurring payment from a bank account. This entity is mapped to the
+ * "standing_orders" table in the database.
+ *
+ * <p>Each run withdraws the amount from the source account and, when a beneficiary
+ * account is set, deposits it there. {@code nextRunAt} is the next occurrence still to
+ * be executed; it moves forward by one period each time an occurrence runs, until the
+ * order passes its end date or is cancelled. After a failed run the occurrence stays due,
+ * and {@code retryAt} holds it back until the failure's backoff has passed.</p>
+ */
+@Entity
+@Table(name = "standing_orders", indexes = {
+        @Index(name = "idx_standing_orders_due", columnList = "status, nextRunAt"),
+        @Index(name = "idx_standing_orders_account", columnList = "accountNumber")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class StandingOrder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, unique = true)
+    private String orderCode;
+    @Column(nullable = false)
+    private String accountNumber;
+    private String beneficiaryAccountNumber;
+    @Column(nullable = false)
+    private Double amount;
+    @Column(nullable = false)
+    private String currencyCode;
+    private String description;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StandingOrderFrequency frequency;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StandingOrderStatus status;
+    @Column(nullable = false)
+    private LocalDateTime startAt;
+    @Column(nullable = false)
+    private LocalDateTime nextRunAt;
+    private LocalDateTime endAt;
+    private LocalDateTime lastRunAt;
+    @Column(nullable = false)
+    private Integer failureCount;
+    private String lastError;
+    private LocalDateTime retryAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+}
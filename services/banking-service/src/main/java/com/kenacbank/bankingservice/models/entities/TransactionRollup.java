@@ -0,0 +1,56 @@
+package com.kenacbank.bankingservice.models.entities;
+
+
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.RollupGranularity;
+import com.kenacbank.bankingservice.utils.TransactionStatus;
+import com.kenacbank.bankingservice.utils.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Represents a pre-aggregated bucket of transaction volume and value. This entity is
+ * mapped to the "transaction_rollups" table in the database.
+ *
+ * <p>Each row counts the transactions of one currency, type and status posted within an
+ * hour or a day. Hourly rows are incremented as transactions post, adjusted when a
+ * transaction changes status, and periodically compacted into daily rows.</p>
+ */
+@Entity
+@Table(name = "transaction_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transaction_rollups_bucket",
+                columnNames = {"granularity", "bucketStart", "currency", "transactionType", "status"})
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class TransactionRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RollupGranularity granularity;
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Currency currency;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType transactionType;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionStatus status;
+    @Column(nullable = false)
+    private Long transactionCount;
+    @Column(nullable = false)
+    private Double totalAmount;
+    private LocalDateTime updatedAt;
+
+}
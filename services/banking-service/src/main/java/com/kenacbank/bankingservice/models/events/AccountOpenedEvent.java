@@ -0,0 +1,19 @@
+package com.kenacbank.bankingservice.models.events;
+
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+import com.kenacbank.bankingservice.utils.BankAccountType;
+import com.kenacbank.bankingservice.utils.Currency;
+
+import java.time.LocalDateTime;
+
+public record AccountOpenedEvent(
+        Long accountId,
+        Long clientId,
+        String accountNumber,
+        BankAccountType accountType,
+        Currency currency,
+        BankAccountStatus status,
+        Double balance,
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.kenacbank.bankingservice.models.events;
+
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+
+import java.time.LocalDateTime;
+
+public record AccountStatusChangedEvent(
+        Long accountId,
+        BankAccountStatus status,
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,9 @@
+package com.kenacbank.bankingservice.models.events;
+
+import com.kenacbank.bankingservice.models.dto.BalanceDto;
+
+public record BalanceUpdatedEvent(
+        Long clientId,
+        BalanceDto balance
+) {
+}
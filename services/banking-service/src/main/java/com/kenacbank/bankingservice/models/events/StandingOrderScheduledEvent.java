@@ -0,0 +1,9 @@
+package com.kenacbank.bankingservice.models.events;
+
+import java.time.LocalDateTime;
+
+public record StandingOrderScheduledEvent(
+        Long orderId,
+        LocalDateTime nextRunAt
+) {
+}
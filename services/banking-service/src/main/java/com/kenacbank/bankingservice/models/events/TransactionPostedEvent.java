@@ -0,0 +1,19 @@
+package com.kenacbank.bankingservice.models.events;
+
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.TransactionStatus;
+import com.kenacbank.bankingservice.utils.TransactionType;
+
+import java.time.LocalDateTime;
+
+public record TransactionPostedEvent(
+        Long transactionId,
+        Long accountId,
+        Long clientId,
+        Double amount,
+        Currency currency,
+        TransactionType transactionType,
+        TransactionStatus status,
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,20 @@
+package com.kenacbank.bankingservice.models.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class OpenAccountsRequest {
+    private Long clientId;
+    private List<OpenAccountRequest> accounts;
+    // Leaves out accounts whose type and currency the client already holds, so a retried request opens nothing twice
+    private boolean skipExisting;
+
+}
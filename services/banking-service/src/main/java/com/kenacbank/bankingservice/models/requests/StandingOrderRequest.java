@@ -0,0 +1,17 @@
+package com.kenacbank.bankingservice.models.requests;
+
+
+import java.time.LocalDateTime;
+
+public record StandingOrderRequest(
+    String accountNumber,
+    String beneficiaryAccountNumber,
+    Double amount,
+    String currencyCode,
+    String description,
+    String frequency,
+    LocalDateTime startAt,
+    LocalDateTime endAt
+) {
+
+}
@@ -2,7 +2,11 @@ package com.kenacbank.bankingservice.repositories;
 
 import com.kenacbank.bankingservice.models.entities.BankAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +15,24 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
     List<BankAccount> findByClientId(Long id);
 
     Optional<BankAccount> findByAccountNumber(String accountNumber);
+
+    /**
+     * Moves the balance of an active account by a posting's amount, unless that would take
+     * it below zero. The row is locked until the calling transaction ends, so concurrent
+     * postings to the account are applied one after another against the latest balance.
+     *
+     * @return 1 if the posting was applied, 0 if the account is not active or lacks the funds
+     */
+    @Modifying
+    @Query("""
+            UPDATE BankAccount a
+            SET a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedAt = :updatedAt
+            WHERE a.id = :id
+              AND a.status = com.kenacbank.bankingservice.utils.BankAccountStatus.ACTIVE
+              AND a.balance + :amount >= 0
+            """)
+    int applyPosting(@Param("id") Long id, @Param("amount") Double amount, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(value = "SELECT nextval('bank_account_number_seq') FROM generate_series(1, :count)", nativeQuery = true)
+    List<Long> nextAccountNumberValues(@Param("count") int count);
 }
@@ -3,10 +3,68 @@ package com.kenacbank.bankingservice.repositories;
 import com.kenacbank.bankingservice.models.entities.BankAccount;
 import com.kenacbank.bankingservice.models.entities.BankTransaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BankTransactionRepository extends JpaRepository<BankTransaction, Long> {
 
     Optional<BankTransaction> findByBankAccount(BankAccount bankAccount);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM BankTransaction t")
+    Long findMaxId();
+
+    @Query("SELECT t FROM BankTransaction t JOIN FETCH t.bankAccount WHERE t.id IN :ids")
+    List<BankTransaction> findAllWithAccountByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the IDs of transactions whose description contains the given pattern within one
+     * ID window, newest first. The description match is served by the trigram index, and the
+     * ID window bounds how much of that index a single statement has to visit.
+     */
+    @Query(value = """
+            SELECT t.id FROM bank_transactions t
+            WHERE t.id < :upperId AND t.id >= :lowerId
+              AND t.description ILIKE :pattern ESCAPE '\\'
+              AND (CAST(:accountId AS BIGINT) IS NULL OR t.bank_account_id = :accountId)
+              AND (CAST(:fromDate AS TIMESTAMP) IS NULL OR t.created_at >= :fromDate)
+              AND (CAST(:toDate AS TIMESTAMP) IS NULL OR t.created_at < :toDate)
+              AND (CAST(:minAmount AS DOUBLE PRECISION) IS NULL OR ABS(t.amount) >= :minAmount)
+              AND (CAST(:maxAmount AS DOUBLE PRECISION) IS NULL OR ABS(t.amount) <= :maxAmount)
+            ORDER BY t.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> searchIdsInWindow(@Param("pattern") String pattern,
+                                 @Param("upperId") Long upperId,
+                                 @Param("lowerId") Long lowerId,
+                                 @Param("accountId") Long accountId,
+                                 @Param("fromDate") LocalDateTime fromDate,
+                                 @Param("toDate") LocalDateTime toDate,
+                                 @Param("minAmount") Double minAmount,
+                                 @Param("maxAmount") Double maxAmount,
+                                 @Param("limit") int limit);
+
+    @Query(value = "SELECT set_config('statement_timeout', :timeout, true)", nativeQuery = true)
+    String setLocalStatementTimeout(@Param("timeout") String timeout);
+
+    /**
+     * Finds the IDs of transactions changed after the given cursor, in cursor order. Only rows
+     * written by transactions older than the current snapshot's xmin are returned, since every
+     * transaction below xmin has finished and no row behind the cursor can still appear.
+     */
+    @Query(value = """
+            SELECT t.id FROM bank_transactions t
+            WHERE t.change_txid IS NOT NULL
+              AND (t.change_txid, t.change_seq) > (:afterTxid, :afterSeq)
+              AND t.change_txid < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)
+            ORDER BY t.change_txid, t.change_seq
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findChangedIdsAfter(@Param("afterTxid") Long afterTxid,
+                                   @Param("afterSeq") Long afterSeq,
+                                   @Param("limit") int limit);
 }
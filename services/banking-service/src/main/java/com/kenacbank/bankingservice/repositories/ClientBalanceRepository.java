@@ -0,0 +1,55 @@
+package com.kenacbank.bankingservice.repositories;
+
+import com.kenacbank.bankingservice.models.entities.ClientBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ClientBalanceRepository extends JpaRepository<ClientBalance, Long> {
+
+    List<ClientBalance> findByClientId(Long clientId);
+
+    /**
+     * Copies an account's row from the write model into its projection row, inserting the
+     * row if it is missing. An existing row is only overwritten by a newer version of the
+     * account, so projecting the same or an older version twice changes nothing.
+     *
+     * @return 1 if the row was inserted or updated, 0 if it already held this version or a newer one
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO client_balances (account_id, client_id, account_number, account_type, currency, status, balance,
+                                         account_version, updated_at)
+            SELECT a.id, a.client_id, a.account_number, a.account_type, a.currency, a.status, a.balance, a.version, now()
+            FROM bank_accounts a
+            WHERE a.id = :accountId
+            ON CONFLICT (account_id) DO UPDATE
+            SET status = EXCLUDED.status, balance = EXCLUDED.balance,
+                account_version = EXCLUDED.account_version, updated_at = EXCLUDED.updated_at
+            WHERE client_balances.account_version < EXCLUDED.account_version
+            """, nativeQuery = true)
+    int project(@Param("accountId") Long accountId);
+
+    /**
+     * Seeds projection rows from the write model for accounts that do not have one yet,
+     * such as accounts opened before the projection existed.
+     *
+     * @return the number of rows inserted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO client_balances (account_id, client_id, account_number, account_type, currency, status, balance,
+                                         account_version, updated_at)
+            SELECT a.id, a.client_id, a.account_number, a.account_type, a.currency, a.status, a.balance, a.version, now()
+            FROM bank_accounts a
+            WHERE NOT EXISTS (SELECT 1 FROM client_balances b WHERE b.account_id = a.id)
+            ON CONFLICT (account_id) DO NOTHING
+            """, nativeQuery = true)
+    int seedMissing();
+}
@@ -0,0 +1,89 @@
+package com.kenacbank.bankingservice.repositories;
+
+import com.kenacbank.bankingservice.models.dto.ScheduledOrderDto;
+import com.kenacbank.bankingservice.models.entities.StandingOrder;
+import com.kenacbank.bankingservice.utils.StandingOrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, Long> {
+
+    List<StandingOrder> findByAccountNumberOrderByCreatedAtDesc(String accountNumber);
+
+    Optional<StandingOrder> findByOrderCode(String orderCode);
+
+    /**
+     * Loads one page of active orders falling due after {@code from} and up to
+     * {@code until}, in ID order, leaving out orders backing off after a failure
+     * until their retry time. Pass the last ID of the previous page as
+     * {@code afterId} to continue.
+     */
+    @Query("""
+            SELECT new com.kenacbank.bankingservice.models.dto.ScheduledOrderDto(o.id, o.nextRunAt)
+            FROM StandingOrder o
+            WHERE o.status = com.kenacbank.bankingservice.utils.StandingOrderStatus.ACTIVE
+              AND o.nextRunAt > :from AND o.nextRunAt <= :until
+              AND (o.retryAt IS NULL OR o.retryAt <= :until)
+              AND o.id > :afterId
+            ORDER BY o.id
+            """)
+    List<ScheduledOrderDto> findDueBetween(@Param("from") LocalDateTime from,
+                                           @Param("until") LocalDateTime until,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    /**
+     * Claims one occurrence of an order by moving it on to its next run. Only succeeds
+     * while the order is still active and due at {@code expectedRunAt}, so an
+     * occurrence is claimed once even if two schedulers race for it.
+     *
+     * @return 1 if this caller claimed the occurrence, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE StandingOrder o
+            SET o.nextRunAt = :nextRunAt, o.status = :status, o.lastRunAt = :now, o.updatedAt = :now
+            WHERE o.id = :id
+              AND o.nextRunAt = :expectedRunAt
+              AND o.status = com.kenacbank.bankingservice.utils.StandingOrderStatus.ACTIVE
+            """)
+    int claimOccurrence(@Param("id") Long id,
+                        @Param("expectedRunAt") LocalDateTime expectedRunAt,
+                        @Param("nextRunAt") LocalDateTime nextRunAt,
+                        @Param("status") StandingOrderStatus status,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Records a failed run. The occurrence stays due and is retried from {@code retryAt},
+     * unless this failure reaches the limit and the order is marked failed.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE StandingOrder o
+            SET o.failureCount = o.failureCount + 1, o.lastError = :error, o.updatedAt = :now, o.retryAt = :retryAt,
+                o.status = CASE WHEN o.failureCount + 1 >= :maxFailures
+                                THEN com.kenacbank.bankingservice.utils.StandingOrderStatus.FAILED
+                                ELSE o.status END
+            WHERE o.id = :id
+            """)
+    int recordFailure(@Param("id") Long id,
+                      @Param("error") String error,
+                      @Param("maxFailures") int maxFailures,
+                      @Param("retryAt") LocalDateTime retryAt,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StandingOrder o SET o.failureCount = 0, o.lastError = NULL, o.retryAt = NULL WHERE o.id = :id AND o.failureCount > 0")
+    int clearFailures(@Param("id") Long id);
+}
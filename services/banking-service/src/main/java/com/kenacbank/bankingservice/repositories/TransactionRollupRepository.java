@@ -0,0 +1,78 @@
+package com.kenacbank.bankingservice.repositories;
+
+import com.kenacbank.bankingservice.models.entities.TransactionRollup;
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.RollupGranularity;
+import com.kenacbank.bankingservice.utils.TransactionStatus;
+import com.kenacbank.bankingservice.utils.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    @Query("""
+            SELECT r FROM TransactionRollup r
+            WHERE r.granularity = :granularity
+              AND r.bucketStart >= :from AND r.bucketStart < :to
+              AND (:currency IS NULL OR r.currency = :currency)
+              AND (:transactionType IS NULL OR r.transactionType = :transactionType)
+              AND (:status IS NULL OR r.status = :status)
+            ORDER BY r.bucketStart
+            """)
+    List<TransactionRollup> findInRange(@Param("granularity") RollupGranularity granularity,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("currency") Currency currency,
+                                        @Param("transactionType") TransactionType transactionType,
+                                        @Param("status") TransactionStatus status);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO transaction_rollups (granularity, bucket_start, currency, transaction_type, status, transaction_count, total_amount, updated_at)
+            VALUES ('HOUR', date_trunc('hour', CAST(:postedAt AS TIMESTAMP)), :currency, :transactionType, :status, 1, :amount, now())
+            ON CONFLICT (granularity, bucket_start, currency, transaction_type, status)
+            DO UPDATE SET transaction_count = transaction_rollups.transaction_count + 1,
+                          total_amount = transaction_rollups.total_amount + EXCLUDED.total_amount,
+                          updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int incrementHourly(@Param("postedAt") LocalDateTime postedAt,
+                        @Param("currency") String currency,
+                        @Param("transactionType") String transactionType,
+                        @Param("status") String status,
+                        @Param("amount") Double amount);
+
+    /**
+     * Moves hourly rows older than the cutoff into their daily buckets. The hourly rows are
+     * deleted and added to the daily rows in a single statement, so concurrent compactions
+     * on other replicas can never count the same hour twice.
+     *
+     * @param cutoff hourly rows with a bucket start before this instant are compacted
+     * @return the number of daily rows inserted or updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM transaction_rollups
+                WHERE granularity = 'HOUR' AND bucket_start < :cutoff
+                RETURNING bucket_start, currency, transaction_type, status, transaction_count, total_amount
+            )
+            INSERT INTO transaction_rollups (granularity, bucket_start, currency, transaction_type, status, transaction_count, total_amount, updated_at)
+            SELECT 'DAY', date_trunc('day', bucket_start), currency, transaction_type, status,
+                   SUM(transaction_count), SUM(total_amount), now()
+            FROM moved
+            GROUP BY date_trunc('day', bucket_start), currency, transaction_type, status
+            ON CONFLICT (granularity, bucket_start, currency, transaction_type, status)
+            DO UPDATE SET transaction_count = transaction_rollups.transaction_count + EXCLUDED.transaction_count,
+                          total_amount = transaction_rollups.total_amount + EXCLUDED.total_amount,
+                          updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int compactHourlyBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,172 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.TransactionRollupDto;
+import com.kenacbank.bankingservice.models.entities.TransactionRollup;
+import com.kenacbank.bankingservice.models.events.TransactionPostedEvent;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.repositories.TransactionRollupRepository;
+import com.kenacbank.bankingservice.services.interfaces.AnalyticsService;
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.RollupGranularity;
+import com.kenacbank.bankingservice.utils.TransactionStatus;
+import com.kenacbank.bankingservice.utils.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains and serves pre-aggregated transaction rollups for dashboards.
+ *
+ * <p>Every posted transaction increments its hourly bucket once the posting has committed,
+ * and a database trigger moves it between status buckets when its status changes. A
+ * scheduled job compacts hourly buckets older than the retention window into daily
+ * buckets, so range queries read a handful of rollup rows instead of scanning the
+ * transactions table.</p>
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+
+    private final TransactionRollupRepository rollupRepository;
+    private final int hourlyRetentionDays;
+
+    public AnalyticsServiceImpl(TransactionRollupRepository rollupRepository,
+                                @Value("${application.rollups.hourly-retention-days:2}") int hourlyRetentionDays) {
+        this.rollupRepository = rollupRepository;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+    }
+
+    /**
+     * Retrieves transaction rollups for a time range, optionally filtered by currency,
+     * transaction type and status.
+     *
+     * <p>The range is widened to whole buckets of the requested granularity, so a bucket is
+     * either returned in full or not at all. Hourly rollups are only kept for the retention
+     * window. Daily rollups combine the compacted daily rows with any hourly rows in the
+     * range that have not been compacted yet.</p>
+     *
+     * @param granularity     HOUR or DAY
+     * @param from            the inclusive start of the range, rounded down to its bucket
+     * @param to              the exclusive end of the range, rounded up to a bucket boundary
+     * @param currency        optional currency filter
+     * @param transactionType optional transaction type filter
+     * @param status          optional transaction status filter
+     * @return ResponseEntity containing a GenericResponse with the rollups or an error message
+     */
+    @Override
+    public ResponseEntity<GenericResponse> getTransactionRollups(String granularity, LocalDateTime from, LocalDateTime to,
+                                                                 String currency, String transactionType, String status) {
+        try {
+            if (granularity == null || from == null || to == null || !from.isBefore(to)) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Invalid request parameters"));
+            }
+
+            RollupGranularity rollupGranularity = RollupGranularity.valueOf(granularity.toUpperCase());
+            Currency currencyFilter = currency == null ? null : Currency.valueOf(currency.toUpperCase());
+            TransactionType typeFilter = transactionType == null ? null : TransactionType.valueOf(transactionType.toUpperCase());
+            TransactionStatus statusFilter = status == null ? null : TransactionStatus.valueOf(status.toUpperCase());
+
+            // Hourly rows are read over the same whole buckets as daily rows, so a partly
+            // requested day is not counted in full from one and in part from the other
+            ChronoUnit unit = rollupGranularity == RollupGranularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+            LocalDateTime bucketFrom = from.truncatedTo(unit);
+            LocalDateTime bucketTo = to.truncatedTo(unit).equals(to) ? to : to.truncatedTo(unit).plus(1, unit);
+
+            List<TransactionRollup> hourly = rollupRepository.findInRange(
+                    RollupGranularity.HOUR, bucketFrom, bucketTo, currencyFilter, typeFilter, statusFilter);
+
+            List<TransactionRollupDto> rollups;
+            if (rollupGranularity == RollupGranularity.HOUR) {
+                rollups = hourly.stream().map(r -> toDto(r, RollupGranularity.HOUR, r.getBucketStart())).toList();
+            } else {
+                List<TransactionRollup> daily = rollupRepository.findInRange(
+                        RollupGranularity.DAY, bucketFrom, bucketTo, currencyFilter, typeFilter, statusFilter);
+                rollups = mergeDaily(daily, hourly);
+            }
+
+            LOGGER.info("Retrieved {} {} rollups between {} and {}", rollups.size(), rollupGranularity, bucketFrom, bucketTo);
+            return ResponseEntity.ok(new GenericResponse("Rollups retrieved successfully", rollups));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new GenericResponse("Invalid request parameters"));
+        } catch (Exception e) {
+            LOGGER.error("Error retrieving rollups: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to retrieve rollups"));
+        }
+    }
+
+    /**
+     * Adds a posted transaction to its hourly bucket under the status it was posted with.
+     * The bucket value is the absolute amount moved, so withdrawals add to their volume
+     * rather than subtracting from it. Later status changes are applied by the database
+     * trigger as deltas, which add up the same whichever runs first.
+     */
+    @Override
+    @Async("projectionExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        rollupRepository.incrementHourly(
+                event.occurredAt(),
+                event.currency().name(),
+                event.transactionType().name(),
+                event.status().name(),
+                Math.abs(event.amount()));
+    }
+
+    @Override
+    @Scheduled(cron = "${application.rollups.compaction-cron:0 15 * * * *}")
+    public void compactHourlyRollups() {
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(hourlyRetentionDays);
+        int compacted = rollupRepository.compactHourlyBefore(cutoff);
+        LOGGER.info("Compacted hourly rollups before {} into {} daily rollups", cutoff, compacted);
+    }
+
+    private List<TransactionRollupDto> mergeDaily(List<TransactionRollup> daily, List<TransactionRollup> hourly) {
+        Map<String, TransactionRollupDto> merged = new LinkedHashMap<>();
+        List<TransactionRollup> all = new ArrayList<>(daily);
+        all.addAll(hourly);
+
+        for (TransactionRollup rollup : all) {
+            LocalDateTime day = rollup.getBucketStart().truncatedTo(ChronoUnit.DAYS);
+            String key = day + "|" + rollup.getCurrency() + "|" + rollup.getTransactionType() + "|" + rollup.getStatus();
+            merged.merge(key, toDto(rollup, RollupGranularity.DAY, day), (a, b) -> new TransactionRollupDto(
+                    RollupGranularity.DAY,
+                    day,
+                    a.currency(),
+                    a.transactionType(),
+                    a.status(),
+                    a.transactionCount() + b.transactionCount(),
+                    a.totalAmount() + b.totalAmount()));
+        }
+
+        return merged.values().stream()
+                .sorted(Comparator.comparing(TransactionRollupDto::bucketStart))
+                .toList();
+    }
+
+    private TransactionRollupDto toDto(TransactionRollup rollup, RollupGranularity granularity, LocalDateTime bucketStart) {
+        return new TransactionRollupDto(
+                granularity,
+                bucketStart,
+                rollup.getCurrency(),
+                rollup.getTransactionType(),
+                rollup.getStatus(),
+                rollup.getTransactionCount(),
+                rollup.getTotalAmount()
+        );
+    }
+}
@@ -0,0 +1,122 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.events.AccountOpenedEvent;
+import com.kenacbank.bankingservice.models.events.AccountStatusChangedEvent;
+import com.kenacbank.bankingservice.models.events.BalanceUpdatedEvent;
+import com.kenacbank.bankingservice.models.events.TransactionPostedEvent;
+import com.kenacbank.bankingservice.repositories.ClientBalanceRepository;
+import com.kenacbank.bankingservice.services.interfaces.BalanceProjectionService;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the client balances read model from account and posting events.
+ *
+ * <p>Events are applied asynchronously on the projection executor once the publishing
+ * transaction has committed. The account's row in the write model is the source of truth:
+ * each event copies the current row into the read model in a single upsert, which both
+ * seeds a missing row and updates an existing one, and is skipped when the read model
+ * already holds that version of the account or a newer one. Events may therefore be
+ * processed out of order or more than once. The time between an event occurring and it
+ * being applied is recorded as the projection lag. Each applied change is republished as a
+ * {@link BalanceUpdatedEvent} carrying the account's new projected balance.</p>
+ */
+@Service
+public class BalanceProjectionServiceImpl implements BalanceProjectionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BalanceProjectionServiceImpl.class);
+
+    private final ClientBalanceRepository clientBalanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DtoMapper dtoMapper;
+    private final Timer projectionLag;
+
+    public BalanceProjectionServiceImpl(ClientBalanceRepository clientBalanceRepository,
+                                        ApplicationEventPublisher eventPublisher,
+                                        DtoMapper dtoMapper,
+                                        MeterRegistry meterRegistry) {
+        this.clientBalanceRepository = clientBalanceRepository;
+        this.eventPublisher = eventPublisher;
+        this.dtoMapper = dtoMapper;
+        this.projectionLag = Timer.builder("banking.balances.projection.lag")
+                .description("Time between a balance event occurring and it being applied to the read model")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Async("projectionExecutor")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountOpened(AccountOpenedEvent event) {
+        project(event.accountId(), event.occurredAt());
+    }
+
+    @Override
+    @Async("projectionExecutor")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountStatusChanged(AccountStatusChangedEvent event) {
+        project(event.accountId(), event.occurredAt());
+    }
+
+    /**
+     * Applies a posted transaction to the read model. Postings that moved the account's
+     * balance, completed deposits and withdrawals whether pending or not, bumped its version.
+     */
+    @Override
+    @Async("projectionExecutor")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        project(event.accountId(), event.occurredAt());
+    }
+
+    /**
+     * Seeds read model rows for any accounts that do not have one, such as accounts
+     * opened before the projection existed.
+     *
+     * @return the number of rows seeded
+     */
+    @Override
+    public int rebuildMissing() {
+        int seeded = clientBalanceRepository.seedMissing();
+        LOGGER.info("Seeded {} client balance projection rows", seeded);
+        return seeded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        rebuildMissing();
+    }
+
+    private void project(Long accountId, LocalDateTime occurredAt) {
+        if (clientBalanceRepository.project(accountId) > 0) {
+            publishBalance(accountId);
+        }
+        recordLag(occurredAt);
+    }
+
+    private void publishBalance(Long accountId) {
+        clientBalanceRepository.findById(accountId).ifPresent(balance ->
+                eventPublisher.publishEvent(new BalanceUpdatedEvent(balance.getClientId(), dtoMapper.mapToBalanceDto(balance))));
+    }
+
+    private void recordLag(LocalDateTime occurredAt) {
+        projectionLag.record(Duration.between(occurredAt, LocalDateTime.now()));
+    }
+}
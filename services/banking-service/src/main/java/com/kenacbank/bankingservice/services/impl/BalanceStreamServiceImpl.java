@@ -0,0 +1,315 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.BalanceDto;
+import com.kenacbank.bankingservice.models.events.BalanceUpdatedEvent;
+import com.kenacbank.bankingservice.repositories.ClientBalanceRepository;
+import com.kenacbank.bankingservice.services.interfaces.BalanceStreamService;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes live balance updates for a client's accounts over Server-Sent Events.
+ *
+ * <p>Connections are held as {@link SseEmitter}s on servlet async requests, so an idle
+ * connection costs no thread. Balance updates from the read model are fanned out to the
+ * client's open connections on the stream executor. The last few events per client are kept
+ * in memory so a reconnecting client can resume from its Last-Event-ID; if that is not
+ * possible, for example after a restart or when reconnecting to another replica, the client
+ * receives a fresh snapshot of its balances instead.</p>
+ *
+ * <p>Updates can reach this service out of order, as the read model is maintained on
+ * several threads. Each carries its account's version, and one no newer than the last
+ * update streamed for that account is dropped. Everything sent on a connection goes
+ * through its own queue, drained by one task at a time, so a connection receives events in
+ * the order they were streamed and never a balance older than one it has already been
+ * sent.</p>
+ */
+@Service
+public class BalanceStreamServiceImpl implements BalanceStreamService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BalanceStreamServiceImpl.class);
+    private static final StreamedEvent HEARTBEAT = new StreamedEvent(null, null);
+
+    private final ClientBalanceRepository clientBalanceRepository;
+    private final DtoMapper dtoMapper;
+    private final TaskExecutor streamExecutor;
+    private final Duration emitterTimeout;
+    private final int replayBufferSize;
+
+    // Event IDs are "<epoch>-<sequence>"; the epoch tells a resuming client whether its ID came from this process
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final Map<Long, ClientEvents> recentEvents;
+
+    public BalanceStreamServiceImpl(ClientBalanceRepository clientBalanceRepository,
+                                    DtoMapper dtoMapper,
+                                    @Qualifier("streamExecutor") TaskExecutor streamExecutor,
+                                    @Value("${application.balance-stream.timeout:30m}") Duration emitterTimeout,
+                                    @Value("${application.balance-stream.replay-buffer-size:32}") int replayBufferSize,
+                                    @Value("${application.balance-stream.replay-clients:10000}") int replayClients) {
+        this.clientBalanceRepository = clientBalanceRepository;
+        this.dtoMapper = dtoMapper;
+        this.streamExecutor = streamExecutor;
+        this.emitterTimeout = emitterTimeout;
+        this.replayBufferSize = replayBufferSize;
+        this.recentEvents = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ClientEvents> eldest) {
+                return size() > replayClients;
+            }
+        });
+    }
+
+    /**
+     * Opens a balance stream for a client. The connection is registered before any catch-up
+     * is sent, so no update can fall between the catch-up and the live stream. Updates
+     * streamed in the meantime are held until the catch-up has been sent, and dropped if it
+     * already included them.
+     *
+     * @param clientId    the client whose balances are streamed
+     * @param lastEventId the ID of the last event the client received, if it is reconnecting
+     * @return the SseEmitter for the connection
+     */
+    @Override
+    public SseEmitter streamClientBalances(Long clientId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Connection connection = new Connection(clientId, emitter);
+        connections.computeIfAbsent(clientId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        emitter.onCompletion(() -> removeConnection(connection));
+        emitter.onTimeout(() -> removeConnection(connection));
+        emitter.onError(e -> removeConnection(connection));
+
+        try {
+            List<StreamedEvent> missed = eventsAfter(clientId, lastEventId);
+            if (missed != null) {
+                for (StreamedEvent event : missed) {
+                    connection.send(event);
+                }
+            } else {
+                List<BalanceDto> snapshot = clientBalanceRepository.findByClientId(clientId)
+                        .stream().map(dtoMapper::mapToBalanceDto).toList();
+                connection.sendSnapshot(epoch + "-" + sequence.get(), snapshot);
+            }
+            connection.start();
+            LOGGER.info("Opened balance stream for client ID: {}", clientId);
+        } catch (Exception e) {
+            LOGGER.error("Error opening balance stream for client ID {}: {}", clientId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalanceUpdated(BalanceUpdatedEvent event) {
+        ClientEvents client = recentEvents.computeIfAbsent(event.clientId(), id -> new ClientEvents());
+        // Sequenced and queued under the client's lock, so every connection gets its events in sequence order
+        synchronized (client) {
+            if (!client.isNewer(event.balance())) {
+                return;
+            }
+            StreamedEvent streamed = new StreamedEvent(epoch + "-" + sequence.incrementAndGet(), event.balance());
+            client.add(streamed, replayBufferSize);
+
+            Set<Connection> clientConnections = connections.get(event.clientId());
+            if (clientConnections != null) {
+                clientConnections.forEach(connection -> connection.enqueue(streamed));
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${application.balance-stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        connections.values().forEach(clientConnections ->
+                clientConnections.forEach(connection -> connection.enqueue(HEARTBEAT)));
+    }
+
+    /**
+     * Returns the buffered events after the given event ID, or null if the client cannot be
+     * caught up from the buffer and needs a snapshot.
+     */
+    private List<StreamedEvent> eventsAfter(Long clientId, String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        ClientEvents client = recentEvents.get(clientId);
+        if (client == null) {
+            // Nothing has changed for this client since this process started streaming
+            return List.of();
+        }
+        synchronized (client) {
+            if (!client.events.isEmpty() && client.events.peekFirst().sequence() > lastSequence + 1) {
+                return null;
+            }
+            return client.events.stream().filter(event -> event.sequence() > lastSequence).toList();
+        }
+    }
+
+    private void removeConnection(Connection connection) {
+        connections.computeIfPresent(connection.clientId, (id, clientConnections) -> {
+            clientConnections.remove(connection);
+            return clientConnections.isEmpty() ? null : clientConnections;
+        });
+    }
+
+    /**
+     * The events recently streamed for a client, and the latest version streamed of each of
+     * its accounts.
+     */
+    private static final class ClientEvents {
+
+        private final Deque<StreamedEvent> events = new ArrayDeque<>();
+        private final Map<String, Long> versions = new HashMap<>();
+
+        boolean isNewer(BalanceDto balance) {
+            Long latest = versions.get(balance.accountNumber());
+            return latest == null || balance.version() > latest;
+        }
+
+        void add(StreamedEvent event, int limit) {
+            versions.put(event.balance().accountNumber(), event.balance().version());
+            events.addLast(event);
+            while (events.size() > limit) {
+                events.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * One open stream. Events queued on it are sent by a single task at a time on the stream
+     * executor, starting once the catch-up has been sent, and a balance no newer than one
+     * already sent on it is skipped. A connection that falls further behind than the replay
+     * buffer, or whose task the executor has no room for, is closed, and the client catches
+     * up from its Last-Event-ID or a snapshot when it reconnects.
+     */
+    private final class Connection {
+
+        private final Long clientId;
+        private final SseEmitter emitter;
+        private final Queue<StreamedEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        // Set while a task is sending, or before the catch-up has been sent
+        private final AtomicBoolean sending = new AtomicBoolean(true);
+        // Only used by whichever thread is sending
+        private final Map<String, Long> sentVersions = new HashMap<>();
+
+        Connection(Long clientId, SseEmitter emitter) {
+            this.clientId = clientId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(StreamedEvent event) {
+            if (pending.incrementAndGet() > replayBufferSize) {
+                close();
+                emitter.complete();
+                return;
+            }
+            queue.add(event);
+            schedule();
+        }
+
+        void start() {
+            sending.set(false);
+            schedule();
+        }
+
+        void sendSnapshot(String id, List<BalanceDto> snapshot) throws IOException {
+            snapshot.forEach(balance -> sentVersions.merge(balance.accountNumber(), balance.version(), Math::max));
+            emitter.send(SseEmitter.event().id(id).name("snapshot").data(snapshot));
+        }
+
+        void send(StreamedEvent event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            BalanceDto balance = event.balance();
+            Long sent = sentVersions.get(balance.accountNumber());
+            if (sent != null && balance.version() <= sent) {
+                return;
+            }
+            sentVersions.put(balance.accountNumber(), balance.version());
+            emitter.send(SseEmitter.event().id(event.id()).name("balance").data(balance));
+        }
+
+        /**
+         * Stops sending. The connection stays marked as sending, so nothing more is scheduled.
+         */
+        private void close() {
+            sending.set(true);
+            queue.clear();
+            removeConnection(this);
+        }
+
+        private void schedule() {
+            if (!queue.isEmpty() && sending.compareAndSet(false, true)) {
+                try {
+                    streamExecutor.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    // Never sent from the publishing thread; the client reconnects and catches up instead
+                    LOGGER.warn("Stream executor is full, closing balance stream for client ID: {}", clientId);
+                    close();
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamedEvent event;
+                while ((event = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            }
+            sending.set(false);
+            // Picks up anything queued after the last poll
+            schedule();
+        }
+    }
+
+    private record StreamedEvent(String id, BalanceDto balance) {
+
+        long sequence() {
+            return Long.parseLong(id.substring(id.indexOf('-') + 1));
+        }
+    }
+}
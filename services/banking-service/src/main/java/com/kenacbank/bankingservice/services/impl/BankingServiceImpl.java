@@ -1,9 +1,14 @@
 package com.kenacbank.bankingservice.services.impl;
 
 import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.ClientBalance;
+import com.kenacbank.bankingservice.models.events.AccountOpenedEvent;
+import com.kenacbank.bankingservice.models.events.AccountStatusChangedEvent;
 import com.kenacbank.bankingservice.models.reponses.GenericResponse;
 import com.kenacbank.bankingservice.models.requests.OpenAccountRequest;
+import com.kenacbank.bankingservice.models.requests.OpenAccountsRequest;
 import com.kenacbank.bankingservice.repositories.BankAccountRepository;
+import com.kenacbank.bankingservice.repositories.ClientBalanceRepository;
 import com.kenacbank.bankingservice.services.interfaces.BankingService;
 import com.kenacbank.bankingservice.utils.BankAccountStatus;
 import com.kenacbank.bankingservice.utils.BankAccountType;
@@ -11,11 +16,18 @@ import com.kenacbank.bankingservice.utils.Currency;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -25,6 +37,9 @@ public class BankingServiceImpl implements BankingService {
     private static final Logger LOGGER = LoggerFactory.getLogger(BankingServiceImpl.class);
 
     private final BankAccountRepository bankAccountRepository;
+    private final ClientBalanceRepository clientBalanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Opens a new bank account for a client based on the provided request details.
@@ -44,18 +59,10 @@ public class BankingServiceImpl implements BankingService {
             }
 
             LOGGER.info("Opening account for client ID: {}", request.getClientId());
-            BankAccount newAccount = BankAccount
-                    .builder()
-                    .accountNumber(generateAccountNumber())
-                    .accountType(BankAccountType.valueOf(request.getAccountType()))
-                    .currency(Currency.valueOf(request.getCurrency()))
-                    .balance(request.getInitialDeposit())
-                    .status(BankAccountStatus.PENDING)
-                    .clientId(request.getClientId())
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            bankAccountRepository.save(newAccount);
+            BankAccount newAccount = buildAccount(request.getClientId(), request, generateAccountNumbers(1).get(0));
+
+            BankAccount savedAccount = bankAccountRepository.save(newAccount);
+            publishAccountOpened(savedAccount);
 
             LOGGER.info("Account opened successfully for client ID: {}", request.getClientId());
             return new ResponseEntity<>(new GenericResponse("Account opened successfully"), HttpStatus.CREATED);
@@ -66,6 +73,126 @@ public class BankingServiceImpl implements BankingService {
     }
 
 
+    /**
+     * Opens a set of bank accounts for a single client in one call and one database
+     * transaction. Validates every requested account up front, allocates all account
+     * numbers in a single sequence round trip and saves the accounts together. If any
+     * account cannot be saved, none of them are opened. With {@code skipExisting}, accounts
+     * of a type and currency the client already holds are left out, which makes the call
+     * safe to retry; the response then lists the client's existing accounts as well.
+     *
+     * <p>A client holds at most one open account of each type and currency, which the
+     * database enforces. When a concurrent call opens one of the accounts first, the
+     * transaction is rolled back and, with {@code skipExisting}, run again, so the call
+     * succeeds with the accounts the other call opened.</p>
+     *
+     * @param request the request containing the client ID and the accounts to open
+     * @return ResponseEntity containing a GenericResponse with the new account numbers and HTTP status
+     */
+    @Override
+    public ResponseEntity<GenericResponse> openClientAccounts(OpenAccountsRequest request) {
+        try {
+            return transactionTemplate.execute(status -> openAccounts(request, status));
+        } catch (DataIntegrityViolationException e) {
+            if (!request.isSkipExisting()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(new GenericResponse("Client already holds an account of this type and currency"));
+            }
+            LOGGER.info("Accounts for client ID {} were opened concurrently, skipping them", request.getClientId());
+            return transactionTemplate.execute(status -> openAccounts(request, status));
+        }
+    }
+
+    private ResponseEntity<GenericResponse> openAccounts(OpenAccountsRequest request, TransactionStatus status) {
+        try{
+            if (request.getClientId() == null || request.getAccounts() == null || request.getAccounts().isEmpty()
+                    || request.getAccounts().stream().anyMatch(a -> a.getAccountType() == null || a.getCurrency() == null)) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Invalid request parameters"));
+            }
+
+            List<OpenAccountRequest> toOpen = request.getAccounts();
+            List<String> existingNumbers = new ArrayList<>();
+            if (request.isSkipExisting()) {
+                List<BankAccount> existing = bankAccountRepository.findByClientId(request.getClientId()).stream()
+                        .filter(e -> e.getStatus() != BankAccountStatus.CLOSED)
+                        .toList();
+                toOpen = toOpen.stream()
+                        .filter(a -> existing.stream().noneMatch(e -> e.getAccountType().name().equals(a.getAccountType())
+                                && e.getCurrency().name().equals(a.getCurrency())))
+                        .toList();
+                existing.forEach(e -> existingNumbers.add(e.getAccountNumber()));
+                if (toOpen.isEmpty()) {
+                    LOGGER.info("All requested accounts already open for client ID: {}", request.getClientId());
+                    return ResponseEntity.ok(new GenericResponse("Accounts already open", existingNumbers));
+                }
+            }
+
+            LOGGER.info("Opening {} accounts for client ID: {}", toOpen.size(), request.getClientId());
+            List<String> accountNumbers = generateAccountNumbers(toOpen.size());
+
+            List<BankAccount> newAccounts = new ArrayList<>(accountNumbers.size());
+            for (int i = 0; i < accountNumbers.size(); i++) {
+                newAccounts.add(buildAccount(request.getClientId(), toOpen.get(i), accountNumbers.get(i)));
+            }
+
+            List<BankAccount> savedAccounts = bankAccountRepository.saveAll(newAccounts);
+            savedAccounts.forEach(this::publishAccountOpened);
+
+            existingNumbers.addAll(accountNumbers);
+            LOGGER.info("Accounts opened successfully for client ID: {}", request.getClientId());
+            return new ResponseEntity<>(new GenericResponse("Accounts opened successfully", existingNumbers), HttpStatus.CREATED);
+
+        } catch (DataIntegrityViolationException e) {
+            throw e;
+        } catch (Exception e) {
+            status.setRollbackOnly();
+            return ResponseEntity.badRequest().body(new GenericResponse("Failed to open accounts: " + e.getMessage()));
+        }
+    }
+
+
+    /**
+     * Closes every open account a client holds, to undo the accounts a registration opened.
+     * Accounts that are already closed are left as they are, so the call is safe to retry.
+     * An account that still holds funds is never closed; if the client has one, none of
+     * its accounts are closed and a conflict is returned.
+     *
+     * @param clientId the unique identifier of the client whose accounts are to be closed
+     * @return ResponseEntity containing a GenericResponse with the closed account numbers and HTTP status
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<GenericResponse> closeClientAccounts(Long clientId) {
+        try{
+            List<BankAccount> accounts = bankAccountRepository.findByClientId(clientId).stream()
+                    .filter(account -> account.getStatus() != BankAccountStatus.CLOSED)
+                    .toList();
+            if (accounts.stream().anyMatch(account -> account.getBalance() != 0)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(new GenericResponse("Client has accounts holding funds"));
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            for (BankAccount account : accounts) {
+                account.setStatus(BankAccountStatus.CLOSED);
+                account.setClosedAt(now);
+                account.setUpdatedAt(now);
+            }
+            // Flushed here so a posting that raced the close rolls it back through the version check
+            bankAccountRepository.saveAllAndFlush(accounts);
+            accounts.forEach(account ->
+                    eventPublisher.publishEvent(new AccountStatusChangedEvent(account.getId(), account.getStatus(), now)));
+
+            LOGGER.info("Closed {} accounts for client ID: {}", accounts.size(), clientId);
+            return ResponseEntity.ok(new GenericResponse("Accounts closed successfully",
+                    accounts.stream().map(BankAccount::getAccountNumber).toList()));
+
+        } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().body(new GenericResponse("Failed to close accounts: " + e.getMessage()));
+        }
+    }
+
     /**
      * Approves a bank account by updating its status to ACTIVE based on the provided account number.
      * Searches for the account in the repository and updates its status if found.
@@ -79,10 +206,7 @@ public class BankingServiceImpl implements BankingService {
     public ResponseEntity<GenericResponse> approveAccount(String accountNumber) {
         try{
             // Find the account by account number
-            BankAccount account = bankAccountRepository.findAll().stream()
-                    .filter(acc -> acc.getAccountNumber().equals(accountNumber))
-                    .findFirst()
-                    .orElse(null);
+            BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber).orElse(null);
 
             if (account == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -92,6 +216,7 @@ public class BankingServiceImpl implements BankingService {
             // Update the account status to APPROVED
             account.setStatus(BankAccountStatus.ACTIVE);
             bankAccountRepository.save(account);
+            eventPublisher.publishEvent(new AccountStatusChangedEvent(account.getId(), account.getStatus(), LocalDateTime.now()));
 
             LOGGER.info("Account {} approved successfully", accountNumber);
             return ResponseEntity.ok(new GenericResponse("Account approved successfully"));
@@ -103,8 +228,8 @@ public class BankingServiceImpl implements BankingService {
 
     /**
      * Retrieves the account balances for a specific client based on their client ID.
-     * Fetches all accounts associated with the client and constructs a response
-     * containing the account numbers and their respective balances.
+     * Reads the client's rows from the balances read model rather than the bank accounts
+     * table, and constructs a response containing the account numbers and their balances.
      *
      * @param clientId the unique identifier of the client whose account balances are to be fetched
      * @return ResponseEntity containing a GenericResponse with the account balances or an error message
@@ -117,7 +242,7 @@ public class BankingServiceImpl implements BankingService {
             }
 
             LOGGER.info("Fetching account balances for client ID: {}", clientId);
-            List<BankAccount> accounts = bankAccountRepository.findByClientId(clientId);
+            List<ClientBalance> accounts = clientBalanceRepository.findByClientId(clientId);
 
             if (accounts.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -125,7 +250,7 @@ public class BankingServiceImpl implements BankingService {
             }
 
             StringBuilder balances = new StringBuilder();
-            for (BankAccount account : accounts) {
+            for (ClientBalance account : accounts) {
                 balances.append(String.format("Account Number: %s, Balance: %.2f %s%n",
                         account.getAccountNumber(), account.getBalance(), account.getCurrency()));
             }
@@ -138,24 +263,46 @@ public class BankingServiceImpl implements BankingService {
         }
     }
 
+    private BankAccount buildAccount(Long clientId, OpenAccountRequest request, String accountNumber) {
+        return BankAccount
+                .builder()
+                .accountNumber(accountNumber)
+                .accountType(BankAccountType.valueOf(request.getAccountType()))
+                .currency(Currency.valueOf(request.getCurrency()))
+                .balance(request.getInitialDeposit())
+                .status(BankAccountStatus.PENDING)
+                .clientId(clientId)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void publishAccountOpened(BankAccount account) {
+        eventPublisher.publishEvent(new AccountOpenedEvent(
+                account.getId(),
+                account.getClientId(),
+                account.getAccountNumber(),
+                account.getAccountType(),
+                account.getCurrency(),
+                account.getStatus(),
+                account.getBalance(),
+                account.getCreatedAt()
+        ));
+    }
+
     /**
-     * Generates a unique 12-digit account number for a new bank account.
-     * The account number is created by incrementing the highest existing
-     * account ID in the repository and formatting it with a "KENAC_" prefix.
+     * Generates unique 12-digit account numbers for new bank accounts.
+     * The numbers are drawn from the account number sequence in a single query
+     * and formatted with a "KENAC_" prefix.
      *
-     * @return a formatted string representing the new account number
+     * @param count the number of account numbers to generate
+     * @return the formatted account numbers, in sequence order
      */
-    private String generateAccountNumber() {
-        //generating a 12-digit account number, in incremental order, first get last db entry from db
-        // and increment it by 1
-        long lastAccountId = bankAccountRepository.findAll().stream()
-                .mapToLong(BankAccount::getId)
-                .max()
-                .orElse(0L);
-
-        //12-digit account number
-        String accountNumber = String.format("KENAC_%012d", lastAccountId + 1);
-        LOGGER.info("Generated account number: {}", accountNumber);
-        return accountNumber;
+    private List<String> generateAccountNumbers(int count) {
+        //12-digit account numbers, in incremental order, taken from the database sequence
+        List<String> accountNumbers = bankAccountRepository.nextAccountNumberValues(count).stream()
+                .map(value -> String.format("KENAC_%012d", value))
+                .toList();
+        LOGGER.info("Generated account numbers: {}", accountNumbers);
+        return accountNumbers;
     }
 }
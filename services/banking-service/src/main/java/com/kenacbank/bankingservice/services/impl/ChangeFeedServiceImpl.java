@@ -0,0 +1,204 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.TransactionChangeDto;
+import com.kenacbank.bankingservice.models.dto.TransactionChangesResult;
+import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.models.events.TransactionPostedEvent;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.repositories.BankTransactionRepository;
+import com.kenacbank.bankingservice.services.interfaces.ChangeFeedService;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves an incremental change feed over bank transactions with long polling.
+ *
+ * <p>The cursor is the (transaction ID, change sequence) pair stamped on each row by the
+ * database. When nothing is newer than a consumer's cursor, the request is parked as a
+ * {@link DeferredResult} and releases its servlet thread. Parked consumers are woken when a
+ * posting commits on this replica, and by a periodic check that picks up changes written
+ * by other replicas.</p>
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    private final BankTransactionRepository transactionRepository;
+    private final DtoMapper dtoMapper;
+    private final TransactionTemplate snapshotTemplate;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    @Value("${application.change-feed.max-wait:30s}")
+    private Duration maxWait;
+
+    @Value("${application.change-feed.max-page-size:500}")
+    private int maxPageSize;
+
+    public ChangeFeedServiceImpl(BankTransactionRepository transactionRepository, DtoMapper dtoMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.dtoMapper = dtoMapper;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns the transactions created or updated after the given cursor. If there are none
+     * and a wait is given, the request is held open until a change arrives or the wait expires,
+     * in which case an empty page with the same cursor is returned.
+     *
+     * @param after the cursor returned by the previous call, or null to start from the beginning
+     * @param wait  how long to wait for new changes, such as "30s"; capped at the configured maximum
+     * @param limit the maximum number of changes to return
+     * @return a DeferredResult completed with a GenericResponse containing the changes and next cursor
+     */
+    @Override
+    public DeferredResult<ResponseEntity<GenericResponse>> getTransactionChanges(String after, String wait, Integer limit) {
+        DeferredResult<ResponseEntity<GenericResponse>> result;
+        Cursor cursor;
+        Duration waitFor;
+        try {
+            cursor = Cursor.parse(after);
+            waitFor = wait == null ? Duration.ZERO : DurationStyle.detectAndParse(wait, ChronoUnit.SECONDS);
+            if (waitFor.isNegative()) {
+                throw new IllegalArgumentException("Negative wait");
+            }
+        } catch (IllegalArgumentException e) {
+            result = new DeferredResult<>();
+            result.setResult(ResponseEntity.badRequest().body(new GenericResponse("Invalid request parameters")));
+            return result;
+        }
+
+        int pageSize = limit == null || limit <= 0 ? 100 : Math.min(limit, maxPageSize);
+        if (waitFor.compareTo(maxWait) > 0) {
+            waitFor = maxWait;
+        }
+
+        TransactionChangesResult changes = fetchChanges(cursor, pageSize);
+        if (!changes.changes().isEmpty() || waitFor.isZero()) {
+            result = new DeferredResult<>();
+            result.setResult(ResponseEntity.ok(new GenericResponse("Changes retrieved successfully", changes)));
+            return result;
+        }
+
+        DeferredResult<ResponseEntity<GenericResponse>> parked = new DeferredResult<>(waitFor.toMillis());
+        Waiter waiter = new Waiter(cursor, pageSize, parked);
+        parked.onTimeout(() -> parked.setResult(ResponseEntity.ok(new GenericResponse("No new changes",
+                new TransactionChangesResult(List.of(), cursor.toString())))));
+        parked.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return parked;
+    }
+
+    @Override
+    @Async("changeFeedExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        wakeWaiters();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${application.change-feed.poll-interval-ms:1000}")
+    public void pollForChanges() {
+        wakeWaiters();
+    }
+
+    /**
+     * Re-checks every parked consumer. Consumers parked on the same cursor share a single
+     * query, so a crowd of consumers at the head of the feed costs one lookup per pass.
+     */
+    private void wakeWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+
+        Map<Waiter.Key, TransactionChangesResult> fetched = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isSetOrExpired()) {
+                continue;
+            }
+            try {
+                TransactionChangesResult changes = fetched.computeIfAbsent(waiter.key(),
+                        key -> fetchChanges(key.cursor(), key.limit()));
+                if (!changes.changes().isEmpty()) {
+                    waiter.result().setResult(ResponseEntity.ok(new GenericResponse("Changes retrieved successfully", changes)));
+                }
+            } catch (Exception e) {
+                LOGGER.error("Error checking change feed for parked consumer: {}", e.getMessage());
+            }
+        }
+    }
+
+    private TransactionChangesResult fetchChanges(Cursor cursor, int limit) {
+        // Both queries share one snapshot, so the cursors read back match the rows that were selected
+        return snapshotTemplate.execute(status -> {
+            List<Long> ids = transactionRepository.findChangedIdsAfter(cursor.txid(), cursor.seq(), limit);
+            if (ids.isEmpty()) {
+                return new TransactionChangesResult(List.of(), cursor.toString());
+            }
+
+            Map<Long, BankTransaction> found = transactionRepository.findAllWithAccountByIdIn(ids)
+                    .stream().collect(Collectors.toMap(BankTransaction::getId, Function.identity()));
+            List<TransactionChangeDto> changes = ids.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .map(dtoMapper::mapToTransactionChangeDto)
+                    .toList();
+            return new TransactionChangesResult(changes, changes.get(changes.size() - 1).cursor());
+        });
+    }
+
+    private record Cursor(Long txid, Long seq) {
+
+        static Cursor parse(String value) {
+            if (value == null || value.isBlank()) {
+                return new Cursor(0L, 0L);
+            }
+            String[] parts = value.split("-");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+            return new Cursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        }
+
+        @Override
+        public String toString() {
+            return txid + "-" + seq;
+        }
+    }
+
+    private record Waiter(Cursor cursor, int limit, DeferredResult<ResponseEntity<GenericResponse>> result) {
+
+        Key key() {
+            return new Key(cursor, limit);
+        }
+
+        record Key(Cursor cursor, int limit) {
+        }
+    }
+}
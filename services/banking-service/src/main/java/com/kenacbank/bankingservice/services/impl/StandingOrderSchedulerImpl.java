@@ -0,0 +1,470 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.ScheduledOrderDto;
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.StandingOrder;
+import com.kenacbank.bankingservice.models.events.StandingOrderScheduledEvent;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.models.requests.NewTransactionRequest;
+import com.kenacbank.bankingservice.repositories.BankAccountRepository;
+import com.kenacbank.bankingservice.repositories.StandingOrderRepository;
+import com.kenacbank.bankingservice.services.interfaces.StandingOrderScheduler;
+import com.kenacbank.bankingservice.services.interfaces.TransactionService;
+import com.kenacbank.bankingservice.utils.DatabaseLeaderLock;
+import com.kenacbank.bankingservice.utils.HierarchicalTimingWheel;
+import com.kenacbank.bankingservice.utils.StandingOrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires standing orders when they fall due.
+ *
+ * <p>Only the replica holding the database leader lock schedules orders. The leader keeps
+ * the orders falling due within the next horizon in a hierarchical timing wheel, refilled
+ * from the database in keyset pages, and advances the wheel once per tick. Orders that are
+ * already overdue, after downtime or a change of leader, are swept straight into the due
+ * queue so missed occurrences are caught up.</p>
+ *
+ * <p>The due queue is drained at a fixed number of batches per tick, so a month-start spike
+ * becomes a steady backlog rather than a burst of queries. Each batch is loaded with one
+ * query, and each occurrence is claimed and posted in its own transaction through the
+ * normal posting path. The claim is a conditional update on the expected run time, so an
+ * occurrence runs at most once even if two replicas briefly both believe they lead.</p>
+ *
+ * <p>The engine runs on its own thread rather than the shared Spring scheduler, so a long
+ * backlog never delays the other scheduled jobs.</p>
+ */
+@Service
+public class StandingOrderSchedulerImpl implements StandingOrderScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandingOrderSchedulerImpl.class);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final BankAccountRepository accountRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseLeaderLock leaderLock;
+    private final Queue<ScheduledOrderDto> inbox = new ConcurrentLinkedQueue<>();
+    private final LinkedHashSet<Long> due = new LinkedHashSet<>();
+    private final Counter executed;
+    private final Counter failed;
+    private final Counter skipped;
+
+    @Value("${application.standing-orders.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${application.standing-orders.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${application.standing-orders.wheel-levels:4}")
+    private int wheelLevels;
+
+    @Value("${application.standing-orders.horizon:1h}")
+    private Duration horizon;
+
+    @Value("${application.standing-orders.refill-interval:1m}")
+    private Duration refillInterval;
+
+    @Value("${application.standing-orders.page-size:1000}")
+    private int pageSize;
+
+    @Value("${application.standing-orders.batch-size:200}")
+    private int batchSize;
+
+    @Value("${application.standing-orders.max-batches-per-tick:5}")
+    private int maxBatchesPerTick;
+
+    @Value("${application.standing-orders.max-queued:50000}")
+    private int maxQueued;
+
+    @Value("${application.standing-orders.catch-up-missed:true}")
+    private boolean catchUpMissed;
+
+    @Value("${application.standing-orders.max-failures:5}")
+    private int maxFailures;
+
+    @Value("${application.standing-orders.retry-backoff:5m}")
+    private Duration retryBackoff;
+
+    @Value("${application.standing-orders.max-retry-backoff:6h}")
+    private Duration maxRetryBackoff;
+
+    private ScheduledExecutorService engine;
+    private HierarchicalTimingWheel<Long> wheel;
+    private LocalDateTime loadedUntil;
+    private long nextRefillMs;
+    private volatile int backlog;
+    private volatile int scheduled;
+
+    public StandingOrderSchedulerImpl(StandingOrderRepository standingOrderRepository,
+                                      BankAccountRepository accountRepository,
+                                      TransactionService transactionService,
+                                      TransactionTemplate transactionTemplate,
+                                      DataSourceProperties dataSourceProperties,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${application.standing-orders.lock-key:7301}") long lockKey) {
+        this.standingOrderRepository = standingOrderRepository;
+        this.accountRepository = accountRepository;
+        this.transactionService = transactionService;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderLock = new DatabaseLeaderLock(leaderLockDataSource(dataSourceProperties), lockKey);
+        this.executed = runCounter(meterRegistry, "executed");
+        this.failed = runCounter(meterRegistry, "failed");
+        this.skipped = runCounter(meterRegistry, "skipped");
+
+        Gauge.builder("banking.standing-orders.backlog", this, s -> s.backlog)
+                .description("Standing order occurrences due but not yet run")
+                .register(meterRegistry);
+        Gauge.builder("banking.standing-orders.scheduled", this, s -> s.scheduled)
+                .description("Standing orders held in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        engine = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "standing-orders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        engine.scheduleWithFixedDelay(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (engine != null) {
+            engine.shutdown();
+            engine.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        leaderLock.close();
+    }
+
+    /**
+     * Hands a newly created order to the engine so it is scheduled without waiting for the
+     * next refill. Orders created on another replica are picked up by the leader's refill.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStandingOrderScheduled(StandingOrderScheduledEvent event) {
+        inbox.add(new ScheduledOrderDto(event.orderId(), event.nextRunAt()));
+    }
+
+    /**
+     * Runs one scheduler tick on the engine thread: checks leadership, refills the wheel
+     * when due, advances it and runs a bounded number of due batches.
+     */
+    @Override
+    public void tick() {
+        if (!leaderLock.tryAcquire()) {
+            if (wheel != null) {
+                LOGGER.info("Lost standing order leadership, dropping {} scheduled orders", wheel.size());
+                resetSchedule();
+            }
+            inbox.clear();
+            return;
+        }
+
+        long nowMs = System.currentTimeMillis();
+        LocalDateTime now = toDateTime(nowMs);
+        if (wheel == null) {
+            LOGGER.info("Acquired standing order leadership");
+            wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, wheelLevels, nowMs);
+            loadedUntil = now;
+            nextRefillMs = nowMs;
+        }
+
+        ScheduledOrderDto created;
+        while ((created = inbox.poll()) != null) {
+            // Orders beyond the loaded window are picked up by the refill that reaches them
+            if (!created.nextRunAt().isAfter(loadedUntil)) {
+                schedule(created);
+            }
+        }
+
+        if (nowMs >= nextRefillMs) {
+            refill(now);
+            nextRefillMs = nowMs + refillInterval.toMillis();
+        }
+
+        wheel.advance(nowMs, due::add);
+        runDue(now);
+
+        backlog = due.size();
+        scheduled = wheel.size();
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (Exception e) {
+            LOGGER.error("Standing order tick failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queues overdue orders for catch-up, then loads the orders falling due between the
+     * end of the loaded window and the horizon into the wheel.
+     */
+    private void refill(LocalDateTime now) {
+        long afterId = 0;
+        while (due.size() < maxQueued) {
+            List<ScheduledOrderDto> page = standingOrderRepository.findDueBetween(EPOCH, now, afterId, Limit.of(pageSize));
+            page.forEach(order -> due.add(order.id()));
+            if (page.size() < pageSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+
+        LocalDateTime from = loadedUntil.isAfter(now) ? loadedUntil : now;
+        LocalDateTime until = now.plus(horizon);
+        afterId = 0;
+        while (true) {
+            List<ScheduledOrderDto> page = standingOrderRepository.findDueBetween(from, until, afterId, Limit.of(pageSize));
+            page.forEach(this::schedule);
+            if (page.size() < pageSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+        loadedUntil = until;
+    }
+
+    private void schedule(ScheduledOrderDto order) {
+        if (!wheel.add(order.id(), toEpochMillis(order.nextRunAt()))) {
+            due.add(order.id());
+        }
+    }
+
+    private void runDue(LocalDateTime now) {
+        for (int batch = 0; batch < maxBatchesPerTick && !due.isEmpty(); batch++) {
+            List<Long> ids = new ArrayList<>(Math.min(batchSize, due.size()));
+            Iterator<Long> iterator = due.iterator();
+            while (iterator.hasNext() && ids.size() < batchSize) {
+                ids.add(iterator.next());
+                iterator.remove();
+            }
+
+            for (StandingOrder order : standingOrderRepository.findAllById(ids)) {
+                if (order.getStatus() != StandingOrderStatus.ACTIVE || order.getNextRunAt().isAfter(now)
+                        || (order.getRetryAt() != null && order.getRetryAt().isAfter(now))) {
+                    skipped.increment();
+                    continue;
+                }
+                runOccurrence(order, now);
+            }
+        }
+    }
+
+    /**
+     * Claims and posts the order's current occurrence in one transaction. If posting fails
+     * the claim is rolled back with it, so the occurrence stays due and is retried after a
+     * backoff that doubles with each consecutive failure, until the order reaches the
+     * failure limit.
+     */
+    private void runOccurrence(StandingOrder order, LocalDateTime now) {
+        LocalDateTime runAt = order.getNextRunAt();
+        LocalDateTime next = nextOccurrence(order, runAt);
+        while (!catchUpMissed && !next.isAfter(now)) {
+            next = nextOccurrence(order, next);
+        }
+        StandingOrderStatus status = order.getEndAt() != null && next.isAfter(order.getEndAt())
+                ? StandingOrderStatus.COMPLETED
+                : StandingOrderStatus.ACTIVE;
+        LocalDateTime nextRunAt = next;
+
+        RunResult result;
+        try {
+            result = transactionTemplate.execute(tx -> {
+                if (standingOrderRepository.claimOccurrence(order.getId(), runAt, nextRunAt, status, LocalDateTime.now()) == 0) {
+                    return new RunResult(false, null);
+                }
+                String failure = post(order);
+                if (failure != null) {
+                    tx.setRollbackOnly();
+                }
+                return new RunResult(true, failure);
+            });
+        } catch (Exception e) {
+            result = new RunResult(true, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+
+        if (!result.claimed()) {
+            skipped.increment();
+            return;
+        }
+        if (result.error() != null) {
+            failed.increment();
+            LocalDateTime retryAt = now.plus(retryDelay(order.getFailureCount()));
+            standingOrderRepository.recordFailure(order.getId(), result.error(), maxFailures, retryAt, LocalDateTime.now());
+            LOGGER.warn("Standing order {} failed, retrying at {}: {}", order.getOrderCode(), retryAt, result.error());
+            if (order.getFailureCount() + 1 < maxFailures && !retryAt.isAfter(loadedUntil)) {
+                schedule(new ScheduledOrderDto(order.getId(), retryAt));
+            }
+            return;
+        }
+
+        executed.increment();
+        if (order.getFailureCount() > 0) {
+            standingOrderRepository.clearFailures(order.getId());
+        }
+        // A next run inside the loaded window would otherwise only be found once it is overdue
+        if (status == StandingOrderStatus.ACTIVE && !nextRunAt.isAfter(loadedUntil)) {
+            schedule(new ScheduledOrderDto(order.getId(), nextRunAt));
+        }
+    }
+
+    /**
+     * The wait before retrying an order that has already failed {@code previousFailures}
+     * times in a row: the base backoff, doubled for each earlier failure, up to the maximum.
+     */
+    private Duration retryDelay(int previousFailures) {
+        Duration delay = retryBackoff;
+        for (int i = 0; i < previousFailures && delay.compareTo(maxRetryBackoff) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(maxRetryBackoff) < 0 ? delay : maxRetryBackoff;
+    }
+
+    private String post(StandingOrder order) {
+        // Postings are not converted, so moving money between currencies would create or destroy it
+        String mismatch = currencyMismatch(order);
+        if (mismatch != null) {
+            return mismatch;
+        }
+
+        String description = order.getDescription() != null
+                ? order.getDescription()
+                : "Standing order " + order.getOrderCode();
+
+        ResponseEntity<GenericResponse> debit = transactionService.createTransaction(new NewTransactionRequest(
+                order.getAccountNumber(), "WITHDRAWAL", order.getAmount(), description, order.getCurrencyCode()));
+        if (!debit.getStatusCode().is2xxSuccessful()) {
+            return failureMessage(debit);
+        }
+
+        if (order.getBeneficiaryAccountNumber() != null) {
+            ResponseEntity<GenericResponse> credit = transactionService.createTransaction(new NewTransactionRequest(
+                    order.getBeneficiaryAccountNumber(), "DEPOSIT", order.getAmount(), description, order.getCurrencyCode()));
+            if (!credit.getStatusCode().is2xxSuccessful()) {
+                return failureMessage(credit);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the order's currency against its accounts as they are now, since an account
+     * may have been replaced or changed since the order was created.
+     *
+     * @return why the order cannot run, or null if the currencies match
+     */
+    private String currencyMismatch(StandingOrder order) {
+        Optional<BankAccount> account = accountRepository.findByAccountNumber(order.getAccountNumber());
+        if (account.isEmpty() || !account.get().getCurrency().name().equals(order.getCurrencyCode())) {
+            return "Order currency " + order.getCurrencyCode() + " does not match the account currency";
+        }
+        if (order.getBeneficiaryAccountNumber() != null) {
+            Optional<BankAccount> beneficiary = accountRepository.findByAccountNumber(order.getBeneficiaryAccountNumber());
+            if (beneficiary.isEmpty() || !beneficiary.get().getCurrency().name().equals(order.getCurrencyCode())) {
+                return "Order currency " + order.getCurrencyCode() + " does not match the beneficiary account currency";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Works out the occurrence after {@code after}. Monthly orders stay anchored to the
+     * start date's day of the month, falling back to the month's last day when it is shorter.
+     */
+    private static LocalDateTime nextOccurrence(StandingOrder order, LocalDateTime after) {
+        return switch (order.getFrequency()) {
+            case DAILY -> after.plusDays(1);
+            case WEEKLY -> after.plusWeeks(1);
+            case MONTHLY -> {
+                long months = ChronoUnit.MONTHS.between(order.getStartAt(), after);
+                LocalDateTime next;
+                do {
+                    next = order.getStartAt().plusMonths(++months);
+                } while (!next.isAfter(after));
+                yield next;
+            }
+        };
+    }
+
+    private void resetSchedule() {
+        wheel = null;
+        loadedUntil = null;
+        due.clear();
+        backlog = 0;
+        scheduled = 0;
+    }
+
+    private static String failureMessage(ResponseEntity<GenericResponse> response) {
+        return response.getBody() != null ? response.getBody().getMessage() : response.getStatusCode().toString();
+    }
+
+    /**
+     * Opens the leader lock's connection outside the application's pool, from the same
+     * {@code spring.datasource} settings.
+     */
+    private static SimpleDriverDataSource leaderLockDataSource(DataSourceProperties properties) {
+        return DataSourceBuilder.create(properties.getClassLoader())
+                .type(SimpleDriverDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(properties.determineUrl())
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build();
+    }
+
+    private static Counter runCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.standing-orders.runs")
+                .description("Standing order occurrences processed by the scheduler")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record RunResult(boolean claimed, String error) {
+    }
+}
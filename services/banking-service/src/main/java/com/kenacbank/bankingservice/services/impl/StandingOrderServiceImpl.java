@@ -0,0 +1,182 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.StandingOrderDto;
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.StandingOrder;
+import com.kenacbank.bankingservice.models.events.StandingOrderScheduledEvent;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.models.requests.StandingOrderRequest;
+import com.kenacbank.bankingservice.repositories.BankAccountRepository;
+import com.kenacbank.bankingservice.repositories.StandingOrderRepository;
+import com.kenacbank.bankingservice.services.interfaces.StandingOrderService;
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import com.kenacbank.bankingservice.utils.StandingOrderFrequency;
+import com.kenacbank.bankingservice.utils.StandingOrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class StandingOrderServiceImpl implements StandingOrderService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandingOrderServiceImpl.class);
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final BankAccountRepository accountRepository;
+    private final DtoMapper dtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates a standing order against an active account. The first occurrence runs at
+     * {@code startAt}, or immediately when no start is given, and the scheduler is told
+     * about the new order once it has been committed. The order's currency must be the
+     * currency of the account and of the beneficiary account, as postings are not converted.
+     *
+     * @param request the request containing the accounts, amount, frequency and schedule
+     * @return ResponseEntity containing a GenericResponse with the created order or an error message
+     */
+    @Override
+    public ResponseEntity<GenericResponse> createStandingOrder(StandingOrderRequest request) {
+        try {
+            if (request.accountNumber() == null || request.amount() == null || request.amount() <= 0
+                    || request.currencyCode() == null || request.frequency() == null) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Invalid request parameters"));
+            }
+
+            StandingOrderFrequency frequency;
+            try {
+                frequency = StandingOrderFrequency.valueOf(request.frequency().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Invalid frequency: " + request.frequency()));
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime startAt = request.startAt() != null ? request.startAt() : now;
+            if (startAt.isBefore(now.minusMinutes(1))) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Start date must not be in the past"));
+            }
+            if (request.endAt() != null && !request.endAt().isAfter(startAt)) {
+                return ResponseEntity.badRequest().body(new GenericResponse("End date must be after the start date"));
+            }
+
+            Currency currency;
+            try {
+                currency = Currency.valueOf(request.currencyCode().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Invalid currency: " + request.currencyCode()));
+            }
+
+            Optional<BankAccount> account = accountRepository.findByAccountNumber(request.accountNumber());
+            if (account.isEmpty() || account.get().getStatus() != BankAccountStatus.ACTIVE) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Account is not active"));
+            }
+            if (account.get().getCurrency() != currency) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Order currency does not match the account currency"));
+            }
+            if (request.beneficiaryAccountNumber() != null) {
+                if (request.beneficiaryAccountNumber().equals(request.accountNumber())) {
+                    return ResponseEntity.badRequest().body(new GenericResponse("Beneficiary must be a different account"));
+                }
+                Optional<BankAccount> beneficiary = accountRepository.findByAccountNumber(request.beneficiaryAccountNumber());
+                if (beneficiary.isEmpty()) {
+                    return ResponseEntity.badRequest().body(new GenericResponse("Beneficiary account not found"));
+                }
+                if (beneficiary.get().getCurrency() != currency) {
+                    return ResponseEntity.badRequest().body(new GenericResponse("Order currency does not match the beneficiary account currency"));
+                }
+            }
+
+            var order = StandingOrder
+                    .builder()
+                    .orderCode(UUID.randomUUID().toString())
+                    .accountNumber(request.accountNumber())
+                    .beneficiaryAccountNumber(request.beneficiaryAccountNumber())
+                    .amount(request.amount())
+                    .currencyCode(currency.name())
+                    .description(request.description())
+                    .frequency(frequency)
+                    .status(StandingOrderStatus.ACTIVE)
+                    .startAt(startAt)
+                    .nextRunAt(startAt)
+                    .endAt(request.endAt())
+                    .failureCount(0)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+
+            StandingOrder saved = standingOrderRepository.save(order);
+            eventPublisher.publishEvent(new StandingOrderScheduledEvent(saved.getId(), saved.getNextRunAt()));
+
+            LOGGER.info("Standing order created successfully: {}", saved.getOrderCode());
+            return new ResponseEntity<>(new GenericResponse("Standing order created successfully",
+                    dtoMapper.mapToStandingOrderDto(saved)), HttpStatus.CREATED);
+        } catch (Exception e) {
+            LOGGER.error("Error creating standing order: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to create standing order"));
+        }
+    }
+
+    /**
+     * Retrieves the standing orders set up on an account, newest first.
+     *
+     * @param accountNumber the account to list the orders of
+     * @return ResponseEntity containing a GenericResponse with the orders or an error message
+     */
+    @Override
+    public ResponseEntity<GenericResponse> getStandingOrders(String accountNumber) {
+        try {
+            List<StandingOrderDto> orders = standingOrderRepository.findByAccountNumberOrderByCreatedAtDesc(accountNumber)
+                    .stream().map(dtoMapper::mapToStandingOrderDto).toList();
+            if (orders.isEmpty()) {
+                return ResponseEntity.ok(new GenericResponse("No standing orders found"));
+            }
+            return ResponseEntity.ok(new GenericResponse("Standing orders retrieved successfully", orders));
+        } catch (Exception e) {
+            LOGGER.error("Error retrieving standing orders: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to retrieve standing orders"));
+        }
+    }
+
+    /**
+     * Cancels an active standing order. An occurrence already claimed by the scheduler
+     * still completes, but no further occurrences are run.
+     *
+     * @param orderCode the code of the order to cancel
+     * @return ResponseEntity containing a GenericResponse with the cancelled order or an error message
+     */
+    @Override
+    public ResponseEntity<GenericResponse> cancelStandingOrder(String orderCode) {
+        try {
+            Optional<StandingOrder> found = standingOrderRepository.findByOrderCode(orderCode);
+            if (found.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new GenericResponse("Standing order not found"));
+            }
+
+            StandingOrder order = found.get();
+            if (order.getStatus() != StandingOrderStatus.ACTIVE) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Standing order is not active"));
+            }
+            order.setStatus(StandingOrderStatus.CANCELLED);
+            order.setUpdatedAt(LocalDateTime.now());
+            standingOrderRepository.save(order);
+
+            LOGGER.info("Standing order cancelled: {}", orderCode);
+            return ResponseEntity.ok(new GenericResponse("Standing order cancelled successfully", dtoMapper.mapToStandingOrderDto(order)));
+        } catch (Exception e) {
+            LOGGER.error("Error cancelling standing order: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to cancel standing order"));
+        }
+    }
+}
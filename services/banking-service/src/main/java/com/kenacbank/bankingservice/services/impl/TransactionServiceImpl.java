@@ -1,8 +1,10 @@
 package com.kenacbank.bankingservice.services.impl;
 
 import com.kenacbank.bankingservice.models.dto.TransactionDto;
+import com.kenacbank.bankingservice.models.dto.TransactionSearchResult;
 import com.kenacbank.bankingservice.models.entities.BankAccount;
 import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.models.events.TransactionPostedEvent;
 import com.kenacbank.bankingservice.models.reponses.GenericResponse;
 import com.kenacbank.bankingservice.models.requests.NewTransactionRequest;
 import com.kenacbank.bankingservice.repositories.BankAccountRepository;
@@ -15,12 +17,21 @@ import com.kenacbank.bankingservice.utils.TransactionType;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,12 +42,27 @@ public class TransactionServiceImpl implements TransactionService {
     private final BankTransactionRepository transactionRepository;
     private final BankAccountRepository accountRepository;
     private final DtoMapper dtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.search.budget-ms:500}")
+    private long searchBudgetMs;
+
+    @Value("${application.search.window-size:1000000}")
+    private long searchWindowSize;
+
+    @Value("${application.search.max-page-size:200}")
+    private int maxSearchPageSize;
 
     /**
      * Creates a new bank transaction based on the provided request details.
      * Validates the request parameters, retrieves the associated bank account,
      * and saves the transaction to the repository.
      *
+     * <p>The transaction is saved together with the change to the account balance it makes,
+     * which is checked against the balance in the database rather than the account as read.
+     * Withdrawals are taken from the balance straight away, although they stay pending.</p>
+     *
      * @param request the request containing account number, amount, description, and transaction type
      * @return ResponseEntity containing a GenericResponse with a success message or error details
      */
@@ -58,10 +84,7 @@ public class TransactionServiceImpl implements TransactionService {
                 return ResponseEntity.badRequest().body(new GenericResponse("Account is not active"));
             }
 
-            if (transactionType == TransactionType.WITHDRAWAL && account.getBalance() < request.amount()) {
-                return ResponseEntity.badRequest().body(new GenericResponse("Insufficient balance for withdrawal"));
-            }
-
+            boolean withdrawal = transactionType == TransactionType.WITHDRAWAL;
             var transaction = BankTransaction
                     .builder()
                     .amount(request.amount())
@@ -70,11 +93,34 @@ public class TransactionServiceImpl implements TransactionService {
                     .transactionType(transactionType)
                     .createdAt(LocalDateTime.now())
                     .bankAccount(account)
-                    .amount(transactionType == TransactionType.WITHDRAWAL ? -request.amount() : request.amount())
-                    .status(transactionType == TransactionType.WITHDRAWAL ? TransactionStatus.PENDING : TransactionStatus.COMPLETED)
+                    .amount(withdrawal ? -request.amount() : request.amount())
+                    .status(withdrawal ? TransactionStatus.PENDING : TransactionStatus.COMPLETED)
                     .build();
 
-            BankTransaction saved = transactionRepository.save(transaction);
+            // The account balance moves with the posting, in the same transaction; a withdrawal the
+            // latest balance cannot cover leaves both untouched
+            BankTransaction saved = transactionTemplate.execute(status -> {
+                if (accountRepository.applyPosting(account.getId(), transaction.getAmount(), transaction.getCreatedAt()) == 0) {
+                    return null;
+                }
+                BankTransaction posted = transactionRepository.save(transaction);
+                eventPublisher.publishEvent(new TransactionPostedEvent(
+                        posted.getId(),
+                        account.getId(),
+                        account.getClientId(),
+                        posted.getAmount(),
+                        account.getCurrency(),
+                        posted.getTransactionType(),
+                        posted.getStatus(),
+                        posted.getCreatedAt()
+                ));
+                return posted;
+            });
+
+            if (saved == null) {
+                return ResponseEntity.badRequest().body(new GenericResponse(
+                        withdrawal ? "Insufficient balance for withdrawal" : "Account is not active"));
+            }
 
             LOGGER.info("Transaction created successfully: {}", saved.getId());
             return ResponseEntity.ok(new GenericResponse("Transaction created successfully"));
@@ -106,4 +152,98 @@ public class TransactionServiceImpl implements TransactionService {
             return ResponseEntity.status(500).body(new GenericResponse("Failed to retrieve transactions"));
         }
     }
+
+    /**
+     * Searches transactions by free text in their description, with optional account,
+     * date range and amount range filters. Results are returned newest first and paged
+     * with a keyset cursor: pass the returned cursor as {@code before} to get the next page.
+     *
+     * <p>The search walks the transaction IDs downwards in fixed-size windows, each one a
+     * trigram index lookup bounded by the remaining latency budget through a transaction-local
+     * statement timeout. If the budget runs out before the page is full, the rows found so far
+     * are returned with the partial flag set and a cursor at the first window not yet searched,
+     * so the next request carries on from there instead of repeating the same work.</p>
+     *
+     * @param query         the text to search for, at least three characters
+     * @param accountNumber optional account to restrict the search to
+     * @param from          optional inclusive start of the creation date range
+     * @param to            optional exclusive end of the creation date range
+     * @param minAmount     optional minimum absolute amount
+     * @param maxAmount     optional maximum absolute amount
+     * @param before        optional cursor; only transactions with a lower ID are returned
+     * @param limit         the maximum number of transactions to return
+     * @return ResponseEntity containing a GenericResponse with the search result or an error message
+     */
+    @Override
+    public ResponseEntity<GenericResponse> searchTransactions(String query, String accountNumber, LocalDateTime from,
+                                                              LocalDateTime to, Double minAmount, Double maxAmount,
+                                                              Long before, Integer limit) {
+        try {
+            if (query == null || query.trim().length() < 3) {
+                return ResponseEntity.badRequest().body(new GenericResponse("Search text must be at least 3 characters"));
+            }
+
+            int pageSize = limit == null || limit <= 0 ? 50 : Math.min(limit, maxSearchPageSize);
+            Long accountId = null;
+            if (accountNumber != null) {
+                BankAccount account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+                if (account == null) {
+                    return ResponseEntity.ok(new GenericResponse("Transactions retrieved successfully",
+                            new TransactionSearchResult(List.of(), null, false)));
+                }
+                accountId = account.getId();
+            }
+
+            String pattern = "%" + escapeLikePattern(query.trim()) + "%";
+            long deadline = System.currentTimeMillis() + searchBudgetMs;
+            long upperId = before != null ? before : transactionRepository.findMaxId() + 1;
+            List<Long> ids = new ArrayList<>();
+            boolean partial = false;
+
+            while (ids.size() < pageSize && upperId > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    partial = true;
+                    break;
+                }
+
+                long windowUpper = upperId;
+                long windowLower = Math.max(0, upperId - searchWindowSize);
+                int wanted = pageSize - ids.size();
+                Long windowAccountId = accountId;
+                try {
+                    ids.addAll(transactionTemplate.execute(status -> {
+                        transactionRepository.setLocalStatementTimeout(remaining + "ms");
+                        return transactionRepository.searchIdsInWindow(pattern, windowUpper, windowLower,
+                                windowAccountId, from, to, minAmount, maxAmount, wanted);
+                    }));
+                } catch (QueryTimeoutException e) {
+                    partial = true;
+                    break;
+                }
+                upperId = windowLower;
+            }
+
+            Long nextCursor = ids.size() == pageSize ? ids.get(ids.size() - 1) : (partial ? upperId : null);
+
+            Map<Long, BankTransaction> found = transactionRepository.findAllWithAccountByIdIn(ids)
+                    .stream().collect(Collectors.toMap(BankTransaction::getId, Function.identity()));
+            List<TransactionDto> transactions = ids.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .map(dtoMapper::mapToTransactionDto)
+                    .toList();
+
+            LOGGER.info("Transaction search returned {} results (partial: {})", transactions.size(), partial);
+            return ResponseEntity.ok(new GenericResponse("Transactions retrieved successfully",
+                    new TransactionSearchResult(transactions, nextCursor, partial)));
+        } catch (Exception e) {
+            LOGGER.error("Error searching transactions: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to search transactions"));
+        }
+    }
+
+    private String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -0,0 +1,16 @@
+package com.kenacbank.bankingservice.services.interfaces;
+
+import com.kenacbank.bankingservice.models.events.TransactionPostedEvent;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+public interface AnalyticsService {
+    ResponseEntity<GenericResponse> getTransactionRollups(String granularity, LocalDateTime from, LocalDateTime to,
+                                                          String currency, String transactionType, String status);
+
+    void onTransactionPosted(TransactionPostedEvent event);
+
+    void compactHourlyRollups();
+}
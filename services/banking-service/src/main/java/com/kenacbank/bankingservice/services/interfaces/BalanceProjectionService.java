@@ -0,0 +1,15 @@
+package com.kenacbank.bankingservice.services.interfaces;
+
+import com.kenacbank.bankingservice.models.events.AccountOpenedEvent;
+import com.kenacbank.bankingservice.models.events.AccountStatusChangedEvent;
+import com.kenacbank.bankingservice.models.events.TransactionPostedEvent;
+
+public interface BalanceProjectionService {
+    void onAccountOpened(AccountOpenedEvent event);
+
+    void onAccountStatusChanged(AccountStatusChangedEvent event);
+
+    void onTransactionPosted(TransactionPostedEvent event);
+
+    int rebuildMissing();
+}
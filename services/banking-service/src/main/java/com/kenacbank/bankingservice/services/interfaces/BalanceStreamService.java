@@ -0,0 +1,12 @@
+package com.kenacbank.bankingservice.services.interfaces;
+
+import com.kenacbank.bankingservice.models.events.BalanceUpdatedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface BalanceStreamService {
+    SseEmitter streamClientBalances(Long clientId, String lastEventId);
+
+    void onBalanceUpdated(BalanceUpdatedEvent event);
+
+    void sendHeartbeats();
+}
@@ -2,11 +2,16 @@ package com.kenacbank.bankingservice.services.interfaces;
 
 import com.kenacbank.bankingservice.models.reponses.GenericResponse;
 import com.kenacbank.bankingservice.models.requests.OpenAccountRequest;
+import com.kenacbank.bankingservice.models.requests.OpenAccountsRequest;
 import org.springframework.http.ResponseEntity;
 
 public interface BankingService {
     ResponseEntity<GenericResponse> openClientAccount(OpenAccountRequest request);
 
+    ResponseEntity<GenericResponse> openClientAccounts(OpenAccountsRequest request);
+
+    ResponseEntity<GenericResponse> closeClientAccounts(Long clientId);
+
     ResponseEntity<GenericResponse> approveAccount(String accountNumber);
 
     ResponseEntity<GenericResponse> getClientAccountBalances(Long clientId);
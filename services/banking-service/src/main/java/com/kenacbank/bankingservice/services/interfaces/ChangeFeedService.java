@@ -0,0 +1,14 @@
+package com.kenacbank.bankingservice.services.interfaces;
+
+import com.kenacbank.bankingservice.models.events.TransactionPostedEvent;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+public interface ChangeFeedService {
+    DeferredResult<ResponseEntity<GenericResponse>> getTransactionChanges(String after, String wait, Integer limit);
+
+    void onTransactionPosted(TransactionPostedEvent event);
+
+    void pollForChanges();
+}
@@ -0,0 +1,9 @@
+package com.kenacbank.bankingservice.services.interfaces;
+
+import com.kenacbank.bankingservice.models.events.StandingOrderScheduledEvent;
+
+public interface StandingOrderScheduler {
+    void onStandingOrderScheduled(StandingOrderScheduledEvent event);
+
+    void tick();
+}
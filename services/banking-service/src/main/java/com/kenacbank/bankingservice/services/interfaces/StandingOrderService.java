@@ -0,0 +1,13 @@
+package com.kenacbank.bankingservice.services.interfaces;
+
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.models.requests.StandingOrderRequest;
+import org.springframework.http.ResponseEntity;
+
+public interface StandingOrderService {
+    ResponseEntity<GenericResponse> createStandingOrder(StandingOrderRequest request);
+
+    ResponseEntity<GenericResponse> getStandingOrders(String accountNumber);
+
+    ResponseEntity<GenericResponse> cancelStandingOrder(String orderCode);
+}
@@ -4,8 +4,14 @@ import com.kenacbank.bankingservice.models.reponses.GenericResponse;
 import com.kenacbank.bankingservice.models.requests.NewTransactionRequest;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
+
 public interface TransactionService {
     ResponseEntity<GenericResponse> createTransaction(NewTransactionRequest request);
 
     ResponseEntity<GenericResponse> getAllTransactions();
+
+    ResponseEntity<GenericResponse> searchTransactions(String query, String accountNumber, LocalDateTime from,
+                                                       LocalDateTime to, Double minAmount, Double maxAmount,
+                                                       Long before, Integer limit);
 }
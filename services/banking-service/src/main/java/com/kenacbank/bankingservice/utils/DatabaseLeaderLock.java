@@ -0,0 +1,100 @@
+package com.kenacbank.bankingservice.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Elects a single leader among service replicas with a Postgres session advisory lock.
+ *
+ * <p>The replica that takes the lock keeps it on a dedicated connection for as long as
+ * that connection lives. If the leader stops or loses its connection, Postgres drops the
+ * lock and another replica takes it on its next attempt. The data source should open
+ * connections of its own rather than lend them from the application's pool, which would
+ * lose one connection for good and could hand the lock's session to other work when the
+ * pool retires or resets it. Not thread-safe; call it from one thread.</p>
+ */
+public class DatabaseLeaderLock implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseLeaderLock.class);
+
+    private final DataSource dataSource;
+    private final long lockKey;
+    private Connection connection;
+
+    public DatabaseLeaderLock(DataSource dataSource, long lockKey) {
+        this.dataSource = dataSource;
+        this.lockKey = lockKey;
+    }
+
+    /**
+     * Checks that this replica still holds the lock, trying to take it if not.
+     *
+     * @return true if this replica is the leader
+     */
+    public boolean tryAcquire() {
+        try {
+            if (connection != null) {
+                if (connection.isValid(2)) {
+                    return true;
+                }
+                LOGGER.warn("Lost the connection holding leader lock {}", lockKey);
+                release();
+            }
+
+            Connection candidate = dataSource.getConnection();
+            candidate.setAutoCommit(true);
+            try (PreparedStatement statement = candidate.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, lockKey);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getBoolean(1)) {
+                        connection = candidate;
+                        LOGGER.info("Acquired leader lock {}", lockKey);
+                        return true;
+                    }
+                }
+            }
+            candidate.close();
+            return false;
+        } catch (SQLException e) {
+            LOGGER.error("Failed to check leader lock {}: {}", lockKey, e.getMessage());
+            release();
+            return false;
+        }
+    }
+
+    public boolean isHeld() {
+        return connection != null;
+    }
+
+    private void release() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            // Closing drops the lock anyway, but unlock first in case the connection is pooled
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                statement.setLong(1, lockKey);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            LOGGER.debug("Could not unlock leader lock {}: {}", lockKey, e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Could not close leader lock connection: {}", e.getMessage());
+        }
+        connection = null;
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
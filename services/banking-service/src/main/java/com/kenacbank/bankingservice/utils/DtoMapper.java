@@ -1,7 +1,12 @@
 package com.kenacbank.bankingservice.utils;
 
+import com.kenacbank.bankingservice.models.dto.BalanceDto;
+import com.kenacbank.bankingservice.models.dto.StandingOrderDto;
+import com.kenacbank.bankingservice.models.dto.TransactionChangeDto;
 import com.kenacbank.bankingservice.models.dto.TransactionDto;
 import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.models.entities.ClientBalance;
+import com.kenacbank.bankingservice.models.entities.StandingOrder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,4 +24,49 @@ public class DtoMapper {
                 transaction.getCreatedAt()
         );
     }
+
+    public TransactionChangeDto mapToTransactionChangeDto(BankTransaction transaction){
+        return new TransactionChangeDto(
+                transaction.getChangeTxid() + "-" + transaction.getChangeSeq(),
+                transaction.getTransactionCode(),
+                transaction.getBankAccount().getAccountNumber(),
+                transaction.getTransactionType(),
+                transaction.getStatus(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getDescription(),
+                transaction.getCreatedAt(),
+                transaction.getUpdatedAt()
+        );
+    }
+
+    public BalanceDto mapToBalanceDto(ClientBalance balance){
+        return new BalanceDto(
+                balance.getAccountNumber(),
+                balance.getCurrency(),
+                balance.getBalance(),
+                balance.getStatus(),
+                balance.getUpdatedAt(),
+                balance.getAccountVersion()
+        );
+    }
+
+    public StandingOrderDto mapToStandingOrderDto(StandingOrder order){
+        return new StandingOrderDto(
+                order.getOrderCode(),
+                order.getAccountNumber(),
+                order.getBeneficiaryAccountNumber(),
+                order.getAmount(),
+                order.getCurrencyCode(),
+                order.getDescription(),
+                order.getFrequency().name(),
+                order.getStatus().name(),
+                order.getNextRunAt(),
+                order.getEndAt(),
+                order.getLastRunAt(),
+                order.getFailureCount(),
+                order.getLastError(),
+                order.getRetryAt()
+        );
+    }
 }
@@ -0,0 +1,151 @@
+package com.kenacbank.bankingservice.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding items until their due time.
+ *
+ * <p>Level 0 has {@code wheelSize} buckets of one tick each. Every level above covers
+ * {@code wheelSize} buckets of the full span of the level below, so four levels of 64
+ * one-second ticks reach about six months ahead. Items beyond the top level wait in an
+ * overflow list. Adding an item and advancing by a tick are both constant time, however
+ * many items are held. When a higher-level bucket comes up, its items cascade into the
+ * finer levels below.</p>
+ *
+ * <p>An item fires when time passes the end of the tick its due time falls in, so it is
+ * never early and at most one tick late. The wheel is not thread-safe; callers must
+ * confine it to one thread or synchronize around it.</p>
+ *
+ * @param <T> the type of item held
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] levelTickMs;
+    private final long[] currentTicks;
+    private final List<Entry<T>>[][] buckets;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levelTickMs = new long[levels];
+        this.currentTicks = new long[levels];
+        this.buckets = new List[levels][wheelSize];
+
+        long levelTick = tickMs;
+        for (int level = 0; level < levels; level++) {
+            levelTickMs[level] = levelTick;
+            currentTicks[level] = Math.floorDiv(startMs, levelTick);
+            for (int bucket = 0; bucket < wheelSize; bucket++) {
+                buckets[level][bucket] = new ArrayList<>();
+            }
+            levelTick = Math.multiplyExact(levelTick, wheelSize);
+        }
+    }
+
+    /**
+     * Adds an item to fire at the given time.
+     *
+     * @return false if the item is already due, in which case it is not held and the
+     *         caller should handle it straight away
+     */
+    public boolean add(T item, long dueMs) {
+        if (!place(new Entry<>(item, dueMs))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time, passing every item that has become due to
+     * the consumer in due order, bucket by bucket.
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        while (currentTicks[0] < targetTick) {
+            List<Entry<T>> due = takeBucket(0, currentTicks[0]);
+            size -= due.size();
+            due.forEach(entry -> expired.accept(entry.item()));
+
+            currentTicks[0]++;
+            long nowTickStart = currentTicks[0] * tickMs;
+            for (int level = 1; level < levelTickMs.length; level++) {
+                long levelTick = Math.floorDiv(nowTickStart, levelTickMs[level]);
+                if (levelTick == currentTicks[level]) {
+                    break;
+                }
+                currentTicks[level] = levelTick;
+                cascade(takeBucket(level, levelTick), expired);
+                if (level == levelTickMs.length - 1 && !overflow.isEmpty()) {
+                    List<Entry<T>> waiting = new ArrayList<>(overflow);
+                    overflow.clear();
+                    cascade(waiting, expired);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (List<Entry<T>>[] level : buckets) {
+            for (List<Entry<T>> bucket : level) {
+                bucket.clear();
+            }
+        }
+        overflow.clear();
+        size = 0;
+    }
+
+    private void cascade(List<Entry<T>> entries, Consumer<T> expired) {
+        for (Entry<T> entry : entries) {
+            if (!place(entry)) {
+                size--;
+                expired.accept(entry.item());
+            }
+        }
+    }
+
+    private boolean place(Entry<T> entry) {
+        long dueTick = Math.floorDiv(entry.dueMs(), tickMs);
+        if (dueTick < currentTicks[0]) {
+            return false;
+        }
+        for (int level = 0; level < levelTickMs.length; level++) {
+            long levelTick = Math.floorDiv(entry.dueMs(), levelTickMs[level]);
+            long distance = levelTick - currentTicks[level];
+            // Above level 0 the current bucket has already cascaded, so only later ones can take entries
+            if (distance < wheelSize && (level == 0 || distance > 0)) {
+                buckets[level][(int) Math.floorMod(levelTick, (long) wheelSize)].add(entry);
+                return true;
+            }
+        }
+        overflow.add(entry);
+        return true;
+    }
+
+    private List<Entry<T>> takeBucket(int level, long tick) {
+        List<Entry<T>> bucket = buckets[level][(int) Math.floorMod(tick, (long) wheelSize)];
+        if (bucket.isEmpty()) {
+            return List.of();
+        }
+        List<Entry<T>> taken = new ArrayList<>(bucket);
+        bucket.clear();
+        return taken;
+    }
+
+    private record Entry<T>(T item, long dueMs) {
+    }
+}
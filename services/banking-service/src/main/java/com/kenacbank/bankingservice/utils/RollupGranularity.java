@@ -0,0 +1,6 @@
+package com.kenacbank.bankingservice.utils;
+
+public enum RollupGranularity {
+    HOUR,
+    DAY
+}
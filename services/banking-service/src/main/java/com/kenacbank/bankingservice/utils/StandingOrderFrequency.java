@@ -0,0 +1,7 @@
+package com.kenacbank.bankingservice.utils;
+
+public enum StandingOrderFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
@@ -0,0 +1,8 @@
+package com.kenacbank.bankingservice.utils;
+
+public enum StandingOrderStatus {
+    ACTIVE,
+    CANCELLED,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,13 @@
+-- Account balances used to hold only the opening balance, and the balances read model added completed
+-- postings on top of it. Postings now move the account balance when they are made, withdrawals while
+-- still pending, so fold in the ones made before that. The read model is reseeded from the accounts
+-- on startup.
+UPDATE bank_accounts a
+SET balance = a.balance + p.total
+FROM (SELECT bank_account_id, SUM(amount) AS total
+      FROM bank_transactions
+      WHERE status = 'COMPLETED' OR (status = 'PENDING' AND amount < 0)
+      GROUP BY bank_account_id) p
+WHERE p.bank_account_id = a.id;
+
+DELETE FROM client_balances;
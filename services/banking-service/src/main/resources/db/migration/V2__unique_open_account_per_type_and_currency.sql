@@ -0,0 +1,6 @@
+-- A client holds at most one open account of each type and currency, so a retried or concurrent
+-- account opening conflicts instead of opening a second one. Closed accounts do not count.
+-- Fails if existing clients already hold duplicates, which have to be resolved by hand first.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_bank_accounts_open_client_type_currency
+    ON bank_accounts (client_id, account_type, currency)
+    WHERE status <> 'CLOSED';
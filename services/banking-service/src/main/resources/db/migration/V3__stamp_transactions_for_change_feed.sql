@@ -0,0 +1,19 @@
+-- Transactions written before the change feed trigger have no cursor and never appear in the feed.
+-- Stamp them once, in the order they were created, with this migration's transaction ID, so a consumer
+-- starting from the beginning reads them first. The trigger is disabled meanwhile so it does not
+-- reassign the sequence in whatever order the update happens to visit the rows.
+ALTER TABLE bank_transactions DISABLE TRIGGER bank_transactions_track_change;
+
+UPDATE bank_transactions t
+SET change_txid = CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT),
+    change_seq  = s.seq
+FROM (SELECT id, nextval('bank_transaction_change_seq') AS seq
+      FROM (SELECT id FROM bank_transactions WHERE change_seq IS NULL ORDER BY id) unstamped) s
+WHERE s.id = t.id;
+
+ALTER TABLE bank_transactions ENABLE TRIGGER bank_transactions_track_change;
+
+-- The feed only reads stamped rows, so the cursor index leaves out any that are not.
+DROP INDEX IF EXISTS idx_bank_transactions_change_cursor;
+CREATE INDEX idx_bank_transactions_change_cursor ON bank_transactions (change_txid, change_seq)
+    WHERE change_txid IS NOT NULL;
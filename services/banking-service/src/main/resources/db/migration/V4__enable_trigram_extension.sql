@@ -0,0 +1,2 @@
+-- Trigram operator classes for the description search index built by the next migration.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,6 @@
+-- Trigram index so description searches with ILIKE '%term%' are served from the index instead of a table scan.
+-- Built concurrently so postings are not blocked while it builds, which cannot happen inside a transaction,
+-- so this migration runs outside one (see the .conf file next to it) and must stay the only statement here.
+-- If the build fails it leaves an invalid index behind: drop it and repair Flyway before migrating again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bank_transactions_description_trgm
+    ON bank_transactions USING gin (description gin_trgm_ops);
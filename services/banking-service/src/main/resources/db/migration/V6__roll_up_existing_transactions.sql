@@ -0,0 +1,13 @@
+-- Rollups only counted transactions posted after they were introduced. Rebuild them from the
+-- transactions table, all as hourly buckets; the next compaction moves hours past the retention
+-- window into their daily buckets, and daily queries read uncompacted hours in the meantime.
+-- A posting committed on another replica just before this runs, but counted after it, is counted twice.
+DELETE FROM transaction_rollups;
+
+INSERT INTO transaction_rollups (granularity, bucket_start, currency, transaction_type, status, transaction_count, total_amount, updated_at)
+SELECT 'HOUR', date_trunc('hour', t.created_at), a.currency, t.transaction_type, t.status,
+       COUNT(*), SUM(ABS(t.amount)), now()
+FROM bank_transactions t
+JOIN bank_accounts a ON a.id = t.bank_account_id
+WHERE t.created_at IS NOT NULL AND t.transaction_type IS NOT NULL AND t.status IS NOT NULL AND t.amount IS NOT NULL
+GROUP BY date_trunc('hour', t.created_at), a.currency, t.transaction_type, t.status;
@@ -0,0 +1,29 @@
+-- Rollups count each transaction under the status it was posted with. When a transaction's status
+-- changes, for instance when a pending withdrawal completes, move it from the old status's bucket
+-- to the new one's. The trigger catches every writer, including settlement run outside the service.
+-- Deltas go to the hourly bucket of the transaction's creation time; for hours already compacted,
+-- the next compaction folds them into the daily bucket.
+CREATE OR REPLACE FUNCTION bank_transactions_roll_up_status_change() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO transaction_rollups (granularity, bucket_start, currency, transaction_type, status, transaction_count, total_amount, updated_at)
+    SELECT 'HOUR', date_trunc('hour', NEW.created_at), a.currency, NEW.transaction_type, d.status,
+           d.delta, d.delta * ABS(NEW.amount), now()
+    FROM bank_accounts a,
+         (VALUES (OLD.status, -1), (NEW.status, 1)) AS d(status, delta)
+    WHERE a.id = NEW.bank_account_id
+    ON CONFLICT (granularity, bucket_start, currency, transaction_type, status)
+    DO UPDATE SET transaction_count = transaction_rollups.transaction_count + EXCLUDED.transaction_count,
+                  total_amount = transaction_rollups.total_amount + EXCLUDED.total_amount,
+                  updated_at = EXCLUDED.updated_at;
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE TRIGGER bank_transactions_roll_up_status_change
+    AFTER UPDATE OF status ON bank_transactions
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status AND OLD.status IS NOT NULL AND NEW.status IS NOT NULL
+          AND NEW.created_at IS NOT NULL AND NEW.transaction_type IS NOT NULL AND NEW.amount IS NOT NULL)
+EXECUTE FUNCTION bank_transactions_roll_up_status_change();
@@ -0,0 +1,11 @@
+-- Account numbers are drawn from a sequence instead of scanning bank_accounts for the highest ID.
+-- The sequence is moved past any existing account ID so it never reissues a number.
+CREATE SEQUENCE IF NOT EXISTS bank_account_number_seq;
+SELECT setval('bank_account_number_seq', GREATEST((SELECT last_value FROM bank_account_number_seq), (SELECT COALESCE(MAX(id), 0) FROM bank_accounts), 1));
+
+-- Change feed: every insert or update stamps the row with the writing transaction ID and a change sequence.
+-- Readers only return rows written by transactions older than their snapshot's xmin, so a (txid, seq) cursor
+-- can never skip a row that commits later. Rows written before the trigger are stamped once by a migration.
+CREATE SEQUENCE IF NOT EXISTS bank_transaction_change_seq;
+CREATE OR REPLACE FUNCTION bank_transactions_track_change() RETURNS trigger LANGUAGE plpgsql AS 'BEGIN NEW.change_seq := nextval(''bank_transaction_change_seq''); NEW.change_txid := CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT); RETURN NEW; END';
+CREATE OR REPLACE TRIGGER bank_transactions_track_change BEFORE INSERT OR UPDATE ON bank_transactions FOR EACH ROW EXECUTE FUNCTION bank_transactions_track_change();
@@ -0,0 +1,71 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.BalanceDto;
+import com.kenacbank.bankingservice.models.events.BalanceUpdatedEvent;
+import com.kenacbank.bankingservice.repositories.ClientBalanceRepository;
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BalanceStreamServiceImplTests {
+
+    private final ClientBalanceRepository clientBalanceRepository = mock(ClientBalanceRepository.class);
+    private final TaskExecutor streamExecutor = mock(TaskExecutor.class);
+    private BalanceStreamServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BalanceStreamServiceImpl(clientBalanceRepository, new DtoMapper(), streamExecutor,
+                Duration.ofMinutes(30), 32, 100);
+        when(clientBalanceRepository.findByClientId(1L)).thenReturn(List.of());
+    }
+
+    @Test
+    void sendsUpdatesOnTheStreamExecutor() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(streamExecutor).execute(any(Runnable.class));
+        service.streamClientBalances(1L, null);
+
+        service.onBalanceUpdated(update(1L));
+        service.onBalanceUpdated(update(2L));
+
+        verify(streamExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void closesTheConnectionWhenTheStreamExecutorIsFull() {
+        doThrow(new TaskRejectedException("Executor is full")).when(streamExecutor).execute(any(Runnable.class));
+        service.streamClientBalances(1L, null);
+
+        // Rejected on the publishing thread without sending from it or failing the publisher
+        service.onBalanceUpdated(update(1L));
+        service.onBalanceUpdated(update(2L));
+        service.sendHeartbeats();
+
+        // The connection was dropped after the first rejection, so nothing more is scheduled for it
+        verify(streamExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    private static BalanceUpdatedEvent update(Long version) {
+        return new BalanceUpdatedEvent(1L, new BalanceDto("1001", Currency.USD, 100.0 * version,
+                BankAccountStatus.ACTIVE, LocalDateTime.now(), version));
+    }
+}
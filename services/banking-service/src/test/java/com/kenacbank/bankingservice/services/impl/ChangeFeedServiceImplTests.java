@@ -0,0 +1,140 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.TransactionChangeDto;
+import com.kenacbank.bankingservice.models.dto.TransactionChangesResult;
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.repositories.BankTransactionRepository;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChangeFeedServiceImplTests {
+
+    private final BankTransactionRepository transactionRepository = mock(BankTransactionRepository.class);
+    private ChangeFeedServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChangeFeedServiceImpl(transactionRepository, new DtoMapper(), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "maxWait", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(service, "maxPageSize", 500);
+    }
+
+    @Test
+    void startsFromTheBeginningWithoutACursor() {
+        when(transactionRepository.findChangedIdsAfter(0L, 0L, 100)).thenReturn(List.of());
+
+        TransactionChangesResult result = changes(service.getTransactionChanges(null, null, null));
+
+        assertThat(result.changes()).isEmpty();
+        assertThat(result.nextCursor()).isEqualTo("0-0");
+    }
+
+    @Test
+    void resumesAfterTheCursorAndReturnsTheLastChangesCursor() {
+        when(transactionRepository.findChangedIdsAfter(900L, 7L, 2)).thenReturn(List.of(2L, 1L));
+        when(transactionRepository.findAllWithAccountByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(transaction(1L, 901L, 1L), transaction(2L, 900L, 8L)));
+
+        TransactionChangesResult result = changes(service.getTransactionChanges("900-7", null, 2));
+
+        // In the order the cursor query returned them, not the order the rows were loaded in
+        assertThat(result.changes()).extracting(TransactionChangeDto::cursor).containsExactly("900-8", "901-1");
+        assertThat(result.nextCursor()).isEqualTo("901-1");
+    }
+
+    @Test
+    void keepsTheCursorWhenNothingIsNewer() {
+        when(transactionRepository.findChangedIdsAfter(901L, 1L, 100)).thenReturn(List.of());
+
+        assertThat(changes(service.getTransactionChanges("901-1", "0s", null)).nextCursor()).isEqualTo("901-1");
+    }
+
+    @Test
+    void capsThePageSize() {
+        when(transactionRepository.findChangedIdsAfter(0L, 0L, 500)).thenReturn(List.of());
+
+        service.getTransactionChanges(null, null, 10_000);
+
+        verify(transactionRepository).findChangedIdsAfter(0L, 0L, 500);
+    }
+
+    @Test
+    void rejectsMalformedCursorsAndWaits() {
+        for (String cursor : List.of("901", "901-1-2", "abc-1")) {
+            assertThat(status(service.getTransactionChanges(cursor, null, null))).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+        assertThat(status(service.getTransactionChanges(null, "-5s", null))).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(transactionRepository, never()).findChangedIdsAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void parksAnEmptyLongPollUntilAPostingArrives() {
+        when(transactionRepository.findChangedIdsAfter(901L, 1L, 100))
+                .thenReturn(List.of())
+                .thenReturn(List.of(3L));
+        when(transactionRepository.findAllWithAccountByIdIn(List.of(3L))).thenReturn(List.of(transaction(3L, 902L, 1L)));
+
+        DeferredResult<ResponseEntity<GenericResponse>> parked = service.getTransactionChanges("901-1", "30s", null);
+        assertThat(parked.hasResult()).isFalse();
+
+        service.onTransactionPosted(null);
+
+        assertThat(changes(parked).nextCursor()).isEqualTo("902-1");
+    }
+
+    @Test
+    void checksConsumersParkedOnTheSameCursorWithOneQuery() {
+        when(transactionRepository.findChangedIdsAfter(901L, 1L, 100))
+                .thenReturn(List.of(), List.of(), List.of(3L));
+        when(transactionRepository.findAllWithAccountByIdIn(List.of(3L))).thenReturn(List.of(transaction(3L, 902L, 1L)));
+        DeferredResult<ResponseEntity<GenericResponse>> first = service.getTransactionChanges("901-1", "30s", null);
+        DeferredResult<ResponseEntity<GenericResponse>> second = service.getTransactionChanges("901-1", "30s", null);
+
+        service.pollForChanges();
+
+        assertThat(changes(first).nextCursor()).isEqualTo("902-1");
+        assertThat(changes(second).nextCursor()).isEqualTo("902-1");
+        verify(transactionRepository, times(3)).findChangedIdsAfter(901L, 1L, 100);
+    }
+
+    private static BankTransaction transaction(Long id, Long changeTxid, Long changeSeq) {
+        return BankTransaction.builder()
+                .id(id)
+                .bankAccount(BankAccount.builder().accountNumber("1001").build())
+                .changeTxid(changeTxid)
+                .changeSeq(changeSeq)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TransactionChangesResult changes(DeferredResult<ResponseEntity<GenericResponse>> result) {
+        ResponseEntity<GenericResponse> response = (ResponseEntity<GenericResponse>) result.getResult();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (TransactionChangesResult) response.getBody().getData();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpStatus status(DeferredResult<ResponseEntity<GenericResponse>> result) {
+        return (HttpStatus) ((ResponseEntity<GenericResponse>) result.getResult()).getStatusCode();
+    }
+}
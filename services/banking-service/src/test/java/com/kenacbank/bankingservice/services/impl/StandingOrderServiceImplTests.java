@@ -0,0 +1,95 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.StandingOrder;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.models.requests.StandingOrderRequest;
+import com.kenacbank.bankingservice.repositories.BankAccountRepository;
+import com.kenacbank.bankingservice.repositories.StandingOrderRepository;
+import com.kenacbank.bankingservice.utils.BankAccountStatus;
+import com.kenacbank.bankingservice.utils.Currency;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StandingOrderServiceImplTests {
+
+    private final StandingOrderRepository standingOrderRepository = mock(StandingOrderRepository.class);
+    private final BankAccountRepository accountRepository = mock(BankAccountRepository.class);
+    private StandingOrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StandingOrderServiceImpl(standingOrderRepository, accountRepository, new DtoMapper(),
+                mock(ApplicationEventPublisher.class));
+        when(standingOrderRepository.save(any(StandingOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createsAnOrderInTheAccountsCurrency() {
+        account("1001", Currency.USD);
+        account("1002", Currency.USD);
+
+        ResponseEntity<GenericResponse> response = service.createStandingOrder(request("usd"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        verify(standingOrderRepository).save(any(StandingOrder.class));
+    }
+
+    @Test
+    void rejectsAnOrderInADifferentCurrencyToTheAccount() {
+        account("1001", Currency.USD);
+        account("1002", Currency.ZWG);
+
+        ResponseEntity<GenericResponse> response = service.createStandingOrder(request("ZWG"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).isEqualTo("Order currency does not match the account currency");
+        verify(standingOrderRepository, never()).save(any(StandingOrder.class));
+    }
+
+    @Test
+    void rejectsAnOrderInADifferentCurrencyToTheBeneficiary() {
+        account("1001", Currency.USD);
+        account("1002", Currency.ZWG);
+
+        ResponseEntity<GenericResponse> response = service.createStandingOrder(request("USD"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).isEqualTo("Order currency does not match the beneficiary account currency");
+        verify(standingOrderRepository, never()).save(any(StandingOrder.class));
+    }
+
+    @Test
+    void rejectsAnUnknownCurrency() {
+        ResponseEntity<GenericResponse> response = service.createStandingOrder(request("EUR"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(standingOrderRepository, never()).save(any(StandingOrder.class));
+    }
+
+    private void account(String accountNumber, Currency currency) {
+        BankAccount account = BankAccount.builder()
+                .accountNumber(accountNumber)
+                .currency(currency)
+                .status(BankAccountStatus.ACTIVE)
+                .build();
+        when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+    }
+
+    private static StandingOrderRequest request(String currencyCode) {
+        return new StandingOrderRequest("1001", "1002", 100.0, currencyCode, "Rent", "MONTHLY", null, null);
+    }
+}
@@ -0,0 +1,108 @@
+package com.kenacbank.bankingservice.services.impl;
+
+import com.kenacbank.bankingservice.models.dto.TransactionDto;
+import com.kenacbank.bankingservice.models.dto.TransactionSearchResult;
+import com.kenacbank.bankingservice.models.entities.BankAccount;
+import com.kenacbank.bankingservice.models.entities.BankTransaction;
+import com.kenacbank.bankingservice.models.reponses.GenericResponse;
+import com.kenacbank.bankingservice.repositories.BankAccountRepository;
+import com.kenacbank.bankingservice.repositories.BankTransactionRepository;
+import com.kenacbank.bankingservice.utils.DtoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceImplTests {
+
+    private final BankTransactionRepository transactionRepository = mock(BankTransactionRepository.class);
+    private TransactionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransactionServiceImpl(transactionRepository, mock(BankAccountRepository.class), new DtoMapper(),
+                mock(ApplicationEventPublisher.class), new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "searchBudgetMs", 60_000L);
+        ReflectionTestUtils.setField(service, "searchWindowSize", 100L);
+        ReflectionTestUtils.setField(service, "maxSearchPageSize", 200);
+        when(transactionRepository.findAllWithAccountByIdIn(any())).thenAnswer(invocation -> {
+            List<Long> ids = List.copyOf(invocation.getArgument(0));
+            return ids.stream().map(TransactionServiceImplTests::transaction).toList();
+        });
+    }
+
+    @Test
+    void returnsACursorAtTheLastRowOfAFullPage() {
+        when(transactionRepository.findMaxId()).thenReturn(250L);
+        window(251L, 151L, List.of(240L, 200L));
+        window(151L, 51L, List.of(120L));
+
+        TransactionSearchResult result = search(null, 3);
+
+        assertThat(result.transactions()).extracting(TransactionDto::transactionCode).containsExactly("T240", "T200", "T120");
+        assertThat(result.nextCursor()).isEqualTo(120L);
+        assertThat(result.partial()).isFalse();
+    }
+
+    @Test
+    void returnsTheRowsFoundSoFarWhenAWindowTimesOut() {
+        window(500L, 400L, List.of(450L));
+        when(transactionRepository.searchIdsInWindow(anyString(), eq(400L), eq(300L), isNull(), isNull(), isNull(),
+                isNull(), isNull(), anyInt())).thenThrow(new QueryTimeoutException("canceling statement"));
+
+        TransactionSearchResult result = search(500L, 10);
+
+        assertThat(result.transactions()).extracting(TransactionDto::transactionCode).containsExactly("T450");
+        assertThat(result.partial()).isTrue();
+        // Resumes at the window that timed out, below the windows already searched
+        assertThat(result.nextCursor()).isEqualTo(400L);
+    }
+
+    @Test
+    void returnsNoCursorOnceTheLowestWindowIsSearched() {
+        window(150L, 50L, List.of(70L));
+        window(50L, 0L, List.of());
+
+        TransactionSearchResult result = search(150L, 10);
+
+        assertThat(result.transactions()).hasSize(1);
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.partial()).isFalse();
+    }
+
+    private void window(Long upperId, Long lowerId, List<Long> ids) {
+        when(transactionRepository.searchIdsInWindow(anyString(), eq(upperId), eq(lowerId), isNull(), isNull(), isNull(),
+                isNull(), isNull(), anyInt())).thenReturn(ids);
+    }
+
+    private TransactionSearchResult search(Long before, int limit) {
+        ResponseEntity<GenericResponse> response = service.searchTransactions("rent", null, null, null, null, null,
+                before, limit);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (TransactionSearchResult) response.getBody().getData();
+    }
+
+    private static BankTransaction transaction(Long id) {
+        return BankTransaction.builder()
+                .id(id)
+                .transactionCode("T" + id)
+                .bankAccount(BankAccount.builder().accountNumber("1001").build())
+                .build();
+    }
+}
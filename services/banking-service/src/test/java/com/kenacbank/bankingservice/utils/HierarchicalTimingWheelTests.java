@@ -0,0 +1,96 @@
+package com.kenacbank.bankingservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTests {
+
+    @Test
+    void firesAnItemOnceTimePassesTheEndOfItsTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 64, 4, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.add("order", 1500);
+
+        wheel.advance(1999, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(2000, fired::add);
+        assertThat(fired).containsExactly("order");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void refusesItemsThatAreAlreadyDue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 64, 4, 10_000);
+
+        assertThat(wheel.add("overdue", 9_999)).isFalse();
+        assertThat(wheel.add("this tick", 10_500)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cascadesItemsFromHigherLevelsAndOverflowToTheirExactTick() {
+        // Two levels of four 1 ms buckets reach 16 ms ahead; later items start in the overflow list
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 4, 2, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> dueTimes = new HashMap<>();
+        for (int item = 0; item < 500; item++) {
+            long dueMs = random.nextInt(200);
+            dueTimes.put(item, dueMs);
+            assertThat(wheel.add(item, dueMs)).isTrue();
+        }
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        for (long now = 1; now <= 200; now++) {
+            long at = now;
+            wheel.advance(now, item -> assertThat(firedAt.put(item, at)).isNull());
+        }
+
+        assertThat(firedAt).hasSameSizeAs(dueTimes);
+        dueTimes.forEach((item, dueMs) -> assertThat(firedAt.get(item)).as("item %d due at %d", item, dueMs).isEqualTo(dueMs + 1));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesEverythingInDueOrderWhenAdvancedFarInOneStep() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 4, 2, 0);
+        List<Long> dueTimes = new Random(7).longs(300, 0, 1000).boxed().toList();
+        dueTimes.forEach(dueMs -> wheel.add(dueMs, dueMs));
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(1000, fired::add);
+
+        assertThat(fired).hasSameSizeAs(dueTimes).isSortedAccordingTo(Comparator.naturalOrder());
+    }
+
+    @Test
+    void clearDropsEveryHeldItem() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 4, 2, 0);
+        wheel.add("soon", 2);
+        wheel.add("later", 10);
+        wheel.add("overflow", 100);
+
+        wheel.clear();
+        List<String> fired = new ArrayList<>();
+        wheel.advance(200, fired::add);
+
+        assertThat(wheel.size()).isZero();
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(0, 64, 4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(1000, 1, 4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(1000, 64, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
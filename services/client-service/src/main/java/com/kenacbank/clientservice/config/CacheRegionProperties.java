@@ -0,0 +1,25 @@
+package com.kenacbank.clientservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and time-to-live settings for each Hibernate second-level cache region, bound
+ * from {@code application.cache.regions.<region>}.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.cache")
+public class CacheRegionProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+}
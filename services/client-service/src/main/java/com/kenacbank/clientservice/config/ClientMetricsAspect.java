@@ -0,0 +1,27 @@
+package com.kenacbank.clientservice.config;
+
+import com.kenacbank.common.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times client-service's service calls.
+ */
+@Aspect
+@Component
+public class ClientMetricsAspect extends ServiceMetricsAspect {
+
+    public ClientMetricsAspect(MeterRegistry meterRegistry) {
+        super(meterRegistry, "com.kenacbank.clientservice.services.interfaces");
+    }
+
+    // BankClient and AuthClient share the interfaces package but are Feign clients, already timed by Feign
+    @Override
+    @Pointcut("execution(public * com.kenacbank.clientservice.services.interfaces.*.*(..)) "
+            + "&& !execution(* com.kenacbank.clientservice.services.interfaces.BankClient.*(..)) "
+            + "&& !execution(* com.kenacbank.clientservice.services.interfaces.AuthClient.*(..))")
+    public void serviceCall() {
+    }
+}
@@ -42,6 +42,11 @@ public class ClientController {
         return clientService.getClientByUserId(userId);
     }
 
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<GenericResponse> deleteClientByUserId(@PathVariable Long userId) {
+        return clientService.deleteClientByUserId(userId);
+    }
+
     @PutMapping("/blacklist/{clientCode}")
     public ResponseEntity<GenericResponse> blacklistClient(@PathVariable String clientCode) {
         return clientService.blacklistClient(clientCode);
@@ -52,6 +57,11 @@ public class ClientController {
         return clientService.getBlacklistedClients();
     }
 
+    @GetMapping("/blacklisted-users")
+    public ResponseEntity<GenericResponse> getBlacklistedUserIds() {
+        return clientService.getBlacklistedUserIds();
+    }
+
     @GetMapping("/is-blacklisted/{userId}")
     public ResponseEntity<GenericResponse> isClientBlacklisted(@PathVariable Long userId) {
         return clientService.isClientBlacklisted(userId);
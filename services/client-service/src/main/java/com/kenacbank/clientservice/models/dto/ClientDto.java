@@ -3,6 +3,7 @@ package com.kenacbank.clientservice.models.dto;
 import java.time.LocalDateTime;
 
 public record ClientDto(
+        Long id,
         Long userId,
         String clientCode,
         String firstName,
@@ -3,6 +3,8 @@ package com.kenacbank.clientservice.models.entities;
 import com.kenacbank.clientservice.utils.CustomerStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -29,7 +31,9 @@ import java.time.LocalDateTime;
  * </ul>
  */
 @Entity
-@Table(name = "clients")
+@Table(name = "clients", indexes = @Index(name = "idx_clients_status", columnList = "status"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
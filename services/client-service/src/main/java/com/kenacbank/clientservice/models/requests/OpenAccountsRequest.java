@@ -0,0 +1,15 @@
+package com.kenacbank.clientservice.models.requests;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OpenAccountsRequest {
+    private Long clientId;
+    private List<OpenAccountRequest> accounts;
+}
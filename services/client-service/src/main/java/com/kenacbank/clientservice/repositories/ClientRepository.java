@@ -2,14 +2,27 @@ package com.kenacbank.clientservice.repositories;
 
 import com.kenacbank.clientservice.models.entities.Client;
 import com.kenacbank.clientservice.utils.CustomerStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Client> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Client> findByClientCode(String clientCode);
 
+    Optional<Client> findByUserId(Long userId);
+
     Optional<Client> findByStatus(CustomerStatus customerStatus);
+
+    @Query("SELECT c.userId FROM Client c WHERE c.status = :status")
+    List<Long> findUserIdsByStatus(@Param("status") CustomerStatus status);
 }
@@ -4,16 +4,16 @@ import com.kenacbank.clientservice.models.dto.ClientDto;
 import com.kenacbank.clientservice.models.entities.Client;
 import com.kenacbank.clientservice.models.requests.ClientRegisterRequest;
 import com.kenacbank.clientservice.models.requests.ClientUpdateRequest;
-import com.kenacbank.clientservice.models.requests.OpenAccountRequest;
 import com.kenacbank.clientservice.models.responses.GenericResponse;
 import com.kenacbank.clientservice.repositories.ClientRepository;
-import com.kenacbank.clientservice.services.interfaces.BankClient;
+import com.kenacbank.clientservice.services.interfaces.AuthClient;
 import com.kenacbank.clientservice.services.interfaces.ClientService;
 import com.kenacbank.clientservice.utils.CustomerStatus;
 import com.kenacbank.clientservice.utils.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -43,23 +43,29 @@ import java.util.UUID;
 public class ClientServiceImpl implements ClientService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientServiceImpl.class);
+    // Tells the gateway to drop its cached client reads after a change
+    private static final String CACHE_INVALIDATE_HEADER = "X-Cache-Invalidate";
+    private static final String CLIENT_READS = "/client/**";
 
     private final ClientRepository clientRepository;
     private final DtoMapper dtoMapper;
-    private final BankClient bankClient;
+    private final AuthClient authClient;
 
 
     /**
      * Registers a new client based on the provided registration request.
      *
      * <p>This method validates the request to ensure all required fields are present.
-     * If the email already exists in the system, it returns a bad request response.
-     * Otherwise, it creates a new client entity, saves it to the repository, and
-     * returns a success response. In case of any exceptions, it logs the error and
-     * returns a failure response.</p>
+     * Registration is a step of auth-service's registration saga and may be retried, so
+     * if a client already exists for the user it is returned as is, including when a
+     * concurrent attempt saves it first and the user ID's unique constraint rejects this
+     * one. If the email belongs to another user, it returns a bad request response.
+     * Otherwise, it creates a new client entity, saves it to the repository, and returns
+     * it; the client's accounts are opened by a later step of the saga. In case of any
+     * exceptions, it logs the error and returns a failure response.</p>
      *
      * @param request the client registration request containing user details
-     * @return a ResponseEntity containing a GenericResponse indicating success or failure
+     * @return a ResponseEntity containing a GenericResponse with the registered client
      */
     @Override
     public ResponseEntity<GenericResponse> registerClient(ClientRegisterRequest request) {
@@ -69,6 +75,13 @@ public class ClientServiceImpl implements ClientService {
                 return ResponseEntity.badRequest().body(new GenericResponse("All fields are required", false));
             }
 
+            Optional<Client> existingClient = clientRepository.findByUserId(request.getUserId());
+
+            if (existingClient.isPresent()) {
+                LOGGER.info("Client for user ID {} already registered", request.getUserId());
+                return ResponseEntity.ok(new GenericResponse("Client registered successfully", dtoMapper.mapToClientDto(existingClient.get())));
+            }
+
             Optional<Client> optionalClient = clientRepository.findByEmail(request.getEmail());
 
             if (optionalClient.isPresent()) {
@@ -87,28 +100,22 @@ public class ClientServiceImpl implements ClientService {
                     .createdAt(LocalDateTime.now())
                     .build();
 
-           Client savedClient = clientRepository.save(client);
+            Client savedClient;
+            try {
+                savedClient = clientRepository.save(client);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent attempt for the same user saved its client first
+                Optional<Client> concurrentClient = clientRepository.findByUserId(request.getUserId());
+                if (concurrentClient.isEmpty()) {
+                    throw e;
+                }
+                LOGGER.info("Client for user ID {} registered concurrently", request.getUserId());
+                return ResponseEntity.ok(new GenericResponse("Client registered successfully", dtoMapper.mapToClientDto(concurrentClient.get())));
+            }
 
             LOGGER.info("Client registered successfully: {}", client);
-            // Notify the banking service to create an account for the new client
-            OpenAccountRequest usdAccountRequest = OpenAccountRequest.builder()
-                    .clientId(savedClient.getId())
-                    .currency("USD")
-                    .accountType("CURRENT")
-                    .initialDeposit(0.00)
-                    .build();
-
-            OpenAccountRequest zwgAccountRequest = OpenAccountRequest.builder()
-                    .clientId(savedClient.getId())
-                    .currency("ZWG")
-                    .accountType("CURRENT")
-                    .initialDeposit(0.00)
-                    .build();
-
-            bankClient.openClientAccount(usdAccountRequest);
-            bankClient.openClientAccount(zwgAccountRequest);
-
-            return ResponseEntity.ok(new GenericResponse("Client registered successfully", true));
+            return ResponseEntity.ok().header(CACHE_INVALIDATE_HEADER, CLIENT_READS)
+                    .body(new GenericResponse("Client registered successfully", dtoMapper.mapToClientDto(savedClient)));
 
         } catch (Exception e) {
             LOGGER.error("Error registering client: {}", e.getMessage());
@@ -185,7 +192,8 @@ public class ClientServiceImpl implements ClientService {
 
             LOGGER.info("Client updated successfully: {}", client);
 
-            return ResponseEntity.ok(new GenericResponse("Client updated successfully", true));
+            return ResponseEntity.ok().header(CACHE_INVALIDATE_HEADER, CLIENT_READS)
+                    .body(new GenericResponse("Client updated successfully", true));
 
         } catch (Exception e) {
             LOGGER.error("Error updating client: {}", e.getMessage());
@@ -234,8 +242,10 @@ public class ClientServiceImpl implements ClientService {
             clientRepository.save(client);
 
             LOGGER.info("Client blacklisted successfully: {}", client);
+            notifyBlacklistChanged();
 
-            return ResponseEntity.ok(new GenericResponse("Client blacklisted successfully", true));
+            return ResponseEntity.ok().header(CACHE_INVALIDATE_HEADER, CLIENT_READS)
+                    .body(new GenericResponse("Client blacklisted successfully", true));
 
         } catch (Exception e) {
             LOGGER.error("Error blacklisting client: {}", e.getMessage());
@@ -316,4 +326,68 @@ public class ClientServiceImpl implements ClientService {
             return ResponseEntity.badRequest().body(new GenericResponse("Failed to check if client is blacklisted", false));
         }
     }
+
+    /**
+     * Retrieves the user IDs of all blacklisted clients.
+     *
+     * <p>This is the bulk snapshot auth-service keeps in memory to check logins, so only
+     * the IDs are selected. In case of any exceptions, it logs the error and returns a
+     * failure response.</p>
+     *
+     * @return a ResponseEntity containing a GenericResponse with the list of user IDs
+     */
+    @Override
+    public ResponseEntity<GenericResponse> getBlacklistedUserIds() {
+        try {
+            List<Long> userIds = clientRepository.findUserIdsByStatus(CustomerStatus.BLACKLISTED);
+            return ResponseEntity.ok(new GenericResponse("Blacklisted user IDs retrieved successfully", userIds));
+        } catch (Exception e) {
+            LOGGER.error("Error retrieving blacklisted user IDs: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to retrieve blacklisted user IDs", false));
+        }
+    }
+
+    /**
+     * Deletes the client registered for a user.
+     *
+     * <p>This undoes {@link #registerClient} when auth-service's registration saga cannot
+     * complete, and may be retried, so a client that does not exist is not an error.
+     * In case of any exceptions, it logs the error and returns a failure response.</p>
+     *
+     * @param userId the ID of the user whose client is deleted
+     * @return a ResponseEntity containing a GenericResponse indicating success or failure
+     */
+    @Override
+    public ResponseEntity<GenericResponse> deleteClientByUserId(Long userId) {
+        try {
+            Optional<Client> optionalClient = clientRepository.findByUserId(userId);
+
+            if (optionalClient.isEmpty()) {
+                LOGGER.info("No client to delete for user ID: {}", userId);
+                return ResponseEntity.ok(new GenericResponse("Client not found", true));
+            }
+
+            clientRepository.delete(optionalClient.get());
+            LOGGER.info("Client deleted for user ID: {}", userId);
+            return ResponseEntity.ok().header(CACHE_INVALIDATE_HEADER, CLIENT_READS)
+                    .body(new GenericResponse("Client deleted successfully", true));
+
+        } catch (Exception e) {
+            LOGGER.error("Error deleting client for user ID {}: {}", userId, e.getMessage());
+            return ResponseEntity.internalServerError().body(new GenericResponse("Failed to delete client", false));
+        }
+    }
+
+    /**
+     * Asks auth-service to reload its blacklist snapshot now rather than at its next
+     * scheduled refresh. The call reaches one auth replica, which passes it on to the
+     * others. This is only a hint, so a failure is logged and otherwise ignored.
+     */
+    private void notifyBlacklistChanged() {
+        try {
+            authClient.refreshBlacklist();
+        } catch (Exception e) {
+            LOGGER.warn("Failed to notify auth service of blacklist change: {}", e.getMessage());
+        }
+    }
 }
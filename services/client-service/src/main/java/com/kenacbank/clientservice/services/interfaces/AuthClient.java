@@ -0,0 +1,14 @@
+package com.kenacbank.clientservice.services.interfaces;
+
+import com.kenacbank.clientservice.models.responses.GenericResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import java.util.Optional;
+
+@FeignClient(name = "auth-service", url = "${application.config.auth-url:}", path = "/auth")
+public interface AuthClient {
+
+    @PostMapping("/blacklist/refresh")
+    Optional<GenericResponse> refreshBlacklist();
+}
@@ -1,6 +1,7 @@
 package com.kenacbank.clientservice.services.interfaces;
 
 import com.kenacbank.clientservice.models.requests.OpenAccountRequest;
+import com.kenacbank.clientservice.models.requests.OpenAccountsRequest;
 import com.kenacbank.clientservice.models.responses.GenericResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -8,9 +9,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.Optional;
 
-@FeignClient(name = "banking-service", url = "${application.config.banking-url}")
+@FeignClient(name = "banking-service", url = "${application.config.banking-url:}", path = "/banking")
 public interface BankClient {
 
     @PostMapping("/open-account")
     Optional<GenericResponse> openClientAccount(@RequestBody OpenAccountRequest request);
+
+    @PostMapping("/open-accounts")
+    Optional<GenericResponse> openClientAccounts(@RequestBody OpenAccountsRequest request);
 }
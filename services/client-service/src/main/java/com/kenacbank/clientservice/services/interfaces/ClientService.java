@@ -21,4 +21,8 @@ public interface ClientService {
     ResponseEntity<GenericResponse> getBlacklistedClients();
 
     ResponseEntity<GenericResponse> isClientBlacklisted(Long userId);
+
+    ResponseEntity<GenericResponse> getBlacklistedUserIds();
+
+    ResponseEntity<GenericResponse> deleteClientByUserId(Long userId);
 }
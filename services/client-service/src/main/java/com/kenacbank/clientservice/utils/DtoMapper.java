@@ -10,6 +10,7 @@ public class DtoMapper {
 
     public ClientDto mapToClientDto(Client client) {
         return new ClientDto(
+                client.getId(),
                 client.getUserId(),
                 client.getClientCode(),
                 client.getFirstName(),
@@ -0,0 +1,47 @@
+package com.kenacbank.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.time.Duration;
+
+/**
+ * Registers {@link SecondLevelCacheInvalidator} in services that use Hibernate on Postgres.
+ * It only sends and listens when the service enables the second-level cache.
+ *
+ * <p>The listener's connection is opened outside the application's pool, from the same
+ * {@code spring.datasource} settings, so it does not hold a pooled connection for good.</p>
+ */
+@AutoConfiguration(after = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass({SessionFactory.class, PGConnection.class, SimpleDriverDataSource.class})
+@ConditionalOnBean({EntityManagerFactory.class, DataSourceProperties.class})
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "enabled", matchIfMissing = true)
+public class CacheInvalidationAutoConfiguration {
+
+    @Bean
+    public SecondLevelCacheInvalidator secondLevelCacheInvalidator(
+            EntityManagerFactory entityManagerFactory,
+            DataSourceProperties dataSourceProperties,
+            @Value("${application.cache.invalidation.poll-timeout:5s}") Duration pollTimeout,
+            @Value("${application.cache.invalidation.reconnect-delay:2s}") Duration reconnectDelay) {
+        SimpleDriverDataSource listenerDataSource = DataSourceBuilder.create(dataSourceProperties.getClassLoader())
+                .type(SimpleDriverDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(dataSourceProperties.determineUrl())
+                .username(dataSourceProperties.determineUsername())
+                .password(dataSourceProperties.determinePassword())
+                .build();
+        return new SecondLevelCacheInvalidator(entityManagerFactory, listenerDataSource, pollTimeout, reconnectDelay);
+    }
+}
@@ -0,0 +1,167 @@
+package com.kenacbank.common.cache;
+
+import com.kenacbank.common.notify.PostgresNotificationListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps the second-level caches of a service's replicas in step. Each replica caches
+ * entities and query results locally, and Hibernate only updates the cache of the replica
+ * that made a change.
+ *
+ * <p>Every insert, update or delete of a cached entity sends a Postgres notification in
+ * the same transaction, so the other replicas hear of it once it commits. They evict the
+ * entity and their cached query results, which may have included or missed it. Whenever a
+ * replica starts listening, including after losing its connection, it clears its whole
+ * cache, since it may have missed notifications in between. The replica that made the
+ * change ignores its own notification, as Hibernate has already updated its cache.</p>
+ *
+ * <p>Bulk JPQL updates and deletes bypass entity events and are not sent. Entities they
+ * change should not be cached, or only where the region's time-to-live is an acceptable
+ * staleness.</p>
+ */
+public class SecondLevelCacheInvalidator
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener, SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+    static final String CHANNEL = "cache_invalidations";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final PostgresNotificationListener listener;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, DataSource listenerDataSource,
+                                       Duration pollTimeout, Duration reconnectDelay) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.listener = new PostgresNotificationListener(listenerDataSource, CHANNEL, this::receive, this::evictAll,
+                pollTimeout, reconnectDelay);
+        if (isEnabled()) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_INSERT, this);
+            registry.appendListeners(EventType.POST_UPDATE, this);
+            registry.appendListeners(EventType.POST_DELETE, this);
+        }
+    }
+
+    /**
+     * Whether the session factory caches anything, and so whether there is anything to keep
+     * in step.
+     */
+    public boolean isEnabled() {
+        return sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        send(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        send(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        send(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (isEnabled()) {
+            listener.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        listener.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener.isRunning();
+    }
+
+    private void send(SharedSessionContractImplementor session, EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        String payload = instanceId + " " + persister.getEntityName() + " " + id;
+        try {
+            PostgresNotificationListener.notify(
+                    session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection(), CHANNEL, payload);
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Could not send cache invalidation");
+        }
+    }
+
+    void receive(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length < 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        Cache cache = sessionFactory.getCache();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(parts[1]);
+        if (persister == null) {
+            return;
+        }
+        Object id = identifier(persister, parts[2]);
+        if (id == null) {
+            cache.evictEntityData(persister.getEntityName());
+        } else {
+            cache.evictEntityData(persister.getEntityName(), id);
+        }
+        cache.evictQueryRegions();
+    }
+
+    void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        LOGGER.debug("Cleared the second-level cache on listening for invalidations");
+    }
+
+    private static Object identifier(EntityPersister persister, String value) {
+        Class<?> type = persister.getIdentifierType().getReturnedClass();
+        try {
+            if (type == Long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == String.class) {
+                return value;
+            }
+            if (type == UUID.class) {
+                return UUID.fromString(value);
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kenacbank.common.flyway;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Runs Flyway migrations once Hibernate has updated the schema and {@code schema.sql} has
+ * run, rather than before the entity manager factory starts as Spring Boot does.
+ *
+ * <p>The services' tables are created and extended by Hibernate's {@code ddl-auto: update},
+ * so migrations that rewrite rows or build indexes can only run after it. Boot's own
+ * migration is replaced with a no-op and the migration runs from a bean that depends on
+ * database initialization instead. With {@code spring.flyway.baseline-on-migrate} set, a
+ * database whose tables Hibernate has just created is baselined and migrated like an
+ * existing one, so every migration must also work on empty tables.</p>
+ */
+@AutoConfiguration(before = FlywayAutoConfiguration.class)
+@ConditionalOnClass(Flyway.class)
+@ConditionalOnProperty(prefix = "spring.flyway", name = "enabled", matchIfMissing = true)
+public class DeferredFlywayAutoConfiguration {
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    @DependsOnDatabaseInitialization
+    public DeferredFlywayMigration deferredFlywayMigration(ObjectProvider<Flyway> flyway) {
+        return new DeferredFlywayMigration(flyway);
+    }
+
+    /**
+     * Migrates the database when it is initialized, after every database initializer.
+     */
+    public static class DeferredFlywayMigration implements InitializingBean {
+
+        private final ObjectProvider<Flyway> flyway;
+
+        DeferredFlywayMigration(ObjectProvider<Flyway> flyway) {
+            this.flyway = flyway;
+        }
+
+        @Override
+        public void afterPropertiesSet() {
+            flyway.ifAvailable(Flyway::migrate);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.kenacbank.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call made through a service interface, tagged with the interface, the
+ * method and the outcome of the call. Each service subclasses this as a component and
+ * declares {@link #serviceCall()}, the calls to time.
+ *
+ * <p>Services catch their own exceptions and answer with an error status, so a call
+ * returning a ResponseEntity is classified by that status rather than counted as a
+ * success. Repository calls are timed by Spring Data's own repository metrics and Feign
+ * calls by the Feign Micrometer capability. Percentiles and histogram buckets for all
+ * of these timers are set under {@code management.metrics.distribution}.</p>
+ *
+ * <p>Timers are registered on the first call with each method and outcome and reused
+ * after that, so timing a call costs one map lookup.</p>
+ */
+@Aspect
+public abstract class ServiceMetricsAspect {
+
+    private static final String SERVICE_CALLS = "kenac.service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final String serviceInterfaces;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> serviceNames = new ConcurrentHashMap<>();
+
+    /**
+     * @param serviceInterfaces the package of the service's interfaces, which the
+     *                          {@code service} tag is named after
+     */
+    protected ServiceMetricsAspect(MeterRegistry meterRegistry, String serviceInterfaces) {
+        this.meterRegistry = meterRegistry;
+        this.serviceInterfaces = serviceInterfaces;
+    }
+
+    /**
+     * The service calls to time.
+     */
+    @Pointcut
+    public abstract void serviceCall();
+
+    @Around("serviceCall()")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Outcome outcome = Outcome.EXCEPTION;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = Outcome.of(result);
+            return result;
+        } finally {
+            sample.stop(timer(SERVICE_CALLS, "Calls made through the service interfaces", joinPoint, outcome));
+        }
+    }
+
+    /**
+     * Times another kind of operation, such as password hashing, as the timer
+     * {@code name} tagged with the method as {@code operation} and whether it threw.
+     */
+    protected Object timeOperation(String name, String description, ProceedingJoinPoint joinPoint)
+            throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Outcome outcome = Outcome.EXCEPTION;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } finally {
+            sample.stop(timer(name, description, joinPoint, outcome));
+        }
+    }
+
+    private Timer timer(String name, String description, ProceedingJoinPoint joinPoint, Outcome outcome) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        return timers.computeIfAbsent(new TimerKey(name, type, method, outcome), key -> {
+            Timer.Builder timer = Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome.name());
+            return SERVICE_CALLS.equals(name)
+                    ? timer.tag("service", serviceName(type)).tag("method", method.getName()).register(meterRegistry)
+                    : timer.tag("operation", method.getName()).register(meterRegistry);
+        });
+    }
+
+    private String serviceName(Class<?> type) {
+        return serviceNames.computeIfAbsent(type, t -> Arrays.stream(t.getInterfaces())
+                .filter(i -> i.getPackageName().equals(serviceInterfaces))
+                .findFirst()
+                .orElse(t)
+                .getSimpleName());
+    }
+
+    private record TimerKey(String name, Class<?> type, Method method, Outcome outcome) {
+    }
+
+    private enum Outcome {
+        SUCCESS, CLIENT_ERROR, SERVER_ERROR, EXCEPTION;
+
+        static Outcome of(Object result) {
+            if (!(result instanceof ResponseEntity<?> response)) {
+                return SUCCESS;
+            }
+            HttpStatusCode status = response.getStatusCode();
+            if (status.is4xxClientError()) {
+                return CLIENT_ERROR;
+            }
+            if (status.is5xxServerError()) {
+                return SERVER_ERROR;
+            }
+            return SUCCESS;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kenacbank.common.notify;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Listens on a Postgres notification channel from a thread of its own and hands each
+ * payload to a consumer.
+ *
+ * <p>The listener holds one connection for as long as it runs, so it should come from a
+ * data source of its own rather than the application's pool. After each connect, once
+ * {@code LISTEN} has been issued, {@code onListening} runs, so the caller can catch up on
+ * whatever was sent while it was not listening. A lost connection is reopened after
+ * {@code reconnectDelay}.</p>
+ *
+ * <p>Notifications are sent with {@link #notify(Connection, String, String)}. Sent inside
+ * a transaction, they are delivered when it commits and dropped when it rolls back.</p>
+ */
+public class PostgresNotificationListener implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresNotificationListener.class);
+
+    /**
+     * Postgres limits notification payloads to 8000 bytes.
+     */
+    public static final int MAX_PAYLOAD_LENGTH = 7500;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final Consumer<String> onNotification;
+    private final Runnable onListening;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listener;
+
+    public PostgresNotificationListener(DataSource dataSource, String channel, Consumer<String> onNotification,
+                                        Runnable onListening, Duration pollTimeout, Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.onNotification = onNotification;
+        this.onListening = onListening;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Sends a notification on the connection's current transaction, if any.
+     */
+    public static void notify(Connection connection, String channel, String payload) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    /**
+     * Whether the channel is being listened on, so nothing sent now will be missed.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, channel + "-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(pollTimeout.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                onListening.run();
+                listening = true;
+                LOGGER.info("Listening for notifications on {}", channel);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null || notifications.length == 0) {
+                        if (!connection.isValid(2)) {
+                            throw new IllegalStateException("Listener connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        onNotification.accept(notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                listening = false;
+                if (running) {
+                    LOGGER.warn("Listener on {} failed, reconnecting: {}", channel, e.getMessage());
+                    try {
+                        Thread.sleep(reconnectDelay.toMillis());
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+        listening = false;
+    }
+}
@@ -0,0 +1,34 @@
+package com.kenacbank.common.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the {@code querystats} endpoint and the per-request statement count in services
+ * that use Hibernate. Statements are only counted when the service also names
+ * {@link StatementCounter} as its session factory's {@code statement_inspector}.
+ */
+@AutoConfiguration(after = {HibernateJpaAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class})
+@ConditionalOnClass(SessionFactory.class)
+@ConditionalOnBean(EntityManagerFactory.class)
+public class QueryStatisticsAutoConfiguration {
+
+    @Bean
+    public QueryStatisticsEndpoint queryStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new QueryStatisticsEndpoint(entityManagerFactory);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public StatementCountFilter statementCountFilter(MeterRegistry meterRegistry) {
+        return new StatementCountFilter(meterRegistry);
+    }
+}
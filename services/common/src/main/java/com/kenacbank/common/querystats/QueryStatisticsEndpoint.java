@@ -0,0 +1,102 @@
+package com.kenacbank.common.querystats;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing Hibernate's query and entity statistics.
+ *
+ * <p>Lists the slowest and the most frequently executed queries, with their execution
+ * counts, row counts and timings, along with session-wide statement counts and per-entity
+ * load and fetch counts. Statistics accumulate from startup until they are cleared with a
+ * DELETE, so a clear before a load run gives figures for that run alone.</p>
+ *
+ * <p>Registered by {@link QueryStatisticsAutoConfiguration} in every service with JPA.</p>
+ */
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+
+    private final Statistics statistics;
+
+    @Value("${application.query-stats.top:10}")
+    private int defaultTop;
+
+    public QueryStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> queryStatistics(@Nullable Integer top) {
+        int limit = top == null ? defaultTop : top;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        summary.put("since", statistics.getStart());
+        summary.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        summary.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        summary.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        summary.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        summary.put("entityLoadCount", statistics.getEntityLoadCount());
+        summary.put("entityFetchCount", statistics.getEntityFetchCount());
+        summary.put("collectionFetchCount", statistics.getCollectionFetchCount());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("summary", summary);
+        response.put("slowest", topQueries(Comparator.comparingLong(QueryStatistics::getExecutionMaxTime), limit));
+        response.put("mostFrequent", topQueries(Comparator.comparingLong(QueryStatistics::getExecutionCount), limit));
+        response.put("entities", entityStatistics());
+        return response;
+    }
+
+    @DeleteOperation
+    public void clearStatistics() {
+        statistics.clear();
+    }
+
+    private List<Map<String, Object>> topQueries(Comparator<QueryStatistics> order, int limit) {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+                .filter(entry -> entry.getValue().getExecutionCount() > 0)
+                .sorted(Map.Entry.<String, QueryStatistics>comparingByValue(order).reversed())
+                .limit(limit)
+                .map(entry -> {
+                    QueryStatistics query = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("query", entry.getKey());
+                    row.put("executionCount", query.getExecutionCount());
+                    row.put("executionRowCount", query.getExecutionRowCount());
+                    row.put("executionAvgTimeMs", query.getExecutionAvgTime());
+                    row.put("executionMaxTimeMs", query.getExecutionMaxTime());
+                    row.put("executionMinTimeMs", query.getExecutionMinTime());
+                    return row;
+                })
+                .toList();
+    }
+
+    private Map<String, Object> entityStatistics() {
+        Map<String, Object> entities = new LinkedHashMap<>();
+        for (String entityName : statistics.getEntityNames()) {
+            EntityStatistics entity = statistics.getEntityStatistics(entityName);
+            entities.put(entityName, Map.of(
+                    "loadCount", entity.getLoadCount(),
+                    "fetchCount", entity.getFetchCount(),
+                    "insertCount", entity.getInsertCount(),
+                    "updateCount", entity.getUpdateCount()));
+        }
+        return entities;
+    }
+}
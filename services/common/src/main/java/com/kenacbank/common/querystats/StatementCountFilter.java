@@ -0,0 +1,51 @@
+package com.kenacbank.common.querystats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each HTTP request issues and logs requests that issue
+ * more than the configured threshold, which is usually an N+1 load pattern.
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementCountFilter.class);
+
+    private final DistributionSummary statementsPerRequest;
+
+    @Value("${application.query-stats.statement-threshold:20}")
+    private int statementThreshold;
+
+    public StatementCountFilter(MeterRegistry meterRegistry) {
+        this.statementsPerRequest = DistributionSummary.builder("kenac.http.request.statements")
+                .description("SQL statements issued per HTTP request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.stop();
+            statementsPerRequest.record(statements);
+            if (statements > statementThreshold) {
+                LOGGER.warn("{} {} issued {} SQL statements (threshold {})",
+                        request.getMethod(), request.getRequestURI(), statements, statementThreshold);
+            }
+        }
+    }
+}
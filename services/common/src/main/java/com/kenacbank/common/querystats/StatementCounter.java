@@ -0,0 +1,35 @@
+package com.kenacbank.common.querystats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * <p>Registered as the session factory's statement inspector, so every statement,
+ * including lazy loads triggered while mapping entities, passes through it. Counting is
+ * only active between {@link #start()} and {@link #stop()}, which the
+ * {@link StatementCountFilter} calls around each HTTP request.</p>
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
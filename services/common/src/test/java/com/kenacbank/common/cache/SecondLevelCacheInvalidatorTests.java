@@ -0,0 +1,99 @@
+package com.kenacbank.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SecondLevelCacheInvalidatorTests {
+
+    private static final String ENTITY = "com.kenacbank.Client";
+
+    private final CacheImplementor cache = mock(CacheImplementor.class);
+    private SecondLevelCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        when(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).thenReturn(false);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        EntityPersister persister = mock(EntityPersister.class);
+        Type identifierType = mock(Type.class);
+        doReturn(Long.class).when(identifierType).getReturnedClass();
+        when(persister.getIdentifierType()).thenReturn(identifierType);
+        when(persister.getEntityName()).thenReturn(ENTITY);
+        MappingMetamodelImplementor metamodel = mock(MappingMetamodelImplementor.class);
+        when(metamodel.findEntityDescriptor(ENTITY)).thenReturn(persister);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(metamodel);
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        invalidator = new SecondLevelCacheInvalidator(entityManagerFactory, mock(DataSource.class),
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void evictsTheEntityAndQueryResultsChangedByAnotherReplica() {
+        invalidator.receive("other-replica " + ENTITY + " 42");
+
+        verify(cache).evictEntityData(ENTITY, 42L);
+        verify(cache).evictQueryRegions();
+    }
+
+    @Test
+    void evictsTheWholeRegionWhenTheIdentifierCannotBeRead() {
+        invalidator.receive("other-replica " + ENTITY + " not-a-number");
+
+        verify(cache).evictEntityData(ENTITY);
+        verify(cache).evictQueryRegions();
+    }
+
+    @Test
+    void ignoresUnknownEntitiesAndMalformedPayloads() {
+        invalidator.receive("other-replica com.kenacbank.Unknown 1");
+        invalidator.receive("garbage");
+
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void clearsEverythingWhenItStartsListening() {
+        invalidator.evictAll();
+
+        verify(cache).evictAllRegions();
+        verify(cache, never()).evictQueryRegions();
+    }
+
+    @Test
+    void doesNotListenWithoutSecondLevelCache() {
+        assertThat(invalidator.isEnabled()).isFalse();
+        invalidator.start();
+        assertThat(invalidator.isRunning()).isFalse();
+    }
+
+    @Test
+    void backsOffWithoutJpa() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(CacheInvalidationAutoConfiguration.class))
+                .run(context -> assertThat(context).doesNotHaveBean(SecondLevelCacheInvalidator.class));
+    }
+}
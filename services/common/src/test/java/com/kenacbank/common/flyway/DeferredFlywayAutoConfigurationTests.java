@@ -0,0 +1,45 @@
+package com.kenacbank.common.flyway;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class DeferredFlywayAutoConfigurationTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DeferredFlywayAutoConfiguration.class));
+
+    @Test
+    void replacesBootsMigrationAndMigratesOnceInitialized() {
+        Flyway flyway = mock(Flyway.class);
+        contextRunner.withBean(Flyway.class, () -> flyway)
+                .run(context -> {
+                    context.getBean(FlywayMigrationStrategy.class).migrate(flyway);
+                    verify(flyway).migrate();
+                });
+    }
+
+    @Test
+    void doesNothingWithoutFlyway() {
+        contextRunner.run(context ->
+                assertThat(context).hasSingleBean(DeferredFlywayAutoConfiguration.DeferredFlywayMigration.class));
+    }
+
+    @Test
+    void backsOffWhenFlywayIsDisabled() {
+        Flyway flyway = mock(Flyway.class);
+        contextRunner.withBean(Flyway.class, () -> flyway)
+                .withPropertyValues("spring.flyway.enabled=false")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(FlywayMigrationStrategy.class);
+                    verifyNoInteractions(flyway);
+                });
+    }
+}
@@ -0,0 +1,119 @@
+package com.kenacbank.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServiceMetricsAspectTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GreetingService service;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new DefaultGreetingService());
+        factory.addAspect(new GreetingMetricsAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void timesServiceCallsByInterfaceMethodAndOutcome() {
+        service.greet("a");
+        service.greet("b");
+        service.find("missing");
+        assertThatThrownBy(() -> service.greet(null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(serviceCalls("greet", "SUCCESS").count()).isEqualTo(2);
+        assertThat(serviceCalls("find", "CLIENT_ERROR").count()).isEqualTo(1);
+        assertThat(serviceCalls("greet", "EXCEPTION").count()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesOneTimerPerMethodAndOutcome() {
+        service.greet("a");
+        Timer first = serviceCalls("greet", "SUCCESS");
+        service.greet("b");
+
+        assertThat(serviceCalls("greet", "SUCCESS")).isSameAs(first);
+        assertThat(meterRegistry.find("kenac.service.calls").timers()).hasSize(1);
+    }
+
+    @Test
+    void timesOtherOperationsSeparately() {
+        service.hash("secret");
+
+        Timer hashing = meterRegistry.get("kenac.test.hashing")
+                .tag("operation", "hash")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertThat(hashing.count()).isEqualTo(1);
+        assertThat(meterRegistry.find("kenac.service.calls").tag("method", "hash").timers()).hasSize(1);
+    }
+
+    private Timer serviceCalls(String method, String outcome) {
+        return meterRegistry.get("kenac.service.calls")
+                .tag("service", "GreetingService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    public interface GreetingService {
+
+        String greet(String name);
+
+        ResponseEntity<String> find(String name);
+
+        String hash(String value);
+    }
+
+    static class DefaultGreetingService implements GreetingService {
+
+        @Override
+        public String greet(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("No name");
+            }
+            return "Hello " + name;
+        }
+
+        @Override
+        public ResponseEntity<String> find(String name) {
+            return ResponseEntity.notFound().build();
+        }
+
+        @Override
+        public String hash(String value) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+
+    @Aspect
+    static class GreetingMetricsAspect extends ServiceMetricsAspect {
+
+        GreetingMetricsAspect(MeterRegistry meterRegistry) {
+            super(meterRegistry, "com.kenacbank.common.metrics");
+        }
+
+        @Override
+        @Pointcut("execution(public * com.kenacbank.common.metrics.ServiceMetricsAspectTests.GreetingService.*(..))")
+        public void serviceCall() {
+        }
+
+        @Around("execution(public * com.kenacbank.common.metrics.ServiceMetricsAspectTests.GreetingService.hash(..))")
+        public Object timeHashing(ProceedingJoinPoint joinPoint) throws Throwable {
+            return timeOperation("kenac.test.hashing", "Hashing", joinPoint);
+        }
+    }
+}
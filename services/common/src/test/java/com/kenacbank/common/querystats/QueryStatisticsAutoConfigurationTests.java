@@ -0,0 +1,85 @@
+package com.kenacbank.common.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QueryStatisticsAutoConfigurationTests {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(QueryStatisticsAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void registersEndpointAndFilterWithJpa() {
+        contextRunner.withBean(EntityManagerFactory.class, QueryStatisticsAutoConfigurationTests::entityManagerFactory)
+                .run(context -> {
+                    assertThat(context).hasSingleBean(QueryStatisticsEndpoint.class);
+                    assertThat(context).hasSingleBean(StatementCountFilter.class);
+                });
+    }
+
+    @Test
+    void backsOffWithoutJpa() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(QueryStatisticsEndpoint.class);
+            assertThat(context).doesNotHaveBean(StatementCountFilter.class);
+        });
+    }
+
+    @Test
+    void registersNoFilterOutsideServletApplications() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(QueryStatisticsAutoConfiguration.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withBean(EntityManagerFactory.class, QueryStatisticsAutoConfigurationTests::entityManagerFactory)
+                .run(context -> {
+                    assertThat(context).hasSingleBean(QueryStatisticsEndpoint.class);
+                    assertThat(context).doesNotHaveBean(StatementCountFilter.class);
+                });
+    }
+
+    @Test
+    void countsStatementsOfEachRequest() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StatementCountFilter filter = new StatementCountFilter(meterRegistry);
+        StatementCounter counter = new StatementCounter();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                counter.inspect("select 1");
+                counter.inspect("select 2");
+            }
+        });
+
+        counter.inspect("select outside a request");
+        filter.doFilter(new MockHttpServletRequest("GET", "/accounts"), new MockHttpServletResponse(), chain);
+
+        assertThat(meterRegistry.get("kenac.http.request.statements").summary().totalAmount()).isEqualTo(2);
+        assertThat(StatementCounter.stop()).isZero();
+    }
+
+    private static EntityManagerFactory entityManagerFactory() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getStatistics()).thenReturn(mock(Statistics.class));
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        return entityManagerFactory;
+    }
+}
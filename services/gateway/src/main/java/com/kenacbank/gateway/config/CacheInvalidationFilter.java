@@ -0,0 +1,61 @@
+package com.kenacbank.gateway.config;
+
+import com.kenacbank.gateway.config.services.ResponseCacheStore;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lets downstream services evict cached responses they have just made stale. A response
+ * carrying {@link #INVALIDATE_HEADER}, a comma-separated list of path patterns such as
+ * {@code /client/**}, removes the matching entries from this gateway's
+ * {@link ResponseCacheStore} for every caller. The header is not passed on to the client.
+ *
+ * <p>Only the replica that routed the write evicts; other replicas serve their copies
+ * until the route's time-to-live runs out.</p>
+ */
+public class CacheInvalidationFilter implements GlobalFilter, Ordered {
+
+    public static final String INVALIDATE_HEADER = "X-Cache-Invalidate";
+
+    private final ResponseCacheStore store;
+
+    public CacheInvalidationFilter(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        exchange.getResponse().beforeCommit(() -> {
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            String patterns = headers.getFirst(INVALIDATE_HEADER);
+            if (patterns != null) {
+                headers.remove(INVALIDATE_HEADER);
+                store.invalidate(parse(patterns));
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return JwtAuthenticationFilter.ORDER + 1;
+    }
+
+    private static List<PathPattern> parse(String patterns) {
+        return Arrays.stream(patterns.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+}
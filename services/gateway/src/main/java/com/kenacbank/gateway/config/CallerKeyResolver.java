@@ -0,0 +1,41 @@
+package com.kenacbank.gateway.config;
+
+import com.kenacbank.gateway.config.services.GatewayPrincipal;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Resolves the caller a request is rate limited as: the user verified by
+ * {@link JwtAuthenticationFilter} when there is one, otherwise the client address.
+ *
+ * <p>With {@code trusted-proxy-hops} proxies in front of the gateway, the client address is
+ * read from the {@code X-Forwarded-For} entry the outermost trusted proxy added, so neither
+ * the proxies' own addresses nor entries a client forged at the front of the header are
+ * used. With none, it is the address of the connection.</p>
+ */
+public class CallerKeyResolver implements KeyResolver {
+
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    public CallerKeyResolver(int trustedProxyHops) {
+        this.remoteAddressResolver = trustedProxyHops > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxyHops)
+                : new RemoteAddressResolver() { };
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        GatewayPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+        if (principal != null) {
+            return Mono.just("user:" + principal.userCode());
+        }
+        InetSocketAddress remoteAddress = remoteAddressResolver.resolve(exchange);
+        return Mono.just("ip:" + (remoteAddress == null || remoteAddress.getAddress() == null
+                ? "unknown" : remoteAddress.getAddress().getHostAddress()));
+    }
+}
@@ -0,0 +1,236 @@
+package com.kenacbank.gateway.config;
+
+import com.kenacbank.gateway.config.services.GatewayPrincipal;
+import com.kenacbank.gateway.config.services.RequestCoalescer;
+import com.kenacbank.gateway.config.services.RequestKey;
+import com.kenacbank.gateway.config.services.TokenBucketRateLimiter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Route filter that answers identical GETs arriving together with a single downstream
+ * call, configured per route as
+ * <pre>
+ * - name: Coalesce
+ *   args:
+ *     paths: /client/*
+ *     maximum-response-size: 256KB
+ * </pre>
+ *
+ * <p>A GET to one of the paths, or to any path of the route when none are listed, joins
+ * the {@link RequestCoalescer} flight for its route, caller, path and query. The first
+ * request makes the call and the ones that arrive while it is in flight get a copy of its
+ * response, so nothing is served that is older than the request waiting for it. Only 200
+ * responses up to {@code maximum-response-size} are shared. When there is nothing to share
+ * each waiting request makes its own call.</p>
+ *
+ * <p>It runs in its place in the route's filters, so listed after {@code RequestRateLimiter}
+ * every waiting request is counted against its caller's limit, and after
+ * {@code ResponseCache} it only sees cache misses. The leader's body is recorded through
+ * {@link DeferredResponseDecoratorFilter}.</p>
+ */
+public class CoalesceGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalesceGatewayFilterFactory.Config> {
+
+    /**
+     * Each request's own rate limit headers, along with the {@code X-RateLimit-*} headers of
+     * Spring Cloud Gateway's limiters, are never shared, whatever order the route's filters
+     * are listed in. Followers get theirs from their own {@code RequestRateLimiter}.
+     */
+    private static final Set<String> RATE_LIMIT_HEADERS = Set.of(
+            TokenBucketRateLimiter.LIMIT_HEADER, TokenBucketRateLimiter.REMAINING_HEADER,
+            TokenBucketRateLimiter.RESET_HEADER, HttpHeaders.RETRY_AFTER);
+    private static final String GATEWAY_RATE_LIMIT_HEADER_PREFIX = "x-ratelimit-";
+
+    private final RequestCoalescer coalescer;
+
+    public CoalesceGatewayFilterFactory(RequestCoalescer coalescer) {
+        super(Config.class);
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("paths");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> paths = config.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        long maximumResponseBytes = config.getMaximumResponseSize().toBytes();
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || !matches(paths, request)) {
+                return chain.filter(exchange);
+            }
+
+            GatewayPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+            RequestCoalescer.Flight flight = coalescer.join(RequestKey.of(exchange, principal));
+            if (flight == null) {
+                return chain.filter(exchange);
+            }
+
+            if (!flight.leader()) {
+                return flight.response()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(shared -> {
+                            if (shared.isPresent()) {
+                                return write(exchange.getResponse(), shared.get());
+                            }
+                            coalescer.recordFallback();
+                            return chain.filter(exchange);
+                        });
+            }
+
+            // Headers set by earlier filters belong to the leader
+            Set<String> ownHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            ownHeaders.addAll(exchange.getResponse().getHeaders().keySet());
+            ownHeaders.addAll(RATE_LIMIT_HEADERS);
+            if (!DeferredResponseDecoratorFilter.decorate(exchange,
+                    response -> new RecordingResponse(response, flight, maximumResponseBytes, ownHeaders))) {
+                coalescer.land(flight, null);
+                return chain.filter(exchange);
+            }
+            // The body is written after this chain completes, so only a failed call lands here
+            return chain.filter(exchange)
+                    .doOnError(error -> coalescer.land(flight, null))
+                    .doOnCancel(() -> coalescer.land(flight, null));
+        };
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, RequestCoalescer.SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static boolean matches(List<PathPattern> paths, ServerHttpRequest request) {
+        if (paths.isEmpty()) {
+            return true;
+        }
+        for (PathPattern path : paths) {
+            if (path.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the leader's response on as it arrives, keeping a copy of a small enough 200
+     * body and landing the flight with it once the downstream body is complete. Any other
+     * response lands the flight empty once written.
+     */
+    private class RecordingResponse extends ServerHttpResponseDecorator {
+
+        private final RequestCoalescer.Flight flight;
+        private final long maximumResponseBytes;
+        private final Set<String> ownHeaders;
+        private boolean tooLarge;
+
+        RecordingResponse(ServerHttpResponse delegate, RequestCoalescer.Flight flight, long maximumResponseBytes,
+                          Set<String> ownHeaders) {
+            super(delegate);
+            this.flight = flight;
+            this.maximumResponseBytes = maximumResponseBytes;
+            this.ownHeaders = ownHeaders;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || getHeaders().getContentLength() > maximumResponseBytes) {
+                return super.writeWith(body).doFinally(signal -> coalescer.land(flight, null));
+            }
+
+            HttpHeaders shared = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (!ownHeaders.contains(name)
+                        && !name.toLowerCase(Locale.ROOT).startsWith(GATEWAY_RATE_LIMIT_HEADER_PREFIX)) {
+                    shared.put(name, List.copyOf(values));
+                }
+            });
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            Flux<DataBuffer> recorded = Flux.<DataBuffer>from(body)
+                    .doOnNext(buffer -> {
+                        if (tooLarge || copy.size() + buffer.readableByteCount() > maximumResponseBytes) {
+                            tooLarge = true;
+                            coalescer.land(flight, null);
+                            return;
+                        }
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        int start = buffer.readPosition();
+                        buffer.read(bytes);
+                        buffer.readPosition(start);
+                        copy.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> coalescer.land(flight,
+                            new RequestCoalescer.SharedResponse(status, shared, copy.toByteArray())));
+            return super.writeWith(recorded).doFinally(signal -> coalescer.land(flight, null));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(body).doFinally(signal -> coalescer.land(flight, null));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return super.setComplete().doFinally(signal -> coalescer.land(flight, null));
+        }
+    }
+
+    public static class Config {
+
+        private List<String> paths = new ArrayList<>();
+        private DataSize maximumResponseSize = DataSize.ofKilobytes(256);
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public Config setPaths(List<String> paths) {
+            this.paths = paths;
+            return this;
+        }
+
+        public DataSize getMaximumResponseSize() {
+            return maximumResponseSize;
+        }
+
+        public Config setMaximumResponseSize(DataSize maximumResponseSize) {
+            this.maximumResponseSize = maximumResponseSize;
+            return this;
+        }
+    }
+}
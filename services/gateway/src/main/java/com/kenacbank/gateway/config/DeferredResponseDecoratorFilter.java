@@ -0,0 +1,88 @@
+package com.kenacbank.gateway.config;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets route filters that run after the response writer has been set up still see the
+ * body they pass on, through {@link #decorate(ServerWebExchange, UnaryOperator)}.
+ *
+ * <p>The downstream body is written to the response of the exchange the writer was given,
+ * so a filter that wants it must otherwise run ahead of the writer, and so ahead of every
+ * route filter such as {@code RequestRateLimiter}. This filter sits ahead of the writer
+ * instead and applies the decorators registered further down the chain when the response
+ * is written or completed, the last registered outermost. The chain below a route filter
+ * completes before the writer has written anything, so a decorator, not the route
+ * filter, must tell when the body is done.</p>
+ */
+public class DeferredResponseDecoratorFilter implements GlobalFilter, Ordered {
+
+    private static final String DECORATORS_ATTRIBUTE = DeferredResponseDecoratorFilter.class.getName() + ".decorators";
+
+    /**
+     * Registers a decorator for the body of the exchange's response.
+     *
+     * @return {@code false} when this filter is not installed, so nothing would be decorated
+     */
+    public static boolean decorate(ServerWebExchange exchange, UnaryOperator<ServerHttpResponse> decorator) {
+        List<UnaryOperator<ServerHttpResponse>> decorators = exchange.getAttribute(DECORATORS_ATTRIBUTE);
+        if (decorators == null) {
+            return false;
+        }
+        decorators.add(decorator);
+        return true;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        List<UnaryOperator<ServerHttpResponse>> decorators = new ArrayList<>(1);
+        exchange.getAttributes().put(DECORATORS_ATTRIBUTE, decorators);
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+
+            private ServerHttpResponse decorated;
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return decorated().writeWith(body);
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return decorated().writeAndFlushWith(body);
+            }
+
+            @Override
+            public Mono<Void> setComplete() {
+                return decorated().setComplete();
+            }
+
+            private ServerHttpResponse decorated() {
+                if (decorated == null) {
+                    decorated = getDelegate();
+                    for (UnaryOperator<ServerHttpResponse> decorator : decorators) {
+                        decorated = decorator.apply(decorated);
+                    }
+                }
+                return decorated;
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,132 @@
+package com.kenacbank.gateway.config;
+
+import com.kenacbank.gateway.config.services.JwksKeySource;
+import com.kenacbank.gateway.config.services.RequestCoalescer;
+import com.kenacbank.gateway.config.services.ResponseCacheStore;
+import com.kenacbank.gateway.config.services.RevocationFeed;
+import com.kenacbank.gateway.config.services.TokenBucketRateLimiter;
+import com.kenacbank.gateway.config.services.TokenVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+
+@Configuration
+@EnableConfigurationProperties({JwtAuthProperties.class, InternalPathProperties.class, RateLimitProperties.class,
+        ResponseCacheProperties.class, RequestCoalescingProperties.class})
+public class GatewayConfig {
+
+    /**
+     * Source of auth-service's signing keys. An {@code lb://} JWKS URL is fetched through
+     * the load balancer, like the routes, so the gateway needs no fixed auth-service address.
+     */
+    @Bean
+    public JwksKeySource jwksKeySource(JwtAuthProperties properties, WebClient.Builder webClientBuilder,
+                                       ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer,
+                                       MeterRegistry meterRegistry) {
+        URI jwksUri = URI.create(properties.jwksUrl());
+        return new JwksKeySource(webClient(jwksUri, webClientBuilder, loadBalancer), httpUri(jwksUri),
+                properties.jwksRefreshInterval(), properties.jwksMinRefreshInterval(), meterRegistry);
+    }
+
+    /**
+     * auth-service's feed of revoked tokens, fetched the same way as the signing keys.
+     */
+    @Bean
+    public RevocationFeed revocationFeed(JwtAuthProperties properties, WebClient.Builder webClientBuilder,
+                                         ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer,
+                                         MeterRegistry meterRegistry) {
+        URI feedUri = URI.create(properties.revocationsUrl());
+        return new RevocationFeed(webClient(feedUri, webClientBuilder, loadBalancer), httpUri(feedUri),
+                properties.revocationsPollInterval(), properties.revocationsMaxStaleness(),
+                properties.revocationsOverlap(), meterRegistry);
+    }
+
+    @Bean
+    public TokenVerifier tokenVerifier(JwksKeySource jwksKeySource, RevocationFeed revocationFeed,
+                                       JwtAuthProperties properties, MeterRegistry meterRegistry) {
+        return new TokenVerifier(jwksKeySource, revocationFeed, properties.cacheMaximumSize(), meterRegistry);
+    }
+
+    @Bean
+    public InternalPathFilter internalPathFilter(InternalPathProperties internalPathProperties) {
+        return new InternalPathFilter(internalPathProperties.internalPaths());
+    }
+
+    @Bean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(TokenVerifier tokenVerifier, JwtAuthProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new JwtAuthenticationFilter(tokenVerifier, properties.publicPaths(), meterRegistry);
+    }
+
+    /**
+     * The rate limiter used by every route's {@code RequestRateLimiter} filter. With
+     * cluster-wide limits it counts this application's instances in the registry.
+     */
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(ConfigurationService configurationService,
+                                                         ObjectProvider<DiscoveryClient> discoveryClient,
+                                                         RateLimitProperties properties,
+                                                         @Value("${spring.application.name}") String serviceId,
+                                                         MeterRegistry meterRegistry) {
+        return new TokenBucketRateLimiter(configurationService,
+                properties.clusterWide() ? discoveryClient.getIfAvailable() : null, serviceId, meterRegistry);
+    }
+
+    @Bean
+    public CallerKeyResolver callerKeyResolver(RateLimitProperties properties) {
+        return new CallerKeyResolver(properties.trustedProxyHops());
+    }
+
+    @Bean
+    public ResponseCacheStore responseCacheStore(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ResponseCacheStore(properties.maximumSize().toBytes(), properties.maximumEntrySize().toBytes(),
+                meterRegistry);
+    }
+
+    @Bean
+    public ResponseCacheGatewayFilterFactory responseCacheGatewayFilterFactory(ResponseCacheStore responseCacheStore) {
+        return new ResponseCacheGatewayFilterFactory(responseCacheStore);
+    }
+
+    @Bean
+    public CacheInvalidationFilter cacheInvalidationFilter(ResponseCacheStore responseCacheStore) {
+        return new CacheInvalidationFilter(responseCacheStore);
+    }
+
+    @Bean
+    public RequestCoalescer requestCoalescer(RequestCoalescingProperties properties, MeterRegistry meterRegistry) {
+        return new RequestCoalescer(properties.maximumInFlight(), meterRegistry);
+    }
+
+    @Bean
+    public DeferredResponseDecoratorFilter deferredResponseDecoratorFilter() {
+        return new DeferredResponseDecoratorFilter();
+    }
+
+    @Bean
+    public CoalesceGatewayFilterFactory coalesceGatewayFilterFactory(RequestCoalescer requestCoalescer) {
+        return new CoalesceGatewayFilterFactory(requestCoalescer);
+    }
+
+    private static WebClient webClient(URI uri, WebClient.Builder webClientBuilder,
+                                       ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer) {
+        WebClient.Builder builder = webClientBuilder.clone();
+        if ("lb".equals(uri.getScheme())) {
+            builder.filter(loadBalancer.getObject());
+        }
+        return builder.build();
+    }
+
+    private static URI httpUri(URI uri) {
+        return "lb".equals(uri.getScheme()) ? URI.create("http" + uri.toString().substring("lb".length())) : uri;
+    }
+}
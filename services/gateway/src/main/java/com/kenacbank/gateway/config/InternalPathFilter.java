@@ -0,0 +1,41 @@
+package com.kenacbank.gateway.config;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Keeps the endpoints services call on each other off the public edge. Services reach
+ * them directly through the registry, never through the gateway, so a request for one
+ * here comes from outside and is answered with a 404 before it is authenticated or
+ * routed.
+ */
+public class InternalPathFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = JwtAuthenticationFilter.ORDER - 1;
+
+    private final List<PathRule> internalPaths;
+
+    public InternalPathFilter(List<String> internalPaths) {
+        this.internalPaths = PathRule.parseAll(internalPaths);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (PathRule.anyMatch(internalPaths, exchange.getRequest())) {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,15 @@
+package com.kenacbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Paths that only services call on each other, directly and not through the gateway, bound
+ * from {@code application.internal-paths} as {@code /path/**} or {@code METHOD /path/**}.
+ * The gateway does not route them.
+ */
+@ConfigurationProperties(prefix = "application")
+public record InternalPathProperties(@DefaultValue List<String> internalPaths) {
+}
@@ -0,0 +1,38 @@
+package com.kenacbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token verification settings, bound from {@code application.security.jwt}.
+ *
+ * @param jwksUrl                 where auth-service publishes its signing keys; an {@code lb://}
+ *                                URL is resolved through the discovery registry
+ * @param jwksRefreshInterval     how long fetched keys are used before they are revalidated
+ * @param jwksMinRefreshInterval  the least time between fetches triggered by an unknown key ID
+ * @param revocationsUrl          auth-service's feed of revoked tokens; an {@code lb://}
+ *                                URL is resolved through the discovery registry
+ * @param revocationsPollInterval how often the feed is polled while requests come in
+ * @param revocationsMaxStaleness how old the revocations may get, when polls fail,
+ *                                before requests are answered with a 503
+ * @param revocationsOverlap      how far before the previous poll each poll reads
+ *                                from, to catch revocations that committed late
+ * @param cacheMaximumSize        verified tokens kept in memory
+ * @param publicPaths             requests let through without a token, as {@code /path/**}
+ *                                or {@code METHOD /path/**}
+ */
+@ConfigurationProperties(prefix = "application.security.jwt")
+public record JwtAuthProperties(
+        @DefaultValue("lb://AUTH-SERVICE/auth/.well-known/jwks.json") String jwksUrl,
+        @DefaultValue("5m") Duration jwksRefreshInterval,
+        @DefaultValue("10s") Duration jwksMinRefreshInterval,
+        @DefaultValue("lb://AUTH-SERVICE/auth/revocations") String revocationsUrl,
+        @DefaultValue("10s") Duration revocationsPollInterval,
+        @DefaultValue("2m") Duration revocationsMaxStaleness,
+        @DefaultValue("1m") Duration revocationsOverlap,
+        @DefaultValue("100000") long cacheMaximumSize,
+        @DefaultValue("/auth/**") List<String> publicPaths) {
+}
@@ -0,0 +1,134 @@
+package com.kenacbank.gateway.config;
+
+import com.kenacbank.gateway.config.services.GatewayPrincipal;
+import com.kenacbank.gateway.config.services.TokenRevokedException;
+import com.kenacbank.gateway.config.services.TokenVerifier;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Authenticates every routed request at the edge, before it costs a downstream call.
+ *
+ * <p>Requests to a public path pass through. Any other request needs a valid access token
+ * in its {@code Authorization} header, and is answered with a 401 here when it has none,
+ * or one that is malformed, expired, revoked, signed with an unknown key or not an access
+ * token. A 503 means no signing keys could be fetched to check the token with, or the
+ * gateway's copy of the revoked tokens is out of date.</p>
+ *
+ * <p>The verified caller is passed downstream in the {@link #USER_CODE_HEADER} and
+ * {@link #USER_TYPE_HEADER} headers and kept in the {@link #PRINCIPAL_ATTRIBUTE} exchange
+ * attribute for later filters. Both headers are removed from every incoming request,
+ * public ones included, so downstream services can trust them.</p>
+ */
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_CODE_HEADER = "X-User-Code";
+    public static final String USER_TYPE_HEADER = "X-User-Type";
+    public static final String PRINCIPAL_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".principal";
+    public static final int ORDER = -100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final List<PathRule> publicPaths;
+    private final Map<String, Counter> outcomes;
+
+    public JwtAuthenticationFilter(TokenVerifier tokenVerifier, List<String> publicPaths, MeterRegistry meterRegistry) {
+        this.tokenVerifier = tokenVerifier;
+        this.publicPaths = PathRule.parseAll(publicPaths);
+        this.outcomes = Stream.of("PUBLIC", "AUTHENTICATED", "MISSING", "EXPIRED", "REVOKED", "INVALID", "UNAVAILABLE")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), outcome -> Counter
+                        .builder("kenac.gateway.authentications")
+                        .description("Requests checked by the gateway's token filter")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (PathRule.anyMatch(publicPaths, request)) {
+            outcomes.get("PUBLIC").increment();
+            return chain.filter(exchange.mutate().request(withoutPrincipalHeaders(request)).build());
+        }
+
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return reject(exchange, HttpStatus.UNAUTHORIZED, "MISSING", "Bearer").then();
+        }
+
+        return tokenVerifier.verify(authHeader.substring(BEARER_PREFIX.length()))
+                .onErrorResume(ExpiredJwtException.class, e -> reject(exchange, HttpStatus.UNAUTHORIZED, "EXPIRED",
+                        "Bearer error=\"invalid_token\", error_description=\"The token has expired\""))
+                .onErrorResume(TokenRevokedException.class, e -> reject(exchange, HttpStatus.UNAUTHORIZED, "REVOKED",
+                        "Bearer error=\"invalid_token\", error_description=\"The token has been revoked\""))
+                .onErrorResume(e -> e instanceof JwtException || e instanceof IllegalArgumentException, e -> {
+                    LOGGER.debug("Rejected token: {}", e.getMessage());
+                    return reject(exchange, HttpStatus.UNAUTHORIZED, "INVALID", "Bearer error=\"invalid_token\"");
+                })
+                .onErrorResume(IllegalStateException.class, e -> {
+                    LOGGER.warn("Could not verify token: {}", e.getMessage());
+                    return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, "UNAVAILABLE", null);
+                })
+                .flatMap(principal -> {
+                    outcomes.get("AUTHENTICATED").increment();
+                    exchange.getAttributes().put(PRINCIPAL_ATTRIBUTE, principal);
+                    return chain.filter(exchange.mutate().request(withPrincipal(request, principal)).build());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Completes the response with the given status. Typed so it can stand in for the
+     * principal of a request that is not let through.
+     */
+    private <T> Mono<T> reject(ServerWebExchange exchange, HttpStatus status, String outcome, String challenge) {
+        outcomes.get(outcome).increment();
+        exchange.getResponse().setStatusCode(status);
+        if (challenge != null) {
+            exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, challenge);
+        }
+        return exchange.getResponse().setComplete().then(Mono.empty());
+    }
+
+    private static ServerHttpRequest withoutPrincipalHeaders(ServerHttpRequest request) {
+        return request.mutate().headers(headers -> {
+            headers.remove(USER_CODE_HEADER);
+            headers.remove(USER_TYPE_HEADER);
+        }).build();
+    }
+
+    private static ServerHttpRequest withPrincipal(ServerHttpRequest request, GatewayPrincipal principal) {
+        return request.mutate().headers(headers -> {
+            headers.set(USER_CODE_HEADER, principal.userCode());
+            if (principal.userType() != null) {
+                headers.set(USER_TYPE_HEADER, principal.userType());
+            } else {
+                headers.remove(USER_TYPE_HEADER);
+            }
+        }).build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.kenacbank.gateway.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * A path pattern, optionally limited to one HTTP method, written in configuration as
+ * {@code /path/**} or {@code METHOD /path/**}.
+ */
+public record PathRule(HttpMethod method, PathPattern pattern) {
+
+    public static PathRule parse(String rule) {
+        String[] parts = rule.trim().split("\\s+", 2);
+        return parts.length == 2
+                ? new PathRule(HttpMethod.valueOf(parts[0]), PathPatternParser.defaultInstance.parse(parts[1]))
+                : new PathRule(null, PathPatternParser.defaultInstance.parse(parts[0]));
+    }
+
+    public static List<PathRule> parseAll(List<String> rules) {
+        return rules.stream().map(PathRule::parse).toList();
+    }
+
+    public static boolean anyMatch(List<PathRule> rules, ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        for (PathRule rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean matches(HttpMethod requestMethod, PathContainer path) {
+        return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kenacbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Rate limiter settings, bound from {@code application.rate-limit}. The limits themselves
+ * are set per route, as {@code token-bucket.*} arguments of the route's
+ * {@code RequestRateLimiter} filter.
+ *
+ * @param clusterWide      whether route limits are for all gateway replicas together, each
+ *                         replica enforcing its share, rather than for each replica
+ * @param trustedProxyHops how many proxies, such as a load balancer, sit in front of the
+ *                         gateway and append the client address to {@code X-Forwarded-For}
+ */
+@ConfigurationProperties(prefix = "application.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean clusterWide,
+                                  @DefaultValue("0") int trustedProxyHops) {
+}
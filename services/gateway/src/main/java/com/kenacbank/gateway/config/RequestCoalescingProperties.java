@@ -0,0 +1,17 @@
+package com.kenacbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bounds of the in-flight table shared by every route's {@code Coalesce} filter, bound
+ * from {@code application.request-coalescing}. Which requests are coalesced, and how large
+ * a response may be shared, is set per route.
+ *
+ * @param maximumInFlight requests for new keys are passed through while this many
+ *                        downstream calls are being waited on
+ */
+@ConfigurationProperties(prefix = "application.request-coalescing")
+public record RequestCoalescingProperties(
+        @DefaultValue("10000") int maximumInFlight) {
+}
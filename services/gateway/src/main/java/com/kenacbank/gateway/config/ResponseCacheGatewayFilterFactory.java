@@ -0,0 +1,253 @@
+package com.kenacbank.gateway.config;
+
+import com.kenacbank.gateway.config.services.GatewayPrincipal;
+import com.kenacbank.gateway.config.services.RequestKey;
+import com.kenacbank.gateway.config.services.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Route filter that answers repeated GETs from {@link ResponseCacheStore} and lets callers
+ * revalidate what they already have, configured per route as
+ * <pre>
+ * - name: ResponseCache
+ *   args:
+ *     time-to-live: 30s
+ *     paths: /client/all, /client/blacklisted
+ * </pre>
+ *
+ * <p>A GET to one of the paths, or to any path of the route when none are listed, is
+ * looked up by route, caller, path and query. A hit is answered here without a downstream
+ * call. On a miss the downstream 200 response is stored for {@code time-to-live}. Both
+ * carry an ETag, taken from the downstream response or else the SHA-256 of the body, and a
+ * request whose {@code If-None-Match} names it gets a 304 without the body. A request with
+ * {@code Cache-Control: no-cache} skips the lookup but still refreshes the entry, and a
+ * downstream {@code Cache-Control: no-store} keeps a response out of the cache, as does an
+ * invalidation arriving while the downstream call is in flight.</p>
+ */
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> paths = config.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        long timeToLiveNanos = config.getTimeToLive().toNanos();
+
+        // Ahead of the response writer, so the body is written through CachingResponse.
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || !matches(paths, request)) {
+                return chain.filter(exchange);
+            }
+
+            GatewayPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+            RequestKey key = RequestKey.of(exchange, principal);
+            String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+
+            if (!hasDirective(request.getHeaders().getCacheControl(), "no-cache")) {
+                ResponseCacheStore.Entry entry = store.get(key);
+                if (entry != null) {
+                    return writeCached(exchange.getResponse(), entry, ifNoneMatch);
+                }
+            }
+
+            ServerHttpResponse caching = new CachingResponse(exchange.getResponse(), key, timeToLiveNanos, ifNoneMatch,
+                    store.generation());
+            return chain.filter(exchange.mutate().response(caching).build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, ResponseCacheStore.Entry entry, String ifNoneMatch) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.set(CACHE_HEADER, "HIT");
+        if (etagMatches(ifNoneMatch, entry.etag())) {
+            store.recordNotModified();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (entry.contentType() != null) {
+            headers.setContentType(entry.contentType());
+        }
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    private static boolean matches(List<PathPattern> paths, ServerHttpRequest request) {
+        if (paths.isEmpty()) {
+            return true;
+        }
+        for (PathPattern path : paths) {
+            if (path.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        return cacheControl != null && cacheControl.toLowerCase().contains(directive);
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Collects a successful downstream body, stores it and writes it on, or writes a 304
+     * instead when the caller already has it. Bodies too large for an entry are passed
+     * through, holding at most an entry's worth of buffers.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final RequestKey key;
+        private final long timeToLiveNanos;
+        private final String ifNoneMatch;
+        private final long generation;
+
+        CachingResponse(ServerHttpResponse delegate, RequestKey key, long timeToLiveNanos,
+                        String ifNoneMatch, long generation) {
+            super(delegate);
+            this.key = key;
+            this.timeToLiveNanos = timeToLiveNanos;
+            this.ifNoneMatch = ifNoneMatch;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value()
+                    || hasDirective(headers.getCacheControl(), "no-store")) {
+                return super.writeWith(body);
+            }
+            long maximumBytes = store.maximumEntryBytes();
+            if (headers.getContentLength() > maximumBytes) {
+                return super.writeWith(body);
+            }
+
+            // Holds the body back only while it fits in an entry. A larger one is written on as it
+            // arrives, starting with the buffers held so far, and is not cached.
+            AtomicLong size = new AtomicLong();
+            return Flux.from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maximumBytes)
+                    .switchOnFirst((first, groups) -> {
+                        if (first.hasValue() && first.get().stream().mapToLong(DataBuffer::readableByteCount).sum() > maximumBytes) {
+                            return super.writeWith(groups.concatMapIterable(Function.identity()));
+                        }
+                        return DataBufferUtils.join(groups.concatMapIterable(Function.identity()), (int) maximumBytes)
+                                .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                                .flatMap(this::storeAndWrite);
+                    })
+                    .then();
+        }
+
+        private Mono<Void> storeAndWrite(DataBuffer joined) {
+            HttpHeaders headers = getHeaders();
+            byte[] bytes = new byte[joined.readableByteCount()];
+            joined.read(bytes);
+            DataBufferUtils.release(joined);
+
+            String etag = headers.getETag() != null ? headers.getETag() : hash(bytes);
+            store.put(key, new ResponseCacheStore.Entry(bytes, headers.getContentType(), etag, timeToLiveNanos, generation));
+            headers.setETag(etag);
+            headers.set(CACHE_HEADER, "MISS");
+
+            if (etagMatches(ifNoneMatch, etag)) {
+                store.recordNotModified();
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                headers.remove(HttpHeaders.CONTENT_TYPE);
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                return getDelegate().setComplete();
+            }
+            headers.setContentLength(bytes.length);
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+    }
+
+    public static class Config {
+
+        private Duration timeToLive = Duration.ofSeconds(10);
+        private List<String> paths = new ArrayList<>();
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public Config setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public Config setPaths(List<String> paths) {
+            this.paths = paths;
+            return this;
+        }
+    }
+}
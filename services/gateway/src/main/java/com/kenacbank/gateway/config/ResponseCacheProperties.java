@@ -0,0 +1,19 @@
+package com.kenacbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bounds of the response cache shared by every route's {@code ResponseCache} filter,
+ * bound from {@code application.response-cache}. Which requests are cached, and for how
+ * long, is set per route.
+ *
+ * @param maximumSize      total size of the cached bodies
+ * @param maximumEntrySize larger responses are passed through without being cached
+ */
+@ConfigurationProperties(prefix = "application.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("64MB") DataSize maximumSize,
+        @DefaultValue("1MB") DataSize maximumEntrySize) {
+}
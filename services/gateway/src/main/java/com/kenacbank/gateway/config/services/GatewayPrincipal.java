@@ -0,0 +1,10 @@
+package com.kenacbank.gateway.config.services;
+
+import java.time.Instant;
+
+/**
+ * The caller behind a verified access token: the user code from its subject, the user
+ * type claim, the token's ID and when it expires.
+ */
+public record GatewayPrincipal(String userCode, String userType, String jti, Instant expiresAt) {
+}
@@ -0,0 +1,192 @@
+package com.kenacbank.gateway.config.services;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds auth-service's public signing keys, fetched from its JWKS endpoint, and a parser
+ * that verifies tokens against them.
+ *
+ * <p>Keys are fetched on first use and revalidated with {@code If-None-Match} once they are
+ * older than {@code jwks-refresh-interval}; requests keep using the current keys while
+ * that happens. A token naming an unknown key ID triggers an immediate fetch, so a newly
+ * published key is picked up without waiting for the interval. Concurrent fetches are
+ * coalesced into one, and fetches are at least {@code jwks-min-refresh-interval} apart,
+ * so neither forged key IDs nor an unreachable auth-service turn into a stream of calls.
+ * When a fetch fails the previous keys stay in use.</p>
+ */
+public class JwksKeySource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwksKeySource.class);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient webClient;
+    private final URI jwksUri;
+    private final long refreshIntervalNanos;
+    private final long minRefreshIntervalNanos;
+    private final AtomicReference<Mono<KeySet>> inFlight = new AtomicReference<>();
+    private final Counter updated;
+    private final Counter notModified;
+    private final Counter failed;
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+    private volatile long lastAttemptNanos;
+
+    public JwksKeySource(WebClient webClient, URI jwksUri, Duration refreshInterval, Duration minRefreshInterval,
+                         MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.jwksUri = jwksUri;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.lastAttemptNanos = System.nanoTime() - minRefreshIntervalNanos;
+        this.updated = fetchCounter("UPDATED", meterRegistry);
+        this.notModified = fetchCounter("NOT_MODIFIED", meterRegistry);
+        this.failed = fetchCounter("FAILED", meterRegistry);
+        Gauge.builder("kenac.gateway.jwks.keys", this, source -> source.keySet.keys().size())
+                .description("Signing keys the gateway verifies tokens with")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the current keys, fetching them first if there are none yet
+     */
+    public Mono<KeySet> current() {
+        KeySet current = keySet;
+        if (current.isEmpty()) {
+            return refresh();
+        }
+        if (System.nanoTime() - current.fetchedAtNanos() > refreshIntervalNanos) {
+            refresh().subscribe(keys -> { }, e -> { });
+        }
+        return Mono.just(current);
+    }
+
+    /**
+     * Fetches the keys again unless a fetch is running, which is joined, or one was made
+     * within {@code jwks-min-refresh-interval}, in which case the current keys are returned.
+     */
+    public Mono<KeySet> refresh() {
+        Mono<KeySet> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        long now = System.nanoTime();
+        if (now - lastAttemptNanos < minRefreshIntervalNanos) {
+            return currentOrUnavailable();
+        }
+        Mono<KeySet> fetch = fetch().doFinally(signal -> inFlight.set(null)).cache();
+        if (inFlight.compareAndSet(null, fetch)) {
+            lastAttemptNanos = now;
+            return fetch;
+        }
+        running = inFlight.get();
+        return running != null ? running : currentOrUnavailable();
+    }
+
+    private Mono<KeySet> fetch() {
+        KeySet previous = keySet;
+        return webClient.get()
+                .uri(jwksUri)
+                .headers(headers -> {
+                    if (previous.etag() != null) {
+                        headers.setIfNoneMatch(previous.etag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        notModified.increment();
+                        return response.releaseBody().thenReturn(previous.revalidated());
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        updated.increment();
+                        String etag = response.headers().asHttpHeaders().getFirst(HttpHeaders.ETAG);
+                        return response.bodyToMono(String.class).map(body -> KeySet.parse(body, etag));
+                    }
+                    return response.createError();
+                })
+                .timeout(FETCH_TIMEOUT)
+                .doOnNext(keys -> {
+                    if (!keys.keys().equals(previous.keys())) {
+                        LOGGER.info("Fetched signing keys {}", keys.keys().keySet());
+                    }
+                    keySet = keys;
+                })
+                .onErrorResume(e -> {
+                    failed.increment();
+                    LOGGER.warn("Error fetching signing keys from {}: {}", jwksUri, e.getMessage());
+                    return currentOrUnavailable();
+                });
+    }
+
+    private Mono<KeySet> currentOrUnavailable() {
+        KeySet current = keySet;
+        return current.isEmpty()
+                ? Mono.error(new IllegalStateException("No signing keys available"))
+                : Mono.just(current);
+    }
+
+    private static Counter fetchCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("kenac.gateway.jwks.fetches")
+                .description("Fetches of auth-service's signing keys")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * An immutable snapshot of the signing keys, by key ID, with a parser bound to them.
+     */
+    public record KeySet(Map<String, PublicKey> keys, JwtParser parser, String etag, long fetchedAtNanos) {
+
+        static final KeySet EMPTY = new KeySet(Map.of(), null, null, 0);
+
+        static KeySet parse(String jwksJson, String etag) {
+            Map<String, PublicKey> keys = new LinkedHashMap<>();
+            for (Jwk<?> jwk : Jwks.setParser().build().parse(jwksJson).getKeys()) {
+                if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+                    keys.put(jwk.getId(), publicKey);
+                }
+            }
+            Map<String, PublicKey> snapshot = Map.copyOf(keys);
+            JwtParser parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+                @Override
+                protected Key locate(JwsHeader header) {
+                    PublicKey publicKey = header.getKeyId() == null ? null : snapshot.get(header.getKeyId());
+                    if (publicKey == null) {
+                        throw new UnknownSigningKeyException(header.getKeyId());
+                    }
+                    return publicKey;
+                }
+            }).build();
+            return new KeySet(snapshot, parser, etag, System.nanoTime());
+        }
+
+        public boolean isEmpty() {
+            return keys.isEmpty();
+        }
+
+        KeySet revalidated() {
+            return new KeySet(keys, parser, etag, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kenacbank.gateway.config.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Downstream calls in flight that identical requests can wait for instead of making
+ * their own.
+ *
+ * <p>The first request for a {@link RequestKey} becomes the leader of a flight and makes
+ * the call. Requests for the same key that arrive before it lands follow it and are
+ * answered with its response. A flight is removed as it lands, so the next request
+ * starts a new one and no response outlives the call that produced it. A flight that
+ * lands without a shareable response, because the call failed, was cancelled or its
+ * response was not a small enough 200, leaves its followers to make their own calls.</p>
+ *
+ * <p>Once {@code maximumInFlight} flights are open, requests for new keys are passed
+ * through without one.</p>
+ */
+public class RequestCoalescer {
+
+    private final Map<RequestKey, Sinks.One<SharedResponse>> flights = new ConcurrentHashMap<>();
+    private final int maximumInFlight;
+    private final Map<String, Counter> outcomes;
+
+    public RequestCoalescer(int maximumInFlight, MeterRegistry meterRegistry) {
+        this.maximumInFlight = maximumInFlight;
+        this.outcomes = Stream.of("LEADER", "FOLLOWER", "FALLBACK", "BYPASSED")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), outcome -> Counter
+                        .builder("kenac.gateway.coalescing.requests")
+                        .description("Requests eligible for coalescing, by how they were answered")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)));
+        Gauge.builder("kenac.gateway.coalescing.in-flight", flights, Map::size)
+                .description("Downstream calls that identical requests can currently wait for")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Joins the flight for the key, starting it when there is none.
+     *
+     * @return the flight, or {@code null} when the request should be passed through because
+     * too many flights are open
+     */
+    public Flight join(RequestKey key) {
+        Sinks.One<SharedResponse> sink = flights.get(key);
+        if (sink == null) {
+            if (flights.size() >= maximumInFlight) {
+                outcomes.get("BYPASSED").increment();
+                return null;
+            }
+            Sinks.One<SharedResponse> started = Sinks.one();
+            sink = flights.putIfAbsent(key, started);
+            if (sink == null) {
+                outcomes.get("LEADER").increment();
+                return new Flight(key, started, true);
+            }
+        }
+        outcomes.get("FOLLOWER").increment();
+        return new Flight(key, sink, false);
+    }
+
+    /**
+     * Ends the flight, handing its followers the response, or nothing when there is none
+     * to share. Only the first call for a flight has any effect.
+     */
+    public void land(Flight flight, SharedResponse response) {
+        flights.remove(flight.key(), flight.sink());
+        if (response != null) {
+            flight.sink().tryEmitValue(response);
+        } else {
+            flight.sink().tryEmitEmpty();
+        }
+    }
+
+    /**
+     * Counts a follower that had to make its own call.
+     */
+    public void recordFallback() {
+        outcomes.get("FALLBACK").increment();
+    }
+
+    public record Flight(RequestKey key, Sinks.One<SharedResponse> sink, boolean leader) {
+
+        /**
+         * The leader's response once it lands, or empty when there is none to share.
+         */
+        public Mono<SharedResponse> response() {
+            return sink.asMono();
+        }
+    }
+
+    /**
+     * A downstream response, with the headers the downstream service sent.
+     */
+    public record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.kenacbank.gateway.config.services;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Identifies a GET whose response may be shared with an identical one: same route, same
+ * caller, same path and query. Requests with no verified caller share the empty caller.
+ */
+public record RequestKey(String routeId, String caller, String path, String query) {
+
+    public static RequestKey of(ServerWebExchange exchange, GatewayPrincipal principal) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        return new RequestKey(
+                route == null ? "" : route.getId(),
+                principal == null ? "" : principal.userCode(),
+                request.getPath().value(),
+                request.getURI().getRawQuery());
+    }
+}
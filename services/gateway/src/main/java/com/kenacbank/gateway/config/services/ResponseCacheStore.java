@@ -0,0 +1,168 @@
+package com.kenacbank.gateway.config.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached GET responses, bounded by the total size of their bodies, each kept for the
+ * time-to-live of the route filter that stored it.
+ *
+ * <p>Entries are keyed by {@link RequestKey}, so one user's response is never
+ * served to another. Hits, misses and evictions are published as the
+ * {@code gateway-responses} cache metrics.</p>
+ *
+ * <p>The keys are also indexed in path order, so an invalidation only visits the entries
+ * under the literal prefix of each of its patterns. An entry is added to the index in the
+ * same atomic operation that stores it, and leaves it in the one that removes it.</p>
+ *
+ * <p>Each invalidation starts a new generation. An entry is stamped with the generation its
+ * downstream call started in and is not stored once a later invalidation has begun, as the
+ * response may have been produced before the write that invalidated it.</p>
+ */
+public class ResponseCacheStore {
+
+    /**
+     * Rough per-entry overhead of the key, headers and cache bookkeeping, so that many
+     * small responses still count against the size bound.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private static final Comparator<RequestKey> PATH_ORDER = Comparator.comparing(RequestKey::path)
+            .thenComparing(RequestKey::routeId)
+            .thenComparing(RequestKey::caller)
+            .thenComparing(RequestKey::query, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Cache<RequestKey, Entry> cache;
+    private final NavigableSet<RequestKey> keysByPath = new ConcurrentSkipListSet<>(PATH_ORDER);
+    private final long maximumEntryBytes;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter notModified;
+    private final Counter invalidated;
+
+    public ResponseCacheStore(long maximumBytes, long maximumEntryBytes, MeterRegistry meterRegistry) {
+        this.maximumEntryBytes = maximumEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((RequestKey key, Entry entry) -> entry.body().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfter(new Expiry<RequestKey, Entry>() {
+                    @Override
+                    public long expireAfterCreate(RequestKey key, Entry entry, long currentTime) {
+                        return entry.timeToLiveNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(RequestKey key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.timeToLiveNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(RequestKey key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .evictionListener((RequestKey key, Entry entry, RemovalCause cause) -> keysByPath.remove(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+        this.notModified = Counter.builder("kenac.gateway.response-cache.not-modified")
+                .description("Requests answered with 304 because the caller's copy was current")
+                .register(meterRegistry);
+        this.invalidated = Counter.builder("kenac.gateway.response-cache.invalidated")
+                .description("Cached responses removed on a downstream service's request")
+                .register(meterRegistry);
+    }
+
+    public long maximumEntryBytes() {
+        return maximumEntryBytes;
+    }
+
+    /**
+     * The current invalidation generation, to stamp an entry with before its downstream call.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public Entry get(RequestKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores the entry unless it is too large or an invalidation has begun since its
+     * generation. The generation is checked again while storing, which an invalidation of
+     * the same key cannot interleave with, as it moves to a new generation first.
+     */
+    public void put(RequestKey key, Entry entry) {
+        if (entry.body().length > maximumEntryBytes || entry.generation() != generation.get()) {
+            return;
+        }
+        cache.asMap().compute(key, (k, current) -> {
+            if (entry.generation() != generation.get()) {
+                return current;
+            }
+            keysByPath.add(k);
+            return entry;
+        });
+    }
+
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    /**
+     * Removes the cached responses, for every caller, whose path matches one of the patterns.
+     */
+    public void invalidate(List<PathPattern> patterns) {
+        generation.incrementAndGet();
+        for (PathPattern pattern : patterns) {
+            String prefix = literalPrefix(pattern);
+            NavigableSet<RequestKey> candidates = keysByPath.subSet(
+                    new RequestKey("", "", prefix, null), true,
+                    new RequestKey("", "", prefix + Character.MAX_VALUE, null), false);
+            for (RequestKey key : candidates) {
+                if (pattern.matches(PathContainer.parsePath(key.path()))) {
+                    cache.asMap().compute(key, (k, entry) -> {
+                        keysByPath.remove(k);
+                        if (entry != null) {
+                            invalidated.increment();
+                        }
+                        return null;
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * The part of the pattern before the segment holding its first wildcard or variable,
+     * which every path it matches starts with. That segment is left out because it may
+     * match nothing, as {@code /client/**} matches {@code /client}.
+     */
+    private static String literalPrefix(PathPattern pattern) {
+        String text = pattern.getPatternString();
+        int wildcard = -1;
+        for (int i = 0; i < text.length() && wildcard < 0; i++) {
+            if ("*?{".indexOf(text.charAt(i)) >= 0) {
+                wildcard = i;
+            }
+        }
+        return wildcard < 0 ? text : text.substring(0, Math.max(text.lastIndexOf('/', wildcard), 0));
+    }
+
+    public record Entry(byte[] body, MediaType contentType, String etag, long timeToLiveNanos, long generation) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.kenacbank.gateway.config.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the IDs of access tokens auth-service has revoked that have not expired yet, read
+ * from its revocation feed, so the gateway can turn a revoked token away without a call.
+ *
+ * <p>The first poll loads every revoked token; later ones ask only for what was revoked
+ * since shortly before the previous poll, the overlap covering revocations that committed
+ * late or were stamped by an auth-service replica with a clock behind. Polls happen on use,
+ * once the revocations are older than {@code revocations-poll-interval}, and concurrent
+ * polls are coalesced into one. Revocations older than {@code revocations-max-staleness}
+ * are not trusted: until a poll succeeds again, {@link #isRevoked(String)} fails with an
+ * {@link IllegalStateException} rather than let through a token that may have been
+ * revoked in the meantime.</p>
+ */
+public class RevocationFeed {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevocationFeed.class);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient webClient;
+    private final URI feedUri;
+    private final long pollIntervalNanos;
+    private final long maxStalenessNanos;
+    private final long overlapMillis;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final AtomicReference<Mono<Void>> inFlight = new AtomicReference<>();
+    private final Counter updated;
+    private final Counter failed;
+
+    private volatile Long cursor;
+    private volatile long syncedAtNanos;
+    private volatile long lastAttemptNanos;
+    private volatile boolean synced;
+
+    public RevocationFeed(WebClient webClient, URI feedUri, Duration pollInterval, Duration maxStaleness,
+                          Duration overlap, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.feedUri = feedUri;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.overlapMillis = overlap.toMillis();
+        this.lastAttemptNanos = System.nanoTime() - pollIntervalNanos;
+        this.updated = pollCounter("UPDATED", meterRegistry);
+        this.failed = pollCounter("FAILED", meterRegistry);
+        Gauge.builder("kenac.gateway.revocations", revoked, Map::size)
+                .description("Revoked access tokens held by the gateway")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return whether the token with this ID has been revoked, or an
+     * {@link IllegalStateException} when the revocations are too old to tell
+     */
+    public Mono<Boolean> isRevoked(String jti) {
+        long age = System.nanoTime() - syncedAtNanos;
+        if (!synced || age > maxStalenessNanos) {
+            return poll().then(Mono.fromCallable(() -> {
+                if (!synced || System.nanoTime() - syncedAtNanos > maxStalenessNanos) {
+                    throw new IllegalStateException("Token revocations are out of date");
+                }
+                return revoked.containsKey(jti);
+            }));
+        }
+        if (age > pollIntervalNanos) {
+            poll().subscribe(ignored -> { }, e -> { });
+        }
+        return Mono.just(revoked.containsKey(jti));
+    }
+
+    /**
+     * Polls the feed unless a poll is running, which is joined, or one was attempted
+     * within {@code revocations-poll-interval}.
+     */
+    private Mono<Void> poll() {
+        Mono<Void> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        long now = System.nanoTime();
+        if (now - lastAttemptNanos < pollIntervalNanos) {
+            return Mono.empty();
+        }
+        Mono<Void> poll = fetch(now).doFinally(signal -> inFlight.set(null)).cache();
+        if (inFlight.compareAndSet(null, poll)) {
+            lastAttemptNanos = now;
+            return poll;
+        }
+        running = inFlight.get();
+        return running != null ? running : Mono.empty();
+    }
+
+    private Mono<Void> fetch(long startedNanos) {
+        Long since = cursor == null ? null : cursor - overlapMillis;
+        return fetchPage(since, 0)
+                .expand(page -> page.nextAfterId() == null ? Mono.empty() : fetchPage(since, page.nextAfterId()))
+                .doOnNext(page -> page.tokens().forEach(token -> revoked.put(token.jti(), token.expiresAt())))
+                .collectList()
+                .doOnNext(pages -> {
+                    long now = System.currentTimeMillis();
+                    revoked.values().removeIf(expiresAt -> expiresAt <= now);
+                    if (!synced) {
+                        LOGGER.info("Loaded {} revoked tokens", revoked.size());
+                    }
+                    cursor = pages.get(0).until();
+                    syncedAtNanos = startedNanos;
+                    synced = true;
+                    updated.increment();
+                })
+                .onErrorResume(e -> {
+                    failed.increment();
+                    LOGGER.warn("Error polling token revocations from {}: {}", feedUri, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Page> fetchPage(Long since, long afterId) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUri(feedUri).queryParam("after-id", afterId);
+        if (since != null) {
+            uri.queryParam("since", since);
+        }
+        return webClient.get()
+                .uri(uri.build().toUri())
+                .retrieve()
+                .bodyToMono(Page.class)
+                .timeout(FETCH_TIMEOUT);
+    }
+
+    private static Counter pollCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("kenac.gateway.revocations.polls")
+                .description("Polls of auth-service's token revocation feed")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One page of auth-service's revocation feed.
+     */
+    record Page(long until, List<Token> tokens, Long nextAfterId) {
+
+        Page {
+            tokens = tokens == null ? List.of() : tokens;
+        }
+    }
+
+    record Token(String jti, long expiresAt) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.kenacbank.gateway.config.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token bucket rate limiter for the {@code RequestRateLimiter} route filter,
+ * with one bucket per route and caller.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it will be full
+ * again, updated with compare-and-set, so checking a request takes no lock and allocates
+ * nothing once the bucket exists. A request costing {@code n} tokens moves that time
+ * {@code n} refill intervals later, and is denied when that would put it more than
+ * {@code burst-capacity} intervals ahead of now. A bucket whose time has passed is full
+ * and no different from a new one, so the periodic sweep drops it.</p>
+ *
+ * <p>When limits are cluster-wide, each replica enforces its share of a route's rate and
+ * burst, dividing them by the number of gateway replicas registered in the discovery
+ * registry. That is exact only when the load balancer in front spreads each caller
+ * evenly, and approximate otherwise.</p>
+ *
+ * <p>Responses carry {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset}, for this replica's bucket, and denied ones also
+ * {@code Retry-After}.</p>
+ */
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket";
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> allowedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> deniedCounters = new ConcurrentHashMap<>();
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final MeterRegistry meterRegistry;
+
+    private volatile int replicas = 1;
+
+    /**
+     * @param discoveryClient the registry to count gateway replicas in, or {@code null} for
+     *                        limits that apply to each replica on its own
+     */
+    public TokenBucketRateLimiter(ConfigurationService configurationService, DiscoveryClient discoveryClient,
+                                  String serviceId, MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("kenac.gateway.rate-limit.buckets", buckets, Map::size)
+                .description("Token buckets held in memory")
+                .register(meterRegistry);
+        Gauge.builder("kenac.gateway.rate-limit.replicas", this, limiter -> limiter.replicas)
+                .description("Gateway replicas the route limits are shared between")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            throw new IllegalArgumentException("No token-bucket configuration found for route " + routeId);
+        }
+
+        int share = replicas;
+        long interval = Math.max(1, NANOS_PER_SECOND * share / config.getReplenishRate());
+        long capacity = Math.max(1, config.getBurstCapacity() / share);
+        long tolerance = interval * capacity;
+        long cost = interval * config.getRequestedTokens();
+
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.computeIfAbsent(routeId + '|' + id, key -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long start = fullAt - now > 0 ? fullAt : now;
+            long next = start + cost;
+            if (next - now > tolerance) {
+                counter(deniedCounters, routeId, "DENIED").increment();
+                long retryAfter = seconds(next - tolerance - now);
+                return Mono.just(new Response(false, Map.of(
+                        LIMIT_HEADER, String.valueOf(capacity),
+                        REMAINING_HEADER, String.valueOf((tolerance - (start - now)) / interval),
+                        RESET_HEADER, String.valueOf(retryAfter),
+                        HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))));
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                counter(allowedCounters, routeId, "ALLOWED").increment();
+                return Mono.just(new Response(true, Map.of(
+                        LIMIT_HEADER, String.valueOf(capacity),
+                        REMAINING_HEADER, String.valueOf((tolerance - (next - now)) / interval),
+                        RESET_HEADER, String.valueOf(seconds(next - now)))));
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${application.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    /**
+     * Counts the gateway replicas in the discovery registry, from the registry client's
+     * local copy, so route limits can be split between them.
+     */
+    @Scheduled(fixedDelayString = "${application.rate-limit.replica-refresh-interval-ms:30000}")
+    public void refreshReplicas() {
+        if (discoveryClient == null) {
+            return;
+        }
+        try {
+            int registered = Math.max(1, discoveryClient.getInstances(serviceId).size());
+            if (registered != replicas) {
+                LOGGER.info("Sharing rate limits between {} gateway replicas", registered);
+                replicas = registered;
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Error counting gateway replicas, keeping {}: {}", replicas, e.getMessage());
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String routeId, String outcome) {
+        return counters.computeIfAbsent(routeId, route -> Counter.builder("kenac.gateway.rate-limit.requests")
+                .description("Requests checked against the route's rate limit")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    /**
+     * Limits for one route: tokens added per second, the most a bucket holds, and the
+     * tokens each request takes.
+     */
+    public static class Config {
+
+        private int replenishRate = 1;
+        private int burstCapacity = 1;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.kenacbank.gateway.config.services;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Thrown for a validly signed token that auth-service has revoked, for example because
+ * the user logged in again or a refresh token of theirs was reused.
+ */
+public class TokenRevokedException extends JwtException {
+
+    public TokenRevokedException(String jti) {
+        super("Token has been revoked: " + jti);
+    }
+}
@@ -0,0 +1,104 @@
+package com.kenacbank.gateway.config.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Verifies access tokens against the keys from {@link JwksKeySource} and remembers the
+ * outcome, so a token's signature is checked once per gateway instance rather than on
+ * every request it is sent with.
+ *
+ * <p>Verified tokens are cached by the SHA-256 of the token, each until the token itself
+ * expires. Revocation is checked on every request, cached token or not, against the
+ * {@link RevocationFeed}, so a revoked token stops passing the gateway within one poll
+ * of the feed.</p>
+ */
+public class TokenVerifier {
+
+    private static final String TOKEN_TYPE_CLAIM = "tokenType";
+    private static final String ACCESS_TOKEN = "ACCESS";
+    private static final String USER_TYPE_CLAIM = "userType";
+
+    private final JwksKeySource keySource;
+    private final RevocationFeed revocationFeed;
+    private final Cache<ByteBuffer, GatewayPrincipal> verified;
+
+    public TokenVerifier(JwksKeySource keySource, RevocationFeed revocationFeed, long maximumSize,
+                         MeterRegistry meterRegistry) {
+        this.keySource = keySource;
+        this.revocationFeed = revocationFeed;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<ByteBuffer, GatewayPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, GatewayPrincipal principal, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, GatewayPrincipal principal, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, GatewayPrincipal principal, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "gateway-verified-tokens");
+    }
+
+    /**
+     * @return the token's principal, or an error: a {@link JwtException} when the token is
+     * not a valid, unexpired access token or has been revoked, an
+     * {@link IllegalStateException} when no keys could be fetched to check it with or the
+     * revocations are out of date
+     */
+    public Mono<GatewayPrincipal> verify(String token) {
+        ByteBuffer tokenHash = hash(token);
+        GatewayPrincipal cached = verified.getIfPresent(tokenHash);
+        Mono<GatewayPrincipal> principal = cached != null ? Mono.just(cached) : keySource.current()
+                .map(keys -> parse(token, keys))
+                .onErrorResume(UnknownSigningKeyException.class, e -> keySource.refresh()
+                        .map(keys -> parse(token, keys)))
+                .doOnNext(verifiedPrincipal -> verified.put(tokenHash, verifiedPrincipal));
+        return principal.flatMap(p -> revocationFeed.isRevoked(p.jti())
+                .flatMap(revoked -> revoked ? Mono.error(new TokenRevokedException(p.jti())) : Mono.just(p)));
+    }
+
+    private static GatewayPrincipal parse(String token, JwksKeySource.KeySet keys) {
+        Claims claims = keys.parser().parseSignedClaims(token).getPayload();
+        // Without an ID a token could not be revoked
+        if (!ACCESS_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) || claims.getSubject() == null
+                || claims.getId() == null || claims.getExpiration() == null) {
+            throw new JwtException("Not an access token");
+        }
+        return new GatewayPrincipal(claims.getSubject(), claims.get(USER_TYPE_CLAIM, String.class),
+                claims.getId(), claims.getExpiration().toInstant());
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
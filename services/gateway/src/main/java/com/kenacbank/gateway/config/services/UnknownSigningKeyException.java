@@ -0,0 +1,14 @@
+package com.kenacbank.gateway.config.services;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Thrown when a token names a key ID that is not in the cached key set, which is either a
+ * forged token or a key auth-service published after the keys were last fetched.
+ */
+public class UnknownSigningKeyException extends JwtException {
+
+    public UnknownSigningKeyException(String keyId) {
+        super("Unknown signing key: " + keyId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.kenacbank.gateway.config.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTests {
+
+    private static final RequestKey KEY = new RequestKey("banking", "alice", "/banking/accounts", null);
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(2, meterRegistry);
+
+    @Test
+    void sharesTheLeadersResponseWithFollowers() {
+        RequestCoalescer.Flight leader = coalescer.join(KEY);
+        RequestCoalescer.Flight follower = coalescer.join(KEY);
+        RequestCoalescer.SharedResponse response = new RequestCoalescer.SharedResponse(
+                HttpStatus.OK, new HttpHeaders(), "[]".getBytes());
+
+        coalescer.land(leader, response);
+
+        assertThat(leader.leader()).isTrue();
+        assertThat(follower.leader()).isFalse();
+        assertThat(follower.response().block(TIMEOUT)).isSameAs(response);
+        assertThat(outcome("LEADER")).isEqualTo(1);
+        assertThat(outcome("FOLLOWER")).isEqualTo(1);
+    }
+
+    @Test
+    void leavesFollowersWithNothingWhenTheLeaderHasNoShareableResponse() {
+        RequestCoalescer.Flight leader = coalescer.join(KEY);
+        RequestCoalescer.Flight follower = coalescer.join(KEY);
+
+        coalescer.land(leader, null);
+
+        assertThat(follower.response().blockOptional(TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    void startsANewFlightOnceTheLastHasLanded() {
+        RequestCoalescer.Flight first = coalescer.join(KEY);
+        coalescer.land(first, null);
+
+        RequestCoalescer.Flight second = coalescer.join(KEY);
+
+        assertThat(second.leader()).isTrue();
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void landingALandedFlightAgainLeavesTheNextOneAlone() {
+        RequestCoalescer.Flight first = coalescer.join(KEY);
+        coalescer.land(first, null);
+        RequestCoalescer.Flight second = coalescer.join(KEY);
+
+        coalescer.land(first, null);
+
+        assertThat(coalescer.join(KEY).sink()).isSameAs(second.sink());
+    }
+
+    @Test
+    void passesNewKeysThroughOnceTheFlightLimitIsReached() {
+        coalescer.join(KEY);
+        coalescer.join(new RequestKey("banking", "bob", "/banking/accounts", null));
+
+        assertThat(coalescer.join(new RequestKey("banking", "carol", "/banking/accounts", null))).isNull();
+        assertThat(coalescer.join(KEY)).isNotNull();
+        assertThat(outcome("BYPASSED")).isEqualTo(1);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("kenac.gateway.coalescing.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("kenac.gateway.coalescing.in-flight").gauge().value();
+    }
+}
@@ -0,0 +1,100 @@
+package com.kenacbank.gateway.config.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheStoreTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCacheStore store = new ResponseCacheStore(1_000_000, 10_000, meterRegistry);
+
+    @Test
+    void invalidatesMatchingPathsForEveryCaller() {
+        RequestKey alice = cache("client", "alice", "/client/profile");
+        RequestKey bob = cache("client", "bob", "/client/profile");
+        RequestKey aliceAccounts = cache("banking", "alice", "/banking/accounts");
+
+        store.invalidate(patterns("/client/**"));
+
+        assertThat(store.get(alice)).isNull();
+        assertThat(store.get(bob)).isNull();
+        assertThat(store.get(aliceAccounts)).isNotNull();
+        assertThat(meterRegistry.get("kenac.gateway.response-cache.invalidated").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatesThePathADoubleWildcardEndsAtButNotItsSiblings() {
+        RequestKey root = cache("client", "alice", "/client");
+        RequestKey sibling = cache("client", "alice", "/clients/list");
+
+        store.invalidate(patterns("/client/**"));
+
+        assertThat(store.get(root)).isNull();
+        assertThat(store.get(sibling)).isNotNull();
+    }
+
+    @Test
+    void matchesVariablesSegmentBySegment() {
+        RequestKey account = cache("banking", "alice", "/banking/accounts/1001");
+        RequestKey transactions = cache("banking", "alice", "/banking/accounts/1001/transactions");
+
+        store.invalidate(patterns("/banking/accounts/{accountNumber}"));
+
+        assertThat(store.get(account)).isNull();
+        assertThat(store.get(transactions)).isNotNull();
+    }
+
+    @Test
+    void keepsEntriesStoredAfterTheInvalidation() {
+        store.invalidate(patterns("/client/**"));
+        RequestKey key = cache("client", "alice", "/client/profile");
+
+        assertThat(store.get(key)).isNotNull();
+    }
+
+    @Test
+    void dropsResponsesWhoseCallStartedBeforeAnInvalidation() {
+        RequestKey key = new RequestKey("client", "alice", "/client/profile", null);
+        long startedIn = store.generation();
+
+        store.invalidate(patterns("/client/**"));
+        store.put(key, entry(10, startedIn));
+
+        assertThat(store.get(key)).isNull();
+    }
+
+    @Test
+    void doesNotStoreResponsesOverTheEntryLimit() {
+        RequestKey key = new RequestKey("client", "alice", "/client/statement", null);
+
+        store.put(key, entry(10_001, store.generation()));
+
+        assertThat(store.get(key)).isNull();
+    }
+
+    private RequestKey cache(String routeId, String caller, String path) {
+        RequestKey key = new RequestKey(routeId, caller, path, null);
+        store.put(key, entry(10, store.generation()));
+        assertThat(store.get(key)).isNotNull();
+        return key;
+    }
+
+    private static ResponseCacheStore.Entry entry(int size, long generation) {
+        return new ResponseCacheStore.Entry(new byte[size], MediaType.APPLICATION_JSON, "\"etag\"",
+                Duration.ofMinutes(1).toNanos(), generation);
+    }
+
+    private static List<PathPattern> patterns(String... patterns) {
+        return Arrays.stream(patterns).map(PathPatternParser.defaultInstance::parse).toList();
+    }
+}
@@ -0,0 +1,132 @@
+package com.kenacbank.gateway.config.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenBucketRateLimiterTests {
+
+    private static final String ROUTE = "client-service";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void allowsTheBurstThenDeniesWithRetryAfter() {
+        TokenBucketRateLimiter limiter = limiter(null, new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1).setBurstCapacity(3));
+
+        List<Response> allowed = List.of(check(limiter, "alice"), check(limiter, "alice"), check(limiter, "alice"));
+        Response denied = check(limiter, "alice");
+
+        assertThat(allowed).allMatch(Response::isAllowed);
+        assertThat(allowed).extracting(r -> r.getHeaders().get(TokenBucketRateLimiter.REMAINING_HEADER))
+                .containsExactly("2", "1", "0");
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(denied.getHeaders())
+                .containsEntry(TokenBucketRateLimiter.LIMIT_HEADER, "3")
+                .containsEntry(TokenBucketRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(HttpHeaders.RETRY_AFTER, "1");
+        assertThat(meterRegistry.get("kenac.gateway.rate-limit.requests").tag("outcome", "DENIED").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void keepsASeparateBucketPerCallerAndRoute() {
+        TokenBucketRateLimiter limiter = limiter(null, new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1).setBurstCapacity(1));
+        limiter.getConfig().put("banking-service", new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1).setBurstCapacity(1));
+
+        assertThat(check(limiter, "alice").isAllowed()).isTrue();
+        assertThat(check(limiter, "alice").isAllowed()).isFalse();
+        assertThat(check(limiter, "bob").isAllowed()).isTrue();
+        assertThat(limiter.isAllowed("banking-service", "alice").block().isAllowed()).isTrue();
+    }
+
+    @Test
+    void chargesTheRequestedTokensPerRequest() {
+        TokenBucketRateLimiter limiter = limiter(null, new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1).setBurstCapacity(3).setRequestedTokens(2));
+
+        assertThat(check(limiter, "alice").isAllowed()).isTrue();
+        assertThat(check(limiter, "alice").isAllowed()).isFalse();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucketRateLimiter limiter = limiter(null, new TokenBucketRateLimiter.Config()
+                .setReplenishRate(100).setBurstCapacity(1));
+
+        assertThat(check(limiter, "alice").isAllowed()).isTrue();
+        assertThat(check(limiter, "alice").isAllowed()).isFalse();
+        Thread.sleep(20);
+        assertThat(check(limiter, "alice").isAllowed()).isTrue();
+    }
+
+    @Test
+    void splitsTheLimitBetweenRegisteredReplicas() {
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances("gateway"))
+                .thenReturn(List.of(mock(ServiceInstance.class), mock(ServiceInstance.class)));
+        TokenBucketRateLimiter limiter = limiter(discoveryClient, new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1).setBurstCapacity(4));
+
+        limiter.refreshReplicas();
+
+        assertThat(check(limiter, "alice").getHeaders()).containsEntry(TokenBucketRateLimiter.LIMIT_HEADER, "2");
+        assertThat(check(limiter, "alice").isAllowed()).isTrue();
+        assertThat(check(limiter, "alice").isAllowed()).isFalse();
+    }
+
+    @Test
+    void keepsTheReplicaCountWhenTheRegistryFails() {
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances("gateway"))
+                .thenReturn(List.of(mock(ServiceInstance.class), mock(ServiceInstance.class)))
+                .thenThrow(new IllegalStateException("registry unavailable"));
+        TokenBucketRateLimiter limiter = limiter(discoveryClient, new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1).setBurstCapacity(4));
+
+        limiter.refreshReplicas();
+        limiter.refreshReplicas();
+
+        assertThat(meterRegistry.get("kenac.gateway.rate-limit.replicas").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsBucketsThatHaveRefilled() throws InterruptedException {
+        TokenBucketRateLimiter limiter = limiter(null, new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1).setBurstCapacity(5));
+        limiter.getConfig().put("fast", new TokenBucketRateLimiter.Config()
+                .setReplenishRate(1000).setBurstCapacity(5));
+        check(limiter, "alice");
+        limiter.isAllowed("fast", "alice").block();
+
+        Thread.sleep(20);
+        limiter.evictIdleBuckets();
+
+        assertThat(meterRegistry.get("kenac.gateway.rate-limit.buckets").gauge().value()).isEqualTo(1);
+    }
+
+    private TokenBucketRateLimiter limiter(DiscoveryClient discoveryClient, TokenBucketRateLimiter.Config config) {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(mock(ConfigurationService.class), discoveryClient,
+                "gateway", meterRegistry);
+        limiter.getConfig().put(ROUTE, config);
+        return limiter;
+    }
+
+    private static Response check(TokenBucketRateLimiter limiter, String caller) {
+        return limiter.isAllowed(ROUTE, caller).block();
+    }
+}
@@ -0,0 +1,16 @@
+package com.kenacbank.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        // Closing the context stops the launched services once the run has finished
+        System.exit(SpringApplication.exit(SpringApplication.run(LoadTestApplication.class, args)));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.kenacbank.loadtest;
+
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import com.kenacbank.loadtest.launcher.ServiceLauncher;
+import com.kenacbank.loadtest.metrics.EndpointResult;
+import com.kenacbank.loadtest.metrics.LoadReport;
+import com.kenacbank.loadtest.scenarios.LoadScenario;
+import com.kenacbank.loadtest.scenarios.ScenarioRunner;
+import com.kenacbank.loadtest.scenarios.ScenarioType;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Launches the services when configured to, runs each configured scenario in turn and
+ * publishes the per-endpoint results.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadTestRunner implements CommandLineRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final LoadTestProperties properties;
+    private final ServiceLauncher serviceLauncher;
+    private final ScenarioRunner scenarioRunner;
+    private final LoadReport loadReport;
+    private final List<LoadScenario> scenarios;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (properties.isLaunch()) {
+            serviceLauncher.launchAll();
+        }
+
+        Map<ScenarioType, LoadScenario> scenariosByType = scenarios.stream()
+                .collect(Collectors.toMap(LoadScenario::type, Function.identity()));
+
+        List<EndpointResult> results = new ArrayList<>();
+        for (ScenarioType type : properties.getRun().getScenarios()) {
+            LoadScenario scenario = scenariosByType.get(type);
+            LOGGER.info("Preparing {}", type);
+            scenario.prepare();
+            results.add(scenarioRunner.run(scenario));
+        }
+
+        loadReport.publish(results);
+    }
+}
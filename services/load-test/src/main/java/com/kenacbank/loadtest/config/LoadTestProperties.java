@@ -0,0 +1,69 @@
+package com.kenacbank.loadtest.config;
+
+import com.kenacbank.loadtest.scenarios.ScenarioType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for a load-test run, bound from the {@code loadtest.*} keys.
+ */
+@Data
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    private boolean launch = true;
+    private Duration startupTimeout = Duration.ofMinutes(3);
+    private String logDirectory = "target/load-test/logs";
+    private String reportFile = "target/load-test/report.json";
+    private Postgres postgres = new Postgres();
+    private Map<String, ServiceTarget> services = new LinkedHashMap<>();
+    private Run run = new Run();
+
+    public ServiceTarget service(String name) {
+        ServiceTarget target = services.get(name);
+        if (target == null) {
+            throw new IllegalStateException("No load-test target configured for service: " + name);
+        }
+        return target;
+    }
+
+    @Data
+    public static class Postgres {
+        private String url;
+        private String username;
+        private String password;
+        private String databaseSuffix = "_loadtest";
+        private boolean reset = true;
+    }
+
+    @Data
+    public static class ServiceTarget {
+        private String jar;
+        private String config;
+        private String database;
+        private String host = "localhost";
+        private int port;
+
+        public String baseUrl() {
+            return "http://" + host + ":" + port;
+        }
+    }
+
+    @Data
+    public static class Run {
+        private List<ScenarioType> scenarios = new ArrayList<>(List.of(ScenarioType.values()));
+        private int concurrency = 16;
+        private Duration warmup = Duration.ofSeconds(15);
+        private Duration duration = Duration.ofSeconds(60);
+        private int targetRate = 0;
+        private int seedUsers = 200;
+        private int seedAccounts = 200;
+        private Duration requestTimeout = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kenacbank.loadtest.launcher;
+
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Provisions the per-service databases a run uses on a local Postgres instance.
+ *
+ * <p>Each service gets its own database named after its usual one plus the configured
+ * suffix, so a run never touches development data. When reset is enabled the databases
+ * are dropped and recreated first, so every run starts from empty tables.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PostgresStandIn {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresStandIn.class);
+
+    private final LoadTestProperties properties;
+
+    /**
+     * Creates, or recreates when reset is enabled, the load-test database for a service.
+     *
+     * @param database the service's usual database name
+     * @return the JDBC URL of the load-test database
+     */
+    public String prepareDatabase(String database) throws SQLException {
+        LoadTestProperties.Postgres postgres = properties.getPostgres();
+        String name = database + postgres.getDatabaseSuffix();
+
+        try (Connection connection = DriverManager.getConnection(postgres.getUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            if (postgres.isReset()) {
+                statement.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+            }
+            if (!exists(connection, name)) {
+                statement.execute("CREATE DATABASE " + name);
+                LOGGER.info("Created load-test database {}", name);
+            }
+        }
+
+        String url = postgres.getUrl();
+        return url.substring(0, url.lastIndexOf('/') + 1) + name;
+    }
+
+    private boolean exists(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+}
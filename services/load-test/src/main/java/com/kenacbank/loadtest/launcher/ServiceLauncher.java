@@ -0,0 +1,150 @@
+package com.kenacbank.loadtest.launcher;
+
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the services under test as child JVMs from their built jars.
+ *
+ * <p>Each service runs without the config server and Eureka: its externalized settings
+ * are read straight from the config-server's configuration file, its datasource points
+ * at a load-test database, and its Feign targets point directly at the sibling services
+ * launched here rather than at the gateway. Services are started downstream first, with
+ * auth ahead of client as client calls it on blacklist changes, and are stopped when the
+ * harness shuts down. Service output goes to the log directory.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceLauncher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceLauncher.class);
+
+    private final LoadTestProperties properties;
+    private final PostgresStandIn postgresStandIn;
+    private final List<Process> processes = new ArrayList<>();
+
+    public void launchAll() throws Exception {
+        LoadTestProperties.ServiceTarget auth = properties.service("auth");
+        LoadTestProperties.ServiceTarget client = properties.service("client");
+        LoadTestProperties.ServiceTarget banking = properties.service("banking");
+
+        launch("banking", banking, Map.of(), Map.of());
+        // Auth and client call each other, so auth goes first: it only reaches client from
+        // scheduled jobs that retry, while client must know where auth is from its first call
+        launch("auth", auth, Map.of(
+                "application.config.client-url", client.baseUrl(),
+                "application.config.banking-url", banking.baseUrl()), signingKeyEnvironment());
+        launch("client", client, Map.of(
+                "application.config.banking-url", banking.baseUrl(),
+                "application.config.auth-url", auth.baseUrl()), Map.of());
+    }
+
+    /**
+     * A key pair for auth-service to sign this run's tokens with, passed in the environment
+     * variables its configuration reads the signing key from.
+     */
+    private static Map<String, String> signingKeyEnvironment() throws GeneralSecurityException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        Base64.Encoder encoder = Base64.getEncoder();
+        return Map.of(
+                "AUTH_SIGNING_PRIVATE_KEY", encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+                "AUTH_SIGNING_PUBLIC_KEY", encoder.encodeToString(keyPair.getPublic().getEncoded()));
+    }
+
+    private void launch(String name, LoadTestProperties.ServiceTarget target, Map<String, String> overrides,
+                        Map<String, String> environment) throws Exception {
+        Path jar = Path.of(target.getJar()).toAbsolutePath().normalize();
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("Jar for " + name + " not found at " + jar + ", build it with mvn package first");
+        }
+
+        LoadTestProperties.Postgres postgres = properties.getPostgres();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + target.getPort(),
+                "--spring.cloud.config.enabled=false",
+                "--spring.config.additional-location=file:" + Path.of(target.getConfig()).toAbsolutePath().normalize(),
+                "--eureka.client.enabled=false",
+                "--spring.datasource.url=" + postgresStandIn.prepareDatabase(target.getDatabase()),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword()));
+        overrides.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Path logDirectory = Files.createDirectories(Path.of(properties.getLogDirectory()));
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.environment().putAll(environment);
+        Process process = processBuilder
+                .redirectErrorStream(true)
+                .redirectOutput(logDirectory.resolve(name + ".log").toFile())
+                .start();
+        processes.add(process);
+
+        LOGGER.info("Starting {} on port {}", name, target.getPort());
+        awaitReady(name, target, process);
+    }
+
+    /**
+     * Waits until the service answers HTTP requests. Any response, including a 404 or
+     * 401, means the web server and application context are up.
+     */
+    private void awaitReady(String name, LoadTestProperties.ServiceTarget target, Process process) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(target.baseUrl() + "/")).timeout(Duration.ofSeconds(2)).GET().build();
+        long deadline = System.nanoTime() + properties.getStartupTimeout().toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue()
+                        + ", see " + Path.of(properties.getLogDirectory(), name + ".log"));
+            }
+            try {
+                httpClient.send(probe, HttpResponse.BodyHandlers.discarding());
+                LOGGER.info("{} is ready", name);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(name + " did not start within " + properties.getStartupTimeout());
+    }
+
+    @PreDestroy
+    public void stopAll() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+}
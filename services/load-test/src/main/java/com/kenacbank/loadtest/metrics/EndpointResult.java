@@ -0,0 +1,19 @@
+package com.kenacbank.loadtest.metrics;
+
+/**
+ * Summary of one endpoint's measured interval. Latencies are in milliseconds and
+ * throughput in requests per second.
+ */
+public record EndpointResult(
+        String endpoint,
+        long requests,
+        long errors,
+        double throughput,
+        double meanMs,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs
+) {
+}
@@ -0,0 +1,63 @@
+package com.kenacbank.loadtest.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts for one endpoint, safe to record into from many workers.
+ *
+ * <p>Latencies are kept in microseconds in an HdrHistogram {@link Recorder} so workers
+ * never contend on a lock. Samples taken during warm-up are dropped by {@link #reset()}.</p>
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void reset() {
+        recorder.reset();
+        errors.reset();
+    }
+
+    /**
+     * Returns the samples recorded since the last reset and summarizes them over the
+     * measured interval.
+     */
+    public EndpointResult snapshot(double elapsedSeconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long count = histogram.getTotalCount();
+        return new EndpointResult(
+                endpoint,
+                count,
+                errors.sum(),
+                elapsedSeconds > 0 ? count / elapsedSeconds : 0,
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0
+        );
+    }
+}
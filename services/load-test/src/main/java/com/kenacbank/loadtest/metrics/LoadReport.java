@@ -0,0 +1,52 @@
+package com.kenacbank.loadtest.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the per-endpoint results of a run and writes them, with the run settings, to
+ * the report file so runs can be compared.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadReport.class);
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public void publish(List<EndpointResult> results) throws IOException {
+        StringBuilder table = new StringBuilder(String.format("%n%-34s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms"));
+        for (EndpointResult result : results) {
+            table.append(String.format("%-34s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                    result.p50Ms(), result.p90Ms(), result.p99Ms(), result.p999Ms(), result.maxMs()));
+        }
+        LOGGER.info("Load test results:{}", table);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("completedAt", LocalDateTime.now().toString());
+        report.put("settings", properties.getRun());
+        report.put("endpoints", results);
+
+        Path reportFile = Path.of(properties.getReportFile());
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        LOGGER.info("Report written to {}", reportFile.toAbsolutePath());
+    }
+}
@@ -0,0 +1,28 @@
+package com.kenacbank.loadtest.scenarios;
+
+import java.net.http.HttpRequest;
+
+/**
+ * A request that is driven repeatedly against one endpoint during a run.
+ */
+public interface LoadScenario {
+
+    ScenarioType type();
+
+    /**
+     * The method and path the scenario's latencies are reported under.
+     */
+    String endpoint();
+
+    /**
+     * Creates the data the scenario needs before measurement starts, such as registered
+     * users to log in or approved accounts to post transactions against.
+     */
+    default void prepare() throws Exception {
+    }
+
+    /**
+     * Builds the next request to send. Called concurrently from every worker.
+     */
+    HttpRequest nextRequest();
+}
@@ -0,0 +1,96 @@
+package com.kenacbank.loadtest.scenarios;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs in as one of a pool of users registered before measurement starts.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginScenario implements LoadScenario {
+
+    static final String PASSWORD = "LoadTest#2025";
+    private static final Duration REGISTRATION_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REGISTRATION_POLL_INTERVAL = Duration.ofMillis(500);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginScenario.class);
+
+    private final ServiceClient serviceClient;
+    private final RegisterScenario registerScenario;
+    private final LoadTestProperties properties;
+    private final List<String> emails = new ArrayList<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    @Override
+    public ScenarioType type() {
+        return ScenarioType.LOGIN;
+    }
+
+    @Override
+    public String endpoint() {
+        return "POST /auth/login";
+    }
+
+    @Override
+    public void prepare() throws Exception {
+        List<HttpRequest> registrations = new ArrayList<>();
+        for (int i = 0; i < properties.getRun().getSeedUsers(); i++) {
+            String email = "login-" + runId + "-" + i + "@loadtest.kenac";
+            emails.add(email);
+            registrations.add(registerScenario.registration(email));
+        }
+        List<JsonNode> accepted = serviceClient.sendAll(registrations);
+        awaitRegistrations(accepted.stream().map(body -> body.path("data").path("statusUrl").asText()).toList());
+        LOGGER.info("Registered {} users for the login scenario", emails.size());
+    }
+
+    /**
+     * Waits for the registrations to complete in the background, as users cannot log in
+     * before then.
+     */
+    private void awaitRegistrations(List<String> statusUrls) throws Exception {
+        long deadline = System.nanoTime() + REGISTRATION_TIMEOUT.toNanos();
+        List<String> pending = statusUrls;
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(pending.size() + " registrations did not complete within " + REGISTRATION_TIMEOUT);
+            }
+            Thread.sleep(REGISTRATION_POLL_INTERVAL.toMillis());
+
+            List<JsonNode> statuses = serviceClient.sendAll(pending.stream()
+                    .map(url -> serviceClient.get(serviceClient.url("auth", url)))
+                    .toList());
+            List<String> stillPending = new ArrayList<>();
+            for (int i = 0; i < statuses.size(); i++) {
+                String status = statuses.get(i).path("data").path("status").asText();
+                if ("FAILED".equals(status)) {
+                    throw new IllegalStateException("Registration " + pending.get(i) + " failed");
+                }
+                if (!"COMPLETED".equals(status)) {
+                    stillPending.add(pending.get(i));
+                }
+            }
+            pending = stillPending;
+        }
+    }
+
+    @Override
+    public HttpRequest nextRequest() {
+        String email = emails.get(ThreadLocalRandom.current().nextInt(emails.size()));
+        return serviceClient.post(serviceClient.url("auth", "/auth/login"), Map.of(
+                "email", email,
+                "password", PASSWORD));
+    }
+}
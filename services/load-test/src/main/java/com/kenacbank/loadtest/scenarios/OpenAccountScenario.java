@@ -0,0 +1,56 @@
+package com.kenacbank.loadtest.scenarios;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opens a USD and a ZWG current account for a new client on every request, the same
+ * batch the registration saga sends when a client registers.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpenAccountScenario implements LoadScenario {
+
+    // Synthetic client IDs, kept clear of the IDs client-service assigns during the run
+    private static final long FIRST_CLIENT_ID = 1_000_000_000L;
+
+    private final ServiceClient serviceClient;
+    private final AtomicLong clientIds = new AtomicLong(FIRST_CLIENT_ID);
+
+    @Override
+    public ScenarioType type() {
+        return ScenarioType.OPEN_ACCOUNT;
+    }
+
+    @Override
+    public String endpoint() {
+        return "POST /banking/open-accounts";
+    }
+
+    @Override
+    public HttpRequest nextRequest() {
+        return openAccounts(clientIds.incrementAndGet(), List.of("USD", "ZWG"));
+    }
+
+    HttpRequest openAccounts(long clientId, List<String> currencies) {
+        List<Map<String, Object>> accounts = currencies.stream()
+                .<Map<String, Object>>map(currency -> Map.of(
+                        "clientId", clientId,
+                        "accountType", "CURRENT",
+                        "currency", currency,
+                        "initialDeposit", 0.0))
+                .toList();
+        return serviceClient.post(serviceClient.url("banking", "/banking/open-accounts"), Map.of(
+                "clientId", clientId,
+                "accounts", accounts));
+    }
+
+    long nextClientId() {
+        return clientIds.incrementAndGet();
+    }
+}
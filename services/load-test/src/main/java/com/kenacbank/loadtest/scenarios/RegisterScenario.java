@@ -0,0 +1,45 @@
+package com.kenacbank.loadtest.scenarios;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registers a new user on every request. Auth saves the user and answers 202, then
+ * creates the client in client-service and opens its accounts in banking-service in the
+ * background, so the measured latency covers the accepted request only.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegisterScenario implements LoadScenario {
+
+    private final ServiceClient serviceClient;
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    @Override
+    public ScenarioType type() {
+        return ScenarioType.REGISTER;
+    }
+
+    @Override
+    public String endpoint() {
+        return "POST /auth/register";
+    }
+
+    @Override
+    public HttpRequest nextRequest() {
+        return registration("register-" + runId + "-" + sequence.incrementAndGet() + "@loadtest.kenac");
+    }
+
+    HttpRequest registration(String email) {
+        return serviceClient.post(serviceClient.url("auth", "/auth/register"), Map.of(
+                "firstName", "Load",
+                "lastName", "Test",
+                "email", email,
+                "password", LoginScenario.PASSWORD));
+    }
+}
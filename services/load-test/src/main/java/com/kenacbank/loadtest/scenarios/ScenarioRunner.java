@@ -0,0 +1,96 @@
+package com.kenacbank.loadtest.scenarios;
+
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import com.kenacbank.loadtest.metrics.EndpointResult;
+import com.kenacbank.loadtest.metrics.EndpointStats;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one scenario with the configured number of workers for the warm-up and then the
+ * measured period.
+ *
+ * <p>Without a target rate every worker sends its next request as soon as the previous
+ * one returns. With a target rate, workers send on a fixed schedule and latency is taken
+ * from when a request was due rather than when it was sent, so a stalled service shows
+ * up in the percentiles instead of silently lowering the request count.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ScenarioRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioRunner.class);
+
+    private final ServiceClient serviceClient;
+    private final LoadTestProperties properties;
+
+    public EndpointResult run(LoadScenario scenario) throws Exception {
+        LoadTestProperties.Run run = properties.getRun();
+        EndpointStats stats = new EndpointStats(scenario.endpoint());
+        long intervalNanos = run.getTargetRate() > 0 ? 1_000_000_000L * run.getConcurrency() / run.getTargetRate() : 0;
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + run.getWarmup().toNanos();
+        long stopAt = measureFrom + run.getDuration().toNanos();
+
+        LOGGER.info("Running {} with {} workers for {} after {} warm-up", scenario.type(), run.getConcurrency(),
+                run.getDuration(), run.getWarmup());
+
+        ExecutorService workers = Executors.newFixedThreadPool(run.getConcurrency());
+        try {
+            List<Future<?>> futures = new ArrayList<>(run.getConcurrency());
+            for (int i = 0; i < run.getConcurrency(); i++) {
+                // Stagger paced workers so their requests are spread evenly over each interval
+                long firstDue = startedAt + (intervalNanos * i) / run.getConcurrency();
+                futures.add(workers.submit(() -> drive(scenario, stats, intervalNanos, firstDue, stopAt)));
+            }
+
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            stats.reset();
+            long measuredFrom = System.nanoTime();
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return stats.snapshot((System.nanoTime() - measuredFrom) / 1e9);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void drive(LoadScenario scenario, EndpointStats stats, long intervalNanos, long firstDue, long stopAt) {
+        long due = firstDue;
+        while (System.nanoTime() < stopAt && !Thread.currentThread().isInterrupted()) {
+            long start;
+            if (intervalNanos > 0) {
+                LockSupport.parkNanos(due - System.nanoTime());
+                start = due;
+                due += intervalNanos;
+            } else {
+                start = System.nanoTime();
+            }
+
+            boolean success;
+            try {
+                HttpResponse<String> response = serviceClient.send(scenario.nextRequest());
+                success = response.statusCode() / 100 == 2;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                success = false;
+            }
+            stats.record(System.nanoTime() - start, success);
+        }
+    }
+}
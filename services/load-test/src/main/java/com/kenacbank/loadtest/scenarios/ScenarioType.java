@@ -0,0 +1,8 @@
+package com.kenacbank.loadtest.scenarios;
+
+public enum ScenarioType {
+    REGISTER,
+    LOGIN,
+    OPEN_ACCOUNT,
+    TRANSACTION
+}
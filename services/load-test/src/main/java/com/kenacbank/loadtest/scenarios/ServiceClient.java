@@ -0,0 +1,99 @@
+package com.kenacbank.loadtest.scenarios;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP access to the services under test, shared by the scenarios and the runner.
+ */
+@Component
+public class ServiceClient {
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public ServiceClient(LoadTestProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getRun().getRequestTimeout())
+                .build();
+    }
+
+    public String url(String service, String path) {
+        return properties.service(service).baseUrl() + path;
+    }
+
+    public HttpRequest post(String url, Object body) {
+        return json(url).POST(HttpRequest.BodyPublishers.ofString(toJson(body))).build();
+    }
+
+    public HttpRequest get(String url) {
+        return json(url).GET().build();
+    }
+
+    public HttpRequest put(String url) {
+        return json(url).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends setup requests in parallel and fails if any of them is not successful.
+     */
+    public List<JsonNode> sendAll(List<HttpRequest> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getRun().getConcurrency());
+        try {
+            List<Future<HttpResponse<String>>> futures = new ArrayList<>(requests.size());
+            for (HttpRequest request : requests) {
+                futures.add(executor.submit(() -> send(request)));
+            }
+
+            List<JsonNode> bodies = new ArrayList<>(futures.size());
+            for (Future<HttpResponse<String>> future : futures) {
+                HttpResponse<String> response = future.get();
+                if (response.statusCode() / 100 != 2) {
+                    throw new IllegalStateException("Setup request " + response.request().uri()
+                            + " failed with " + response.statusCode() + ": " + response.body());
+                }
+                bodies.add(response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body()));
+            }
+            return bodies;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HttpRequest.Builder json(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(properties.getRun().getRequestTimeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize request body", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.kenacbank.loadtest.scenarios;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kenacbank.loadtest.config.LoadTestProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Posts deposits and withdrawals, four to one, against a pool of accounts opened and
+ * approved before measurement starts.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionScenario implements LoadScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionScenario.class);
+
+    private final ServiceClient serviceClient;
+    private final OpenAccountScenario openAccountScenario;
+    private final LoadTestProperties properties;
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @Override
+    public ScenarioType type() {
+        return ScenarioType.TRANSACTION;
+    }
+
+    @Override
+    public String endpoint() {
+        return "POST /banking/transactions";
+    }
+
+    @Override
+    public void prepare() throws Exception {
+        List<HttpRequest> openings = new ArrayList<>();
+        for (int i = 0; i < properties.getRun().getSeedAccounts(); i++) {
+            openings.add(openAccountScenario.openAccounts(openAccountScenario.nextClientId(), List.of("USD")));
+        }
+        for (JsonNode response : serviceClient.sendAll(openings)) {
+            response.path("data").forEach(accountNumber -> accountNumbers.add(accountNumber.asText()));
+        }
+
+        List<HttpRequest> approvals = accountNumbers.stream()
+                .map(accountNumber -> serviceClient.put(serviceClient.url("banking", "/banking/approve-account/" + accountNumber)))
+                .toList();
+        serviceClient.sendAll(approvals);
+        LOGGER.info("Opened and approved {} accounts for the transaction scenario", accountNumbers.size());
+    }
+
+    @Override
+    public HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean withdrawal = random.nextInt(5) == 0;
+        return serviceClient.post(serviceClient.url("banking", "/banking/transactions"), Map.of(
+                "accountNumber", accountNumbers.get(random.nextInt(accountNumbers.size())),
+                "transactionType", withdrawal ? "WITHDRAWAL" : "DEPOSIT",
+                "amount", Math.round(random.nextDouble(1, 500) * 100) / 100.0,
+                "description", withdrawal ? "Load test withdrawal" : "Load test deposit",
+                "currencyCode", "USD"));
+    }
+}
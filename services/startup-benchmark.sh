@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of each service as a plain jar, as an
+# AOT-processed jar with a CDS archive and, when one has been built, as a native image.
+#
+# Build the artifacts first, in each service directory:
+#   mvn -Pcds package -DskipTests
+#   mvn -Pnative native:compile -DskipTests   (optional, needs a GraalVM JDK)
+#
+# Services run without the config server or Eureka, reading the config server files
+# directly. auth-service, client-service and banking-service need their Postgres
+# databases; pass overrides through EXTRA_ARGS, for example
+#   EXTRA_ARGS="--spring.datasource.url=jdbc:postgresql://localhost:5441/kenac_banking_db" ./startup-benchmark.sh banking-service
+#
+# Usage: ./startup-benchmark.sh [service...]
+
+set -u
+
+cd "$(dirname "$0")"
+SERVICES=("$@")
+if [ ${#SERVICES[@]} -eq 0 ]; then
+    SERVICES=(config-server discovery gateway auth-service client-service banking-service)
+fi
+CONFIG_DIR="$(pwd)/config-server/src/main/resources/configurations"
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+application_name() {
+    case "$1" in
+        discovery) echo discovery-service ;;
+        gateway) echo gateway-service ;;
+        *) echo "$1" ;;
+    esac
+}
+
+# Starts a command, waits for Spring Boot's "Started" line and prints the reported
+# process uptime and the resident set size at that point.
+measure() {
+    local log
+    log=$(mktemp)
+    "$@" > "$log" 2>&1 &
+    local pid=$!
+    local started=""
+    for _ in $(seq 1 $((TIMEOUT_SECONDS * 10))); do
+        started=$(grep -o 'process running for [0-9.]*' "$log" | grep -o '[0-9.]*$')
+        if [ -n "$started" ] || ! kill -0 "$pid" 2>/dev/null; then
+            break
+        fi
+        sleep 0.1
+    done
+    local rss
+    rss=$(awk '/VmRSS/ { printf "%d", $2 / 1024 }' "/proc/$pid/status" 2>/dev/null)
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+    if [ -z "$started" ]; then
+        echo "failed (see $log)"
+    else
+        printf '%6ss %6s MB' "$started" "${rss:-?}"
+        rm -f "$log"
+    fi
+}
+
+printf '%-16s %-8s %s\n' service mode "startup     rss"
+for service in "${SERVICES[@]}"; do
+    target="$service/target"
+    jar="$service-0.0.1-SNAPSHOT.jar"
+    args=(--eureka.client.register-with-eureka=false --eureka.client.fetch-registry=false)
+    if [ "$service" != config-server ]; then
+        args+=(--spring.cloud.config.enabled=false
+               "--spring.config.additional-location=optional:file:$CONFIG_DIR/application.yml,optional:file:$CONFIG_DIR/$(application_name "$service").yml")
+    fi
+    # shellcheck disable=SC2206
+    args+=(${EXTRA_ARGS:-})
+
+    if [ -f "$target/$jar" ]; then
+        printf '%-16s %-8s %s\n' "$service" jar "$(measure java -jar "$target/$jar" "${args[@]}")"
+    fi
+    if [ -f "$target/application/application.jsa" ]; then
+        printf '%-16s %-8s %s\n' "$service" aot+cds "$(cd "$target/application" && measure java \
+            -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$jar" "${args[@]}")"
+    fi
+    if [ -x "$target/$service" ]; then
+        printf '%-16s %-8s %s\n' "$service" native "$(measure "$target/$service" "${args[@]}")"
+    fi
+done